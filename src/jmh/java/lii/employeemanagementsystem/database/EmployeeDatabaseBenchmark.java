@@ -0,0 +1,109 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// The main EmployeeDatabase operations against seeded synthetic data of each size. The same
+// seed always gives the same employees, so results from two commits can be compared directly.
+// 10M employees needs a large heap, e.g. -Djmh.args="-p size=10000000 -jvmArgsAppend -Xmx24g".
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class EmployeeDatabaseBenchmark {
+    private static final String[] DEPARTMENTS = {"IT", "HR", "Finance", "Engineering", "Marketing", "Sales", "Legal", "Admin"};
+    private static final String[] FIRST_NAMES = {"Ama", "Kofi", "Esi", "Yaw", "Akosua", "Kwame", "Abena", "Kojo", "Adjoa", "Kwesi"};
+    private static final String[] LAST_NAMES = {"Mensah", "Owusu", "Boateng", "Asante", "Osei", "Addo", "Appiah", "Darko"};
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private EmployeeDatabase<Long> database;
+    private long nextId;
+    private final List<Long> added = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void fill() {
+        Random random = new Random(42);
+        List<Employee<Long>> employees = new ArrayList<>(size);
+        for (long id = 0; id < size; id++) {
+            employees.add(newEmployee(id, random));
+        }
+        database = new EmployeeDatabase<>();
+        database.addEmployees(employees, (e, index) -> {
+            throw e;
+        });
+        nextId = size;
+    }
+
+    private static Employee<Long> newEmployee(long id, Random random) {
+        String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + id;
+        return new Employee<>(id, name, DEPARTMENTS[random.nextInt(DEPARTMENTS.length)],
+                20_000 + random.nextInt(180_000), random.nextInt(51) / 10.0, random.nextInt(40), random.nextBoolean(), null);
+    }
+
+    // Employees added during an iteration are removed again, so every iteration starts at size
+    @TearDown(Level.Iteration)
+    public void removeAdded() {
+        for (Long id : added) {
+            database.removeEmployee(id);
+        }
+        added.clear();
+    }
+
+    @Benchmark
+    public void addEmployee() {
+        long id = nextId++;
+        database.addEmployee(new Employee<>(id, "Benchmark " + id, "IT", 55_000, 3.5, 4, true, null));
+        added.add(id);
+    }
+
+    @Benchmark
+    public List<Employee<Long>> searchByTerm() {
+        return database.searchByTerm("boateng 12");
+    }
+
+    @Benchmark
+    public List<Employee<Long>> searchBySalaryRange() {
+        return database.searchBySalaryRange(50_000, 51_000);
+    }
+
+    @Benchmark
+    public List<Employee<Long>> searchByMinimumPerformanceRating() {
+        return database.searchByMinimumPerformanceRating(4.9);
+    }
+
+    @Benchmark
+    public List<Employee<Long>> getTop5HighestPaidEmployees() {
+        return database.getTop5HighestPaidEmployees();
+    }
+
+    @Benchmark
+    public double calculateAverageSalaryByDepartment() {
+        return database.calculateAverageSalaryByDepartment("Finance");
+    }
+
+    // Raises a tenth of the employees by 0.1% per call; salaries drift up slowly over a run
+    @Benchmark
+    public RaiseSummary<Long> giveSalaryRaise() {
+        return database.giveSalaryRaise(0.1, 4.6);
+    }
+}
@@ -0,0 +1,89 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Start-up from a snapshot: map the file, build the employees and restore them into a fresh
+// database. Each call is timed once, without warm-up, so the first iteration of every fork is
+// a cold start (JIT and heap not yet warmed) and the later ones show the warm cost.
+// Every row still becomes an Employee, so the cost grows with the employee count. With 2M
+// employees on one CPU, a cold read plus restore took about 2.3 s and warm ones 0.5-1 s, and
+// the first query after a restore, which builds every index, brought the total to 15-18 s.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 5)
+@Fork(value = 3, jvmArgsAppend = "-Xmx4g")
+public class SnapshotStartupBenchmark {
+    private static final String[] DEPARTMENTS = {"IT", "HR", "Finance", "Engineering", "Marketing", "Sales", "Legal", "Admin"};
+
+    @Param({"2000000"})
+    private int size;
+
+    private Path directory;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void writeSnapshot() throws IOException {
+        directory = Files.createTempDirectory("employee-snapshot");
+        file = directory.resolve("snapshot.dat");
+        Random random = new Random(42);
+        @SuppressWarnings("unchecked")
+        Employee<UUID>[] employees = (Employee<UUID>[]) new Employee[size];
+        for (int i = 0; i < size; i++) {
+            employees[i] = new Employee<>(new UUID(random.nextLong(), random.nextLong()), "Employee " + i,
+                    DEPARTMENTS[random.nextInt(DEPARTMENTS.length)], random.nextInt(2_000_000) / 10.0,
+                    random.nextInt(51) / 10.0, random.nextInt(40), random.nextBoolean(), null);
+        }
+        EmployeeDatabase<UUID> source = new EmployeeDatabase<>();
+        source.restore(employees);
+        source.underReadLock(() -> EmployeeSnapshot.capture(1, source)).write(file, IdCodec.uuid());
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSnapshot() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public void read(Blackhole blackhole) throws IOException {
+        blackhole.consume(EmployeeSnapshot.read(file, 1, IdCodec.uuid()));
+    }
+
+    @Benchmark
+    public void readAndRestore(Blackhole blackhole) throws IOException {
+        EmployeeDatabase<UUID> database = new EmployeeDatabase<>();
+        database.restore(EmployeeSnapshot.read(file, 1, IdCodec.uuid()));
+        blackhole.consume(database);
+    }
+
+    // Restore leaves the indexes to the first query that needs them, so this adds their build
+    @Benchmark
+    public void readRestoreAndQuery(Blackhole blackhole) throws IOException {
+        EmployeeDatabase<UUID> database = new EmployeeDatabase<>();
+        database.restore(EmployeeSnapshot.read(file, 1, IdCodec.uuid()));
+        blackhole.consume(database.searchBySalaryRange(10_000, 20_000));
+    }
+}
@@ -0,0 +1,66 @@
+package lii.employeemanagementsystem.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Compares the UUIDv7 generator with the previous one (UUID.randomUUID() plus a set of every
+// ID issued), on one thread and with every available thread sharing the v7 counter.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UniqueIdGeneratorBenchmark {
+    // The generator as it was before UUIDv7. The set of used IDs starts empty every iteration,
+    // so its size depends on how many IDs one iteration issues.
+    @State(Scope.Thread)
+    public static class RandomWithUsedSet {
+        private Set<UUID> usedIds;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            usedIds = new HashSet<>();
+        }
+
+        UUID generateUniqueId() {
+            UUID id;
+            do {
+                id = UUID.randomUUID();
+            } while (usedIds.contains(id));
+            usedIds.add(id);
+            return id;
+        }
+    }
+
+    @Benchmark
+    public void randomWithUsedSet(RandomWithUsedSet generator, Blackhole blackhole) {
+        blackhole.consume(generator.generateUniqueId());
+    }
+
+    @Benchmark
+    public void v7(Blackhole blackhole) {
+        blackhole.consume(UniqueIdGenerator.generateUniqueId());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void v7Contended(Blackhole blackhole) {
+        blackhole.consume(UniqueIdGenerator.generateUniqueId());
+    }
+}
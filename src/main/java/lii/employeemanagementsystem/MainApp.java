@@ -4,7 +4,6 @@ import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
@@ -12,6 +11,7 @@ import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import lii.employeemanagementsystem.model.User;
 import lii.employeemanagementsystem.ui.LoginController;
+import lii.employeemanagementsystem.ui.ProfilePictures;
 
 public class MainApp extends Application {
 
@@ -55,9 +55,7 @@ public class MainApp extends Application {
             header.setStyle("-fx-padding: 10; -fx-alignment: center-left;");
 
             // Profile picture
-            ImageView profilePicture = new ImageView(new Image(authenticatedUser.getProfilePicture()));
-            profilePicture.setFitWidth(50);
-            profilePicture.setFitHeight(50);
+            ImageView profilePicture = ProfilePictures.getInstance().view(authenticatedUser.getProfilePicture(), 50);
             mainStage.setTitle("Employee Management System");
 
             // User name
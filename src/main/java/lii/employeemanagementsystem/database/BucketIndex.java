@@ -0,0 +1,117 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.model.Employee;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+// Secondary index for fields with few distinct integer keys (years of experience). Each
+// key owns a bucket, so updates are O(log d) for d distinct keys and ordered walks only
+// touch the buckets they need.
+class BucketIndex<T> {
+    private final NavigableMap<Integer, Set<Employee<T>>> buckets = new TreeMap<>();
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public void add(int key, Employee<T> employee) {
+        if (buckets.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(employee)) {
+            size++;
+        }
+    }
+
+    public boolean remove(int key, Employee<T> employee) {
+        Set<Employee<T>> bucket = buckets.get(key);
+        if (bucket == null || !bucket.remove(employee)) {
+            return false;
+        }
+        if (bucket.isEmpty()) {
+            buckets.remove(key);
+        }
+        size--;
+        return true;
+    }
+
+    public void update(int oldKey, int newKey, Employee<T> employee) {
+        if (oldKey != newKey && remove(oldKey, employee)) {
+            add(newKey, employee);
+        }
+    }
+
+    // Up to limit employees, walking buckets from the lowest or highest key
+    public List<Employee<T>> first(int limit, boolean descending) {
+        List<Employee<T>> result = new ArrayList<>(Math.min(limit, size));
+        Map<Integer, Set<Employee<T>>> ordered = descending ? buckets.descendingMap() : buckets;
+        for (Set<Employee<T>> bucket : ordered.values()) {
+            for (Employee<T> employee : bucket) {
+                if (result.size() == limit) {
+                    return result;
+                }
+                result.add(employee);
+            }
+        }
+        return result;
+    }
+
+    // Visits employees bucket by bucket from the lowest or highest key, starting at the given
+    // position of that order; whole buckets before it are skipped by their sizes. Stops when
+    // the visitor returns false; returns true if the walk reached the end.
+    public boolean walk(int from, boolean descending, Predicate<Employee<T>> visitor) {
+        Map<Integer, Set<Employee<T>>> ordered = descending ? buckets.descendingMap() : buckets;
+        for (Set<Employee<T>> bucket : ordered.values()) {
+            if (from >= bucket.size()) {
+                from -= bucket.size();
+                continue;
+            }
+            for (Employee<T> employee : bucket) {
+                if (from > 0) {
+                    from--;
+                } else if (!visitor.test(employee)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Position of the employee in the order walk() visits, or -1 if it is not stored under key
+    public int positionOf(int key, Employee<T> employee, boolean descending) {
+        Set<Employee<T>> bucket = buckets.get(key);
+        if (bucket == null) {
+            return -1;
+        }
+        int position = 0;
+        for (Set<Employee<T>> before : (descending ? buckets.tailMap(key, false) : buckets.headMap(key, false)).values()) {
+            position += before.size();
+        }
+        for (Employee<T> member : bucket) {
+            if (member == employee) {
+                return position;
+            }
+            position++;
+        }
+        return -1;
+    }
+
+    // All employees whose key is >= minKey
+    public List<Employee<T>> atLeast(int minKey) {
+        List<Employee<T>> result = new ArrayList<>();
+        for (Set<Employee<T>> bucket : buckets.tailMap(minKey, true).values()) {
+            result.addAll(bucket);
+        }
+        return result;
+    }
+
+    public void clear() {
+        buckets.clear();
+        size = 0;
+    }
+}
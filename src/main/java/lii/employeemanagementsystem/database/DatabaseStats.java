@@ -0,0 +1,100 @@
+package lii.employeemanagementsystem.database;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+// Latency histograms, call counts and result sizes of the public EmployeeDatabase operations.
+// Recording is off by default; while it is off an operation pays one volatile read. It can be
+// switched on and off at runtime, directly or through JMX once register() has published it.
+// Only calls that complete normally are recorded.
+public class DatabaseStats implements DatabaseStatsMXBean {
+    public enum Operation {
+        ADD_EMPLOYEE, ADD_EMPLOYEES, REMOVE_EMPLOYEE, UPDATE_EMPLOYEE_DETAILS, UPDATE_MANY,
+        GIVE_SALARY_RAISE, GET_TOP_N, CALCULATE_AVERAGE_SALARY, GET_DEPARTMENTS,
+        SEARCH_BY_ACTIVE_STATUS, SEARCH_BY_MINIMUM_PERFORMANCE_RATING, SEARCH_BY_TERM, SEARCH_BY_SALARY_RANGE,
+        QUERY, EXPLAIN, COUNT, GET_PAGE, POSITION_OF
+    }
+
+    // Returned by start() while recording is off
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[OPERATIONS.length];
+    private volatile boolean enabled;
+    private ObjectName registeredName;
+
+    DatabaseStats() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    // Called when an operation begins; pass the result to record()
+    long start() {
+        return enabled ? System.nanoTime() : NOT_TIMED;
+    }
+
+    // Called when an operation completes, with the number of employees it returned or changed
+    void record(Operation operation, long start, long resultSize) {
+        if (start != NOT_TIMED) {
+            histograms[operation.ordinal()].record(System.nanoTime() - start, resultSize);
+        }
+    }
+
+    public OperationSummary getSummary(Operation operation) {
+        LatencyHistogram histogram = histograms[operation.ordinal()];
+        long count = histogram.count();
+        return new OperationSummary(operation.name(), count,
+                histogram.percentileNanos(0.50) / 1000.0, histogram.percentileNanos(0.99) / 1000.0,
+                histogram.maxNanos() / 1000.0, count == 0 ? 0 : (double) histogram.totalResultSize() / count,
+                histogram.maxResultSize());
+    }
+
+    @Override
+    public List<OperationSummary> getOperations() {
+        List<OperationSummary> summaries = new ArrayList<>();
+        for (Operation operation : OPERATIONS) {
+            if (histograms[operation.ordinal()].count() > 0) {
+                summaries.add(getSummary(operation));
+            }
+        }
+        return summaries;
+    }
+
+    @Override
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+
+    // Publishes these statistics on the platform MBean server under the given object name,
+    // e.g. "lii.employeemanagementsystem:type=EmployeeDatabase"
+    public synchronized void register(String objectName) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(objectName);
+        server.registerMBean(this, name);
+        registeredName = name;
+    }
+
+    public synchronized void unregister() throws JMException {
+        if (registeredName != null) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+            registeredName = null;
+        }
+    }
+}
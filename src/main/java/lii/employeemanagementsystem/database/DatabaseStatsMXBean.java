@@ -0,0 +1,15 @@
+package lii.employeemanagementsystem.database;
+
+import java.util.List;
+
+// Management interface of DatabaseStats, as seen from JMX tools such as JConsole
+public interface DatabaseStatsMXBean {
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    // One entry per operation called at least once since the last reset
+    List<OperationSummary> getOperations();
+
+    void reset();
+}
@@ -0,0 +1,97 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Partitions employees by department and keeps a running head count and salary sum
+// for each partition, so per-department aggregates never need a scan. The sum is kept in
+// whole cents, so it stays exact however many raises and moves it goes through.
+class DepartmentIndex<T> {
+    private final Map<String, Partition<T>> partitions = new TreeMap<>();
+    // Bumped whenever a department appears or disappears
+    private int departmentChanges;
+
+    static final class Partition<T> {
+        private final Set<Employee<T>> members = new HashSet<>();
+        private long salarySumCents;
+
+        int count() {
+            return members.size();
+        }
+
+        long salarySumCents() {
+            return salarySumCents;
+        }
+
+        double averageSalary() {
+            return members.isEmpty() ? 0.0 : salarySumCents / 100.0 / members.size();
+        }
+
+        Set<Employee<T>> members() {
+            return Collections.unmodifiableSet(members);
+        }
+    }
+
+    public void add(String department, long salaryCents, Employee<T> employee) {
+        Partition<T> partition = partitions.get(department);
+        if (partition == null) {
+            partition = new Partition<>();
+            partitions.put(department, partition);
+            departmentChanges++;
+        }
+        if (partition.members.add(employee)) {
+            partition.salarySumCents += salaryCents;
+        }
+    }
+
+    public void remove(String department, long salaryCents, Employee<T> employee) {
+        Partition<T> partition = partitions.get(department);
+        if (partition == null || !partition.members.remove(employee)) {
+            return;
+        }
+        if (partition.members.isEmpty()) {
+            partitions.remove(department);
+            departmentChanges++;
+        } else {
+            partition.salarySumCents -= salaryCents;
+        }
+    }
+
+    public void moveDepartment(String oldDepartment, String newDepartment, long salaryCents, Employee<T> employee) {
+        remove(oldDepartment, salaryCents, employee);
+        add(newDepartment, salaryCents, employee);
+    }
+
+    public void updateSalary(String department, long oldCents, long newCents, Employee<T> employee) {
+        Partition<T> partition = partitions.get(department);
+        if (partition != null && partition.members.contains(employee)) {
+            partition.salarySumCents += newCents - oldCents;
+        }
+    }
+
+    public Partition<T> get(String department) {
+        return partitions.get(department);
+    }
+
+    // Department names in alphabetical order
+    public List<String> departments() {
+        return new ArrayList<>(partitions.keySet());
+    }
+
+    // Differs from an earlier value if the set of departments may have changed since
+    public int departmentChanges() {
+        return departmentChanges;
+    }
+
+    public void clear() {
+        partitions.clear();
+        departmentChanges++;
+    }
+}
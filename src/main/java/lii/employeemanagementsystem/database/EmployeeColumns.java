@@ -0,0 +1,445 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+// Column-oriented copy of the employees' scan-heavy fields, kept as an index next to the
+// employee store; the Employee objects stay the stored data. Every employee owns one dense
+// row; numeric fields live in parallel primitive arrays and names/departments are
+// dictionary-encoded, so scans and aggregations walk contiguous memory instead of
+// chasing one property object per field. Removing an employee moves the last row into
+// the freed slot to keep the rows dense. Rows are found through an identity RowTable, so
+// the bookkeeping stays out of Employee and an employee may sit in several databases.
+//
+// The active flag and the rating (one bucket per rating in tenths, at most 51 of them) are
+// also kept as compressed row bitmaps, so those filters come down to ORs and ANDs of
+// bitmaps that combine cheaply with each other.
+class EmployeeColumns<T> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final StringTable names = new StringTable();
+    private final StringTable departments = new StringTable();
+    private final StringTable pictures = new StringTable();
+    private final RowTable rowTable = new RowTable();
+
+    @SuppressWarnings("unchecked")
+    private Employee<T>[] employees = (Employee<T>[]) new Employee[INITIAL_CAPACITY];
+    // Fixed point, as Employee keeps them: salaries in cents and ratings in tenths
+    private long[] salaryCents = new long[INITIAL_CAPACITY];
+    private int[] ratingTenths = new int[INITIAL_CAPACITY];
+    private int[] yearsOfExperience = new int[INITIAL_CAPACITY];
+    private int[] nameCodes = new int[INITIAL_CAPACITY];
+    private int[] departmentCodes = new int[INITIAL_CAPACITY];
+    // -1 for an employee without a picture
+    private int[] pictureCodes = new int[INITIAL_CAPACITY];
+    private final RowBitmap activeRows = new RowBitmap();
+    private final NavigableMap<Integer, RowBitmap> ratingRows = new TreeMap<>();
+    private int size;
+
+    // Rating buckets are keyed by the rating in tenths.
+    // Smallest rating key whose rating value is >= minRating
+    static int minimumRatingKey(double minRating) {
+        int key = (int) Math.ceil(minRating * 10);
+        while (key / 10.0 < minRating) {
+            key++;
+        }
+        while ((key - 1) / 10.0 >= minRating) {
+            key--;
+        }
+        return key;
+    }
+
+    // Salary keys are in cents, like the salary column and the salary index.
+    // Smallest salary key whose salary value is >= minSalary
+    static long minimumSalaryKey(double minSalary) {
+        if (minSalary >= Long.MAX_VALUE / 100.0) {
+            return Long.MAX_VALUE;
+        }
+        long key = (long) Math.ceil(minSalary * 100);
+        while (key / 100.0 < minSalary) {
+            key++;
+        }
+        while ((key - 1) / 100.0 >= minSalary) {
+            key--;
+        }
+        return key;
+    }
+
+    // Largest salary key whose salary value is <= maxSalary
+    static long maximumSalaryKey(double maxSalary) {
+        if (maxSalary >= Long.MAX_VALUE / 100.0) {
+            return Long.MAX_VALUE;
+        }
+        long key = (long) Math.floor(maxSalary * 100);
+        while (key / 100.0 > maxSalary) {
+            key--;
+        }
+        while ((key + 1) / 100.0 <= maxSalary) {
+            key++;
+        }
+        return key;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Row of the employee, or -1 if it is not stored here
+    public int rowOf(Employee<T> employee) {
+        return rowTable.get(employee);
+    }
+
+    public Employee<T> employee(int row) {
+        return employees[row];
+    }
+
+    public long salaryCents(int row) {
+        return salaryCents[row];
+    }
+
+    public int ratingTenths(int row) {
+        return ratingTenths[row];
+    }
+
+    public int yearsOfExperience(int row) {
+        return yearsOfExperience[row];
+    }
+
+    public boolean isActive(int row) {
+        return activeRows.contains(row);
+    }
+
+    public String name(int row) {
+        return names.get(nameCodes[row]);
+    }
+
+    public String department(int row) {
+        return departments.get(departmentCodes[row]);
+    }
+
+    public void addAll(Employee<T>[] newEmployees) {
+        ensureCapacity(size + newEmployees.length);
+        rowTable.ensureCapacity(size + newEmployees.length);
+        for (Employee<T> employee : newEmployees) {
+            add(employee);
+        }
+    }
+
+    public int add(Employee<T> employee) {
+        ensureCapacity(size + 1);
+        int row = size++;
+        employees[row] = employee;
+        salaryCents[row] = employee.getSalaryCents();
+        ratingTenths[row] = employee.getPerformanceRatingTenths();
+        addRatingRow(ratingTenths[row], row);
+        yearsOfExperience[row] = employee.getYearsOfExperience();
+        nameCodes[row] = names.acquire(employee.getName());
+        departmentCodes[row] = departments.acquire(employee.getDepartment());
+        pictureCodes[row] = acquirePicture(employee.getProfilePicture());
+        setActive(row, employee.isActive());
+        rowTable.put(employee, row);
+        return row;
+    }
+
+    public void remove(Employee<T> employee) {
+        int row = rowOf(employee);
+        if (row < 0) {
+            return;
+        }
+        rowTable.remove(employee);
+        names.release(nameCodes[row]);
+        departments.release(departmentCodes[row]);
+        releasePicture(pictureCodes[row]);
+        removeRatingRow(ratingTenths[row], row);
+        int last = --size;
+        if (row != last) {
+            employees[row] = employees[last];
+            salaryCents[row] = salaryCents[last];
+            removeRatingRow(ratingTenths[last], last);
+            addRatingRow(ratingTenths[last], row);
+            ratingTenths[row] = ratingTenths[last];
+            yearsOfExperience[row] = yearsOfExperience[last];
+            nameCodes[row] = nameCodes[last];
+            departmentCodes[row] = departmentCodes[last];
+            pictureCodes[row] = pictureCodes[last];
+            setActive(row, isActive(last));
+            rowTable.put(employees[row], row);
+        }
+        employees[last] = null;
+        setActive(last, false);
+    }
+
+    public void setSalaryCents(int row, long cents) {
+        salaryCents[row] = cents;
+    }
+
+    public void setRatingTenths(int row, int tenths) {
+        if (ratingTenths[row] != tenths) {
+            removeRatingRow(ratingTenths[row], row);
+            addRatingRow(tenths, row);
+        }
+        ratingTenths[row] = tenths;
+    }
+
+    private void addRatingRow(int key, int row) {
+        ratingRows.computeIfAbsent(key, k -> new RowBitmap()).add(row);
+    }
+
+    private void removeRatingRow(int key, int row) {
+        RowBitmap rows = ratingRows.get(key);
+        if (rows != null && rows.remove(row) && rows.isEmpty()) {
+            ratingRows.remove(key);
+        }
+    }
+
+    public void setYearsOfExperience(int row, int years) {
+        yearsOfExperience[row] = years;
+    }
+
+    public void setName(int row, String name) {
+        int code = names.acquire(name);
+        names.release(nameCodes[row]);
+        nameCodes[row] = code;
+    }
+
+    public void setDepartment(int row, String department) {
+        int code = departments.acquire(department);
+        departments.release(departmentCodes[row]);
+        departmentCodes[row] = code;
+    }
+
+    public void setPicture(int row, String picture) {
+        int code = acquirePicture(picture);
+        releasePicture(pictureCodes[row]);
+        pictureCodes[row] = code;
+    }
+
+    private int acquirePicture(String picture) {
+        return picture == null ? -1 : pictures.acquire(picture);
+    }
+
+    private void releasePicture(int code) {
+        if (code >= 0) {
+            pictures.release(code);
+        }
+    }
+
+    public void setActive(int row, boolean active) {
+        if (active) {
+            activeRows.add(row);
+        } else {
+            activeRows.remove(row);
+        }
+    }
+
+    // Rows whose active flag matches; the inactive rows are every row not in the active bitmap
+    public RowBitmap activeRows(boolean active) {
+        return active ? activeRows.copy() : RowBitmap.firstRows(size).andNot(activeRows);
+    }
+
+    public int countActive(boolean active) {
+        return active ? activeRows.cardinality() : size - activeRows.cardinality();
+    }
+
+    // Rows whose rating key is >= minKey: the OR of the buckets from minKey up
+    public RowBitmap ratingRowsAtLeast(int minKey) {
+        RowBitmap result = new RowBitmap();
+        for (RowBitmap rows : ratingRows.tailMap(minKey, true).values()) {
+            result = result.or(rows);
+        }
+        return result;
+    }
+
+    // Visits the rows whose rating key is >= minKey, bucket by bucket, until the action returns false
+    public void forEachRowWithRatingAtLeast(int minKey, IntPredicate action) {
+        for (RowBitmap rows : ratingRows.tailMap(minKey, true).values()) {
+            if (!rows.forEachWhile(0, action)) {
+                return;
+            }
+        }
+    }
+
+    // Visits the rows whose active flag matches, in ascending order, until the action returns false
+    public void forEachRowWithActive(boolean active, IntPredicate action) {
+        if (active) {
+            activeRows.forEachWhile(action);
+            return;
+        }
+        for (int row = 0; row < size; row++) {
+            if (!activeRows.contains(row) && !action.test(row)) {
+                return;
+            }
+        }
+    }
+
+    public int countRatingAtLeast(int minKey) {
+        int count = 0;
+        for (RowBitmap rows : ratingRows.tailMap(minKey, true).values()) {
+            count += rows.cardinality();
+        }
+        return count;
+    }
+
+    // Up to limit employees, walking the rating buckets from the lowest or highest rating
+    public List<Employee<T>> firstByRating(int limit, boolean descending) {
+        List<Employee<T>> result = new ArrayList<>(Math.min(limit, size));
+        if (limit > 0) {
+            walkByRating(0, descending, employee -> {
+                result.add(employee);
+                return result.size() < limit;
+            });
+        }
+        return result;
+    }
+
+    // Visits employees in rating order, buckets from the lowest or highest rating and rows in
+    // ascending order within a bucket, starting at the given position of that order. Stops when
+    // the visitor returns false; returns true if the walk reached the end.
+    public boolean walkByRating(int from, boolean descending, Predicate<Employee<T>> visitor) {
+        Map<Integer, RowBitmap> ordered = descending ? ratingRows.descendingMap() : ratingRows;
+        for (RowBitmap rows : ordered.values()) {
+            if (from >= rows.cardinality()) {
+                from -= rows.cardinality();
+                continue;
+            }
+            if (!rows.forEachWhile(from, row -> visitor.test(employees[row]))) {
+                return false;
+            }
+            from = 0;
+        }
+        return true;
+    }
+
+    // Position of the employee in the order walkByRating() visits, or -1 if it has no row
+    public int positionByRating(Employee<T> employee, boolean descending) {
+        int row = rowOf(employee);
+        if (row < 0) {
+            return -1;
+        }
+        int key = ratingTenths[row];
+        int position = ratingRows.get(key).rank(row);
+        for (RowBitmap before : (descending ? ratingRows.tailMap(key, false) : ratingRows.headMap(key, false)).values()) {
+            position += before.cardinality();
+        }
+        return position;
+    }
+
+    public List<Employee<T>> withActiveStatus(boolean active) {
+        return employeesAt(activeRows(active));
+    }
+
+    public List<Employee<T>> employeesAt(RowBitmap rows) {
+        List<Employee<T>> result = new ArrayList<>(rows.cardinality());
+        rows.forEach(row -> result.add(employees[row]));
+        return result;
+    }
+
+    public void clear() {
+        rowTable.clear();
+        Arrays.fill(employees, 0, size, null);
+        activeRows.clear();
+        ratingRows.clear();
+        names.clear();
+        departments.clear();
+        pictures.clear();
+        size = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= employees.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, employees.length * 2);
+        employees = Arrays.copyOf(employees, newCapacity);
+        salaryCents = Arrays.copyOf(salaryCents, newCapacity);
+        ratingTenths = Arrays.copyOf(ratingTenths, newCapacity);
+        yearsOfExperience = Arrays.copyOf(yearsOfExperience, newCapacity);
+        nameCodes = Arrays.copyOf(nameCodes, newCapacity);
+        departmentCodes = Arrays.copyOf(departmentCodes, newCapacity);
+        pictureCodes = Arrays.copyOf(pictureCodes, newCapacity);
+    }
+
+    // Every row's values, copied column by column with bulk array copies, so taking the copy
+    // costs little more than the memory it fills
+    public Rows<T> copyRows() {
+        return new Rows<>(Arrays.copyOf(employees, size), Arrays.copyOf(salaryCents, size),
+                Arrays.copyOf(ratingTenths, size), Arrays.copyOf(yearsOfExperience, size),
+                Arrays.copyOf(nameCodes, size), Arrays.copyOf(departmentCodes, size), Arrays.copyOf(pictureCodes, size),
+                names.copyValues(), departments.copyValues(), pictures.copyValues(), activeRows.copy());
+    }
+
+    static final class Rows<T> {
+        private final Employee<T>[] employees;
+        private final long[] salaryCents;
+        private final int[] ratingTenths;
+        private final int[] yearsOfExperience;
+        private final int[] nameCodes;
+        private final int[] departmentCodes;
+        private final int[] pictureCodes;
+        private final String[] names;
+        private final String[] departments;
+        private final String[] pictures;
+        private final RowBitmap activeRows;
+
+        private Rows(Employee<T>[] employees, long[] salaryCents, int[] ratingTenths, int[] yearsOfExperience,
+                     int[] nameCodes, int[] departmentCodes, int[] pictureCodes,
+                     String[] names, String[] departments, String[] pictures, RowBitmap activeRows) {
+            this.employees = employees;
+            this.salaryCents = salaryCents;
+            this.ratingTenths = ratingTenths;
+            this.yearsOfExperience = yearsOfExperience;
+            this.nameCodes = nameCodes;
+            this.departmentCodes = departmentCodes;
+            this.pictureCodes = pictureCodes;
+            this.names = names;
+            this.departments = departments;
+            this.pictures = pictures;
+            this.activeRows = activeRows;
+        }
+
+        int size() {
+            return employees.length;
+        }
+
+        // IDs are read from the employees themselves; a stored employee's ID never changes
+        T employeeId(int row) {
+            return employees[row].getEmployeeId();
+        }
+
+        long salaryCents(int row) {
+            return salaryCents[row];
+        }
+
+        int ratingTenths(int row) {
+            return ratingTenths[row];
+        }
+
+        int yearsOfExperience(int row) {
+            return yearsOfExperience[row];
+        }
+
+        String name(int row) {
+            return names[nameCodes[row]];
+        }
+
+        String department(int row) {
+            return departments[departmentCodes[row]];
+        }
+
+        String picture(int row) {
+            return pictureCodes[row] < 0 ? null : pictures[pictureCodes[row]];
+        }
+
+        boolean isActive(int row) {
+            return activeRows.contains(row);
+        }
+    }
+}
@@ -4,32 +4,148 @@ import lii.employeemanagementsystem.customExceptions.InvalidDepartmentException;
 import lii.employeemanagementsystem.customExceptions.InvalidSalaryException;
 import lii.employeemanagementsystem.customExceptions.InvalidYearsOfExperienceException;
 import lii.employeemanagementsystem.model.Employee;
+import lii.employeemanagementsystem.model.EmployeeChangeListener;
+import lii.employeemanagementsystem.model.EmployeeField;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
+// Safe for concurrent use: the employee store (a ConcurrentHashMap unless a subclass such as
+// LongEmployeeDatabase supplies its own) is safe to read at any time with weakly consistent
+// iteration, and the secondary indexes are guarded by a StampedLock. Queries walking an index
+// take its read lock; only reads of a single field, such as the employee count, run as
+// optimistic reads. Individual Employee objects are still not thread-safe and should only be
+// mutated from one thread at a time.
 public class EmployeeDatabase<T> {
-    private final Map<T, Employee<T>> employeeMap = new HashMap<>();
+    // Raises touching at least this many employees compute new salaries on the fork/join pool
+    private static final int PARALLEL_RAISE_THRESHOLD = 10_000;
+    // addEmployees batches of at least this many employees fill the indexes concurrently
+    private static final int PARALLEL_INDEX_THRESHOLD = 1_000;
+    // Query scans look for an interrupt this often; must be a power of two
+    private static final int CANCEL_CHECK_INTERVAL = 4096;
+
+    private final EmployeeStore<T> employeeStore;
+    private final StampedLock indexLock = new StampedLock();
+    private final EmployeeColumns<T> columns = new EmployeeColumns<>();
+    private final SortedIndex<T> salaryIndex = new SortedIndex<>();
+    private final DepartmentIndex<T> departmentIndex = new DepartmentIndex<>();
+    private final BucketIndex<T> experienceIndex = new BucketIndex<>();
+    private final TrigramIndex<T> nameIndex = new TrigramIndex<>();
+
+    // Indexes left unbuilt by restore(). The first query or change that needs any of them
+    // builds all of them together: a change applied while only some were built would have to
+    // reach the built ones but not the others, which the index maintenance cannot tell apart.
+    private static final int COLUMNS = 1;
+    private static final int SALARY_INDEX = 1 << 1;
+    private static final int DEPARTMENT_INDEX = 1 << 2;
+    private static final int EXPERIENCE_INDEX = 1 << 3;
+    private static final int NAME_INDEX = 1 << 4;
+    private static final int ALL_INDEXES = (1 << 5) - 1;
+    private volatile int pendingIndexes;
+    // The restored employees in snapshot (salary) order, kept until every index is built
+    private Employee<T>[] restoredEmployees;
+
+    // The index behind each sort field, see indexFor
+    private final OrderedIndex salaryOrder = new OrderedIndex(SALARY_INDEX) {
+        @Override
+        List<Employee<T>> first(int limit, boolean descending) {
+            return salaryIndex.first(limit, descending);
+        }
+
+        @Override
+        boolean walk(int from, boolean descending, Predicate<Employee<T>> visitor) {
+            return salaryIndex.walk(from, descending, visitor);
+        }
+
+        @Override
+        int positionOf(Employee<T> employee, boolean descending) {
+            int position = salaryIndex.positionOf(employee.getSalaryCents(), employee);
+            return descending && position >= 0 ? salaryIndex.size() - 1 - position : position;
+        }
+    };
+    private final OrderedIndex ratingOrder = new OrderedIndex(COLUMNS) {
+        @Override
+        List<Employee<T>> first(int limit, boolean descending) {
+            return columns.firstByRating(limit, descending);
+        }
+
+        @Override
+        boolean walk(int from, boolean descending, Predicate<Employee<T>> visitor) {
+            return columns.walkByRating(from, descending, visitor);
+        }
+
+        @Override
+        int positionOf(Employee<T> employee, boolean descending) {
+            return columns.positionByRating(employee, descending);
+        }
+    };
+    private final OrderedIndex experienceOrder = new OrderedIndex(EXPERIENCE_INDEX) {
+        @Override
+        List<Employee<T>> first(int limit, boolean descending) {
+            return experienceIndex.first(limit, descending);
+        }
+
+        @Override
+        boolean walk(int from, boolean descending, Predicate<Employee<T>> visitor) {
+            return experienceIndex.walk(from, descending, visitor);
+        }
+
+        @Override
+        int positionOf(Employee<T> employee, boolean descending) {
+            return experienceIndex.positionOf(employee.getYearsOfExperience(), employee, descending);
+        }
+    };
+
+    // Keep the indexes in sync when fields are changed directly on the employee
+    private final EmployeeChangeListener<T> indexMaintainer = new IndexMaintainer();
+    private final List<EmployeeDatabaseListener<T>> databaseListeners = new CopyOnWriteArrayList<>();
+
+    // Thread applying a batch update while holding the write lock; index changes caused
+    // by its own employee updates are applied directly instead of locking again
+    private volatile Thread batchWriter;
+    // Whether the running batch reports each employee update to the database listeners
+    private boolean batchPublishesUpdates;
+    private final DatabaseStats stats = new DatabaseStats();
+
+    public EmployeeDatabase() {
+        this(new MapEmployeeStore<>());
+    }
+
+    EmployeeDatabase(EmployeeStore<T> employeeStore) {
+        this.employeeStore = employeeStore;
+    }
+
+    // Operation latencies and result sizes; recording is off until enabled
+    public DatabaseStats getStats() {
+        return stats;
+    }
 
     // Add a new employee
     public void addEmployee(Employee<T> employee) {
+        long start = stats.start();
         try {
-            if (employee.getSalary() < 0) {
-                throw new InvalidSalaryException("Salary cannot be negative.");
-            }
-            if (employee.getDepartment() == null || employee.getDepartment().isEmpty()) {
-                throw new InvalidDepartmentException("Employee Department cannot be null or empty.");
-            }
-            if (employee.getName() == null || employee.getName().isEmpty()) {
-                throw new IllegalArgumentException("Employee Name cannot be empty or null.");
+            validateEmployee(employee);
+            long stamp = indexLock.writeLock();
+            try {
+                buildPendingIndexes(ALL_INDEXES);
+                insertEmployee(employee);
+            } finally {
+                indexLock.unlockWrite(stamp);
             }
-            if (employee.getYearsOfExperience() < 0) {
-                throw new InvalidYearsOfExperienceException("Years of experience cannot be negative.");
-            }
-            if (employeeMap.containsKey(employee.getEmployeeId())) {
-                throw new IllegalArgumentException("Employee with ID " + employee.getEmployeeId() + " already exists.");
-            }
-
-            employeeMap.put(employee.getEmployeeId(), employee);
+            stats.record(DatabaseStats.Operation.ADD_EMPLOYEE, start, 1);
         } catch (InvalidSalaryException| InvalidDepartmentException | InvalidYearsOfExperienceException | IllegalArgumentException  e) {
             System.err.println("Error adding employee: " + e.getMessage());
             throw e;
@@ -38,55 +154,447 @@ public class EmployeeDatabase<T> {
 
     }
 
+    // Add many employees under one write lock, with the same checks as addEmployee. An employee
+    // that fails a check (including a null employee or ID) or whose ID already exists is skipped
+    // and handed to onRejected together with its position in the list; the rest are still added.
+    // Returns the number added. If onRejected throws, the employees stored before it are still
+    // indexed and published before the exception propagates.
+    public int addEmployees(List<Employee<T>> employees, ObjIntConsumer<RuntimeException> onRejected) {
+        long start = stats.start();
+        long stamp = indexLock.writeLock();
+        try {
+            buildPendingIndexes(ALL_INDEXES);
+            int departmentChanges = departmentIndex.departmentChanges();
+            List<Employee<T>> added = new ArrayList<>(employees.size());
+            try {
+                for (int i = 0; i < employees.size(); i++) {
+                    Employee<T> employee = employees.get(i);
+                    try {
+                        if (employee == null) {
+                            throw new IllegalArgumentException("Employee cannot be null.");
+                        }
+                        validateEmployee(employee);
+                        putEmployee(employee);
+                        added.add(employee);
+                    } catch (InvalidSalaryException | InvalidDepartmentException | InvalidYearsOfExperienceException | IllegalArgumentException e) {
+                        onRejected.accept(e, i);
+                    }
+                }
+            } finally {
+                // Every stored employee must reach the indexes and the listeners, however the loop ended
+                if (added.size() >= PARALLEL_INDEX_THRESHOLD) {
+                    indexEmployeesInParallel(added);
+                } else {
+                    added.forEach(this::indexEmployee);
+                }
+                for (Employee<T> employee : added) {
+                    for (EmployeeDatabaseListener<T> listener : databaseListeners) {
+                        listener.employeeAdded(employee);
+                    }
+                }
+                publishDepartments(departmentChanges);
+            }
+            stats.record(DatabaseStats.Operation.ADD_EMPLOYEES, start, added.size());
+            return added.size();
+        } finally {
+            indexLock.unlockWrite(stamp);
+        }
+    }
+
+    // The checks an employee must pass before it can be added
+    public static void validateEmployee(Employee<?> employee) {
+        if (employee.getSalary() < 0) {
+            throw new InvalidSalaryException("Salary cannot be negative.");
+        }
+        if (employee.getDepartment() == null || employee.getDepartment().isEmpty()) {
+            throw new InvalidDepartmentException("Employee Department cannot be null or empty.");
+        }
+        if (employee.getName() == null || employee.getName().isEmpty()) {
+            throw new IllegalArgumentException("Employee Name cannot be empty or null.");
+        }
+        if (employee.getYearsOfExperience() < 0) {
+            throw new InvalidYearsOfExperienceException("Years of experience cannot be negative.");
+        }
+    }
+
+    // Must hold the write lock
+    private void putEmployee(Employee<T> employee) {
+        if (employee.getEmployeeId() == null) {
+            throw new IllegalArgumentException("Employee ID cannot be null.");
+        }
+        if (employeeStore.putIfAbsent(employee) != null) {
+            throw new IllegalArgumentException("Employee with ID " + employee.getEmployeeId() + " already exists.");
+        }
+    }
+
+    // Must hold the write lock
+    private void insertEmployee(Employee<T> employee) {
+        int departmentChanges = departmentIndex.departmentChanges();
+        putEmployee(employee);
+        indexEmployee(employee);
+        for (EmployeeDatabaseListener<T> listener : databaseListeners) {
+            listener.employeeAdded(employee);
+        }
+        publishDepartments(departmentChanges);
+    }
+
     // Remove an employee by ID
     public void removeEmployee(T employeeId) {
+        long start = stats.start();
         try {
-            if (!employeeMap.containsKey(employeeId)) {
-                throw new EmployeeNotFoundException("Employee with ID " + employeeId + " does not exist.");
+            long stamp = indexLock.writeLock();
+            try {
+                buildPendingIndexes(ALL_INDEXES);
+                int departmentChanges = departmentIndex.departmentChanges();
+                Employee<T> employee = employeeStore.remove(employeeId);
+                if (employee == null) {
+                    throw new EmployeeNotFoundException("Employee with ID " + employeeId + " does not exist.");
+                }
+                unindexEmployee(employee);
+                for (EmployeeDatabaseListener<T> listener : databaseListeners) {
+                    listener.employeeRemoved(employee);
+                }
+                publishDepartments(departmentChanges);
+            } finally {
+                indexLock.unlockWrite(stamp);
             }
-            employeeMap.remove(employeeId);
+            stats.record(DatabaseStats.Operation.REMOVE_EMPLOYEE, start, 1);
         } catch (EmployeeNotFoundException ex) {
             System.err.println("Error removing employee: " + ex.getMessage());
             throw ex;
         }
     }
 
-    // Update an employee's details dynamically
-    public void updateEmployeeDetails(T employeeId, String field, Object newValue) {
-        Employee<T> employee = employeeMap.get(employeeId);
+    // Must be called with the write lock held
+    private void indexEmployee(Employee<T> employee) {
+        columns.add(employee);
+        salaryIndex.add(employee.getSalaryCents(), employee);
+        departmentIndex.add(employee.getDepartment(), employee.getSalaryCents(), employee);
+        experienceIndex.add(employee.getYearsOfExperience(), employee);
+        nameIndex.add(employee.getName(), employee);
+        employee.addChangeListener(indexMaintainer);
+    }
+
+    // Same as indexEmployee for a whole batch, filling each index on its own task.
+    // Must be called with the write lock held.
+    private void indexEmployeesInParallel(List<Employee<T>> employees) {
+        CompletableFuture.allOf(
+                CompletableFuture.runAsync(() -> employees.forEach(columns::add)),
+                CompletableFuture.runAsync(() -> employees.forEach(employee -> salaryIndex.add(employee.getSalaryCents(), employee))),
+                CompletableFuture.runAsync(() -> employees.forEach(employee ->
+                        departmentIndex.add(employee.getDepartment(), employee.getSalaryCents(), employee))),
+                CompletableFuture.runAsync(() -> employees.forEach(employee ->
+                        experienceIndex.add(employee.getYearsOfExperience(), employee))),
+                CompletableFuture.runAsync(() -> employees.forEach(employee -> nameIndex.add(employee.getName(), employee)))
+        ).join();
+        for (Employee<T> employee : employees) {
+            employee.addChangeListener(indexMaintainer);
+        }
+    }
+
+    // Must be called with the write lock held and every index built. The entries are removed
+    // by the values the indexes hold, taken from the employee's row: a setter changes the field
+    // before its change reaches the indexes, so the employee may already hold newer ones.
+    private void unindexEmployee(Employee<T> employee) {
+        employee.removeChangeListener(indexMaintainer);
+        int row = columns.rowOf(employee);
+        long salaryCents = columns.salaryCents(row);
+        String department = columns.department(row);
+        int years = columns.yearsOfExperience(row);
+        columns.remove(employee);
+        salaryIndex.remove(salaryCents, employee);
+        departmentIndex.remove(department, salaryCents, employee);
+        experienceIndex.remove(years, employee);
+        nameIndex.remove(employee);
+    }
+
+    // Loads employees that are already known to be valid, e.g. from a snapshot, into an empty
+    // database. Skips the per-employee checks of addEmployee and leaves the indexes to be
+    // built on demand, so a large restore only costs filling the ID map.
+    void restore(Employee<T>[] employees) {
+        long stamp = indexLock.writeLock();
+        try {
+            if (employeeStore.size() != 0) {
+                throw new IllegalStateException("Database must be empty to restore employees.");
+            }
+            try {
+                employeeStore.putAll(employees);
+            } catch (RuntimeException e) {
+                // A duplicate ID may fail the fill part way; leave the database empty as it was
+                for (Employee<T> employee : employees) {
+                    if (employee != null && employeeStore.get(employee.getEmployeeId()) == employee) {
+                        employeeStore.remove(employee.getEmployeeId());
+                    }
+                }
+                throw e;
+            }
+            Arrays.stream(employees).parallel().forEach(employee -> employee.addChangeListener(indexMaintainer));
+            restoredEmployees = employees;
+            pendingIndexes = ALL_INDEXES;
+            for (EmployeeDatabaseListener<T> listener : databaseListeners) {
+                for (Employee<T> employee : employees) {
+                    listener.employeeAdded(employee);
+                }
+            }
+        } finally {
+            indexLock.unlockWrite(stamp);
+        }
+    }
+
+    // Makes sure the given indexes are built before a query reads them
+    private void ensureIndexes(int indexes) {
+        if ((pendingIndexes & indexes) == 0) {
+            return;
+        }
+        long stamp = indexLock.writeLock();
+        try {
+            buildPendingIndexes(indexes);
+        } finally {
+            indexLock.unlockWrite(stamp);
+        }
+    }
+
+    // Must be called with the write lock held. If any of the given indexes is pending, builds
+    // every pending index from the employees' current values, each index on its own task.
+    private void buildPendingIndexes(int indexes) {
+        if ((pendingIndexes & indexes) == 0) {
+            return;
+        }
+        int toBuild = pendingIndexes;
+        Employee<T>[] employees = restoredEmployees;
+        List<CompletableFuture<Void>> builds = new ArrayList<>();
+        if ((toBuild & COLUMNS) != 0) {
+            builds.add(CompletableFuture.runAsync(() -> columns.addAll(employees)));
+        }
+        if ((toBuild & SALARY_INDEX) != 0) {
+            builds.add(CompletableFuture.runAsync(() -> {
+                long[] salaries = new long[employees.length];
+                Arrays.parallelSetAll(salaries, i -> employees[i].getSalaryCents());
+                salaryIndex.addAll(salaries, employees);
+            }));
+        }
+        if ((toBuild & DEPARTMENT_INDEX) != 0) {
+            builds.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < employees.length; i++) {
+                    departmentIndex.add(employees[i].getDepartment(), employees[i].getSalaryCents(), employees[i]);
+                }
+            }));
+        }
+        if ((toBuild & EXPERIENCE_INDEX) != 0) {
+            builds.add(CompletableFuture.runAsync(() -> {
+                for (Employee<T> employee : employees) {
+                    experienceIndex.add(employee.getYearsOfExperience(), employee);
+                }
+            }));
+        }
+        if ((toBuild & NAME_INDEX) != 0) {
+            builds.add(CompletableFuture.runAsync(() -> {
+                for (Employee<T> employee : employees) {
+                    nameIndex.add(employee.getName(), employee);
+                }
+            }));
+        }
+        CompletableFuture.allOf(builds.toArray(new CompletableFuture[0])).join();
+        pendingIndexes &= ~toBuild;
+        if (pendingIndexes == 0) {
+            restoredEmployees = null;
+        }
+    }
+
+    // Copy of every employee's current values, cheap enough to take while writers wait.
+    // Must be called while the database cannot change, e.g. from underReadLock.
+    EmployeeColumns.Rows<T> copyRows() {
+        return columns.copyRows();
+    }
+
+    // Runs an index query under the read lock. The indexes are plain collections, so a walk
+    // that raced a writer could loop or fail before any validation, and never runs optimistically.
+    private <R> R read(Supplier<R> query) {
+        long stamp = indexLock.readLock();
+        try {
+            return query.get();
+        } finally {
+            indexLock.unlockRead(stamp);
+        }
+    }
+
+    // Reads a single field as an optimistic read, retried under the read lock if a writer got
+    // in the way. Only for reads that cannot loop or fail on a half-applied change.
+    private int readField(IntSupplier field) {
+        long stamp = indexLock.tryOptimisticRead();
+        if (stamp != 0L) {
+            int value = field.getAsInt();
+            if (indexLock.validate(stamp)) {
+                return value;
+            }
+        }
+        stamp = indexLock.readLock();
+        try {
+            return field.getAsInt();
+        } finally {
+            indexLock.unlockRead(stamp);
+        }
+    }
+
+    // Runs work while no change can be applied to the database. The columns are built first
+    // if they are still pending, so the work may copy them.
+    <R> R underReadLock(Supplier<R> work) {
+        ensureIndexes(COLUMNS);
+        long stamp = indexLock.readLock();
+        try {
+            return work.get();
+        } finally {
+            indexLock.unlockRead(stamp);
+        }
+    }
+
+    // Applies an index change caused by a direct property update, unless the employee
+    // has been removed from this database in the meantime
+    private void write(Employee<T> employee, EmployeeField<?> field, Runnable update) {
+        boolean inBatch = batchWriter == Thread.currentThread();
+        long stamp = inBatch ? 0L : indexLock.writeLock();
+        try {
+            if (employeeStore.get(employee.getEmployeeId()) == employee) {
+                // Building the department index counts as a change, so the first write after
+                // a restore may report departments that did not change
+                int departmentChanges = departmentIndex.departmentChanges();
+                if (pendingIndexes != 0) {
+                    // Built from the current values, which already include this change
+                    buildPendingIndexes(ALL_INDEXES);
+                } else {
+                    update.run();
+                }
+                if (!inBatch || batchPublishesUpdates) {
+                    for (EmployeeDatabaseListener<T> listener : databaseListeners) {
+                        listener.employeeUpdated(employee, field);
+                    }
+                }
+                publishDepartments(departmentChanges);
+            }
+        } finally {
+            if (!inBatch) {
+                indexLock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    // Must hold the write lock. Tells the listeners about the new department list if a
+    // department appeared or disappeared since departmentIndex.departmentChanges() was read.
+    private void publishDepartments(int departmentChangesBefore) {
+        if (departmentIndex.departmentChanges() == departmentChangesBefore) {
+            return;
+        }
+        List<String> departments = Collections.unmodifiableList(departmentIndex.departments());
+        for (EmployeeDatabaseListener<T> listener : databaseListeners) {
+            listener.departmentsChanged(departments);
+        }
+    }
+
+    // Runs a batch of employee updates under one write lock
+    private <R> R batch(boolean publishUpdates, Supplier<R> work) {
+        long stamp = indexLock.writeLock();
+        buildPendingIndexes(ALL_INDEXES);
+        batchWriter = Thread.currentThread();
+        batchPublishesUpdates = publishUpdates;
+        try {
+            return work.get();
+        } finally {
+            batchWriter = null;
+            indexLock.unlockWrite(stamp);
+        }
+    }
+
+    private Employee<T> getExistingEmployee(T employeeId) {
+        Employee<T> employee = employeeStore.get(employeeId);
         if (employee == null) {
             throw new EmployeeNotFoundException("Employee with ID " + employeeId + " does not exist.");
         }
+        return employee;
+    }
+
+    // Update an employee's details dynamically. The field name is resolved case-insensitively
+    // and a value of the wrong type is rejected with an IllegalArgumentException.
+    public void updateEmployeeDetails(T employeeId, String field, Object newValue) {
+        long start = stats.start();
+        Employee<T> employee = getExistingEmployee(employeeId);
+        EmployeeField<?> resolved = EmployeeField.forName(field);
+        setCast(employee, resolved, newValue);
+        stats.record(DatabaseStats.Operation.UPDATE_EMPLOYEE_DETAILS, start, 1);
+    }
+
+    private static <V> void setCast(Employee<?> employee, EmployeeField<V> field, Object value) {
+        field.set(employee, field.cast(value));
+    }
+
+    // Update one field through its typed descriptor
+    public <V> void updateEmployeeDetails(T employeeId, EmployeeField<V> field, V newValue) {
+        long start = stats.start();
+        field.set(getExistingEmployee(employeeId), newValue);
+        stats.record(DatabaseStats.Operation.UPDATE_EMPLOYEE_DETAILS, start, 1);
+    }
+
+    // Set one field to the same value on many employees. The value is validated once, every
+    // ID is checked before anything changes, and the whole update runs under one write lock:
+    // each employee's indexes and columns are updated in place as its field is set, and the
+    // database listeners get a single employeesUpdated event for the batch.
+    // Returns the number of employees updated.
+    public <V> int updateMany(Collection<T> employeeIds, EmployeeField<V> field, V value) {
+        field.validate(value);
+        return applyToAll(employeeIds, field, employee -> field.set(employee, value));
+    }
+
+    public int updateMany(Collection<T> employeeIds, EmployeeField.DoubleField field, double value) {
+        field.validate(value);
+        return applyToAll(employeeIds, field, employee -> field.set(employee, value));
+    }
+
+    public int updateMany(Collection<T> employeeIds, EmployeeField.IntField field, int value) {
+        field.validate(value);
+        return applyToAll(employeeIds, field, employee -> field.set(employee, value));
+    }
+
+    public int updateMany(Collection<T> employeeIds, EmployeeField.BooleanField field, boolean value) {
+        return applyToAll(employeeIds, field, employee -> field.set(employee, value));
+    }
+
+    private int applyToAll(Collection<T> employeeIds, EmployeeField<?> field, Consumer<Employee<T>> update) {
+        if (employeeIds == null) {
+            throw new IllegalArgumentException("Employee IDs cannot be null.");
+        }
+        long start = stats.start();
+        int updated = batch(false, () -> {
+            List<Employee<T>> employees = new ArrayList<>(employeeIds.size());
+            for (T employeeId : employeeIds) {
+                employees.add(getExistingEmployee(employeeId));
+            }
+            for (Employee<T> employee : employees) {
+                update.accept(employee);
+            }
+            if (!employees.isEmpty()) {
+                List<Employee<T>> updatedEmployees = Collections.unmodifiableList(employees);
+                for (EmployeeDatabaseListener<T> listener : databaseListeners) {
+                    listener.employeesUpdated(updatedEmployees, field);
+                }
+            }
+            return employees.size();
+        });
+        stats.record(DatabaseStats.Operation.UPDATE_MANY, start, updated);
+        return updated;
+    }
+
+    public void addDatabaseListener(EmployeeDatabaseListener<T> listener) {
+        databaseListeners.add(listener);
+    }
+
+    public void removeDatabaseListener(EmployeeDatabaseListener<T> listener) {
+        databaseListeners.remove(listener);
+    }
 
-        switch (field.toLowerCase()) {
-            case "name":
-                employee.setName((String) newValue);
-                break;
-            case "department":
-                employee.setDepartment((String) newValue);
-                break;
-            case "salary":
-                employee.setSalary((Double) newValue);
-                break;
-            case "performancerating":
-                employee.setPerformanceRating((Double) newValue);
-                break;
-            case "yearsofexperience":
-                employee.setYearsOfExperience((Integer) newValue);
-                break;
-            case "isactive":
-                employee.setActive((Boolean) newValue);
-                break;
-            case "profilepicture":
-                employee.setProfilePicture((String) newValue);
-                break;
-            default:
-                throw new IllegalArgumentException("Invalid field: " + field);
-        }
-    }
-
-    // Method to give a salary raise to employees with high performance ratings
-    public void giveSalaryRaise(double percentage, double minRating) {
+    // Method to give a salary raise to employees with high performance ratings.
+    // The matching employees come from the rating bitmaps and the whole raise is applied
+    // under one write lock, so readers see either none or all of it.
+    public RaiseSummary<T> giveSalaryRaise(double percentage, double minRating) {
+        long start = stats.start();
         try {
             if (percentage < 0) {
                 throw new IllegalArgumentException("Percentage cannot be negative.");
@@ -98,67 +606,162 @@ public class EmployeeDatabase<T> {
             System.err.println("Error giving salary raise: " + e.getMessage());
             throw e;
         }
-        employeeMap.values().stream()
-                .filter(employee -> employee.getPerformanceRating() >= minRating)
-                .forEach(employee -> {
-                    double newSalary = employee.getSalary() * (1 + percentage / 100);
-                    employee.setSalary(newSalary);
-                });
+        double factor = 1 + percentage / 100;
+        // The raise is reported as a single event rather than one update per employee
+        RaiseSummary<T> raise = batch(false, () -> {
+            List<Employee<T>> affected = columns.employeesAt(columns.ratingRowsAtLeast(minimumRatingKey(minRating)));
+            double[] newSalaries = new double[affected.size()];
+            IntStream indexes = IntStream.range(0, newSalaries.length);
+            if (newSalaries.length >= PARALLEL_RAISE_THRESHOLD) {
+                indexes = indexes.parallel();
+            }
+            indexes.forEach(i -> newSalaries[i] = affected.get(i).getSalary() * factor);
+
+            // Summed in cents, so the total is exact however many employees were raised
+            long payrollDeltaCents = 0;
+            for (int i = 0; i < newSalaries.length; i++) {
+                Employee<T> employee = affected.get(i);
+                long oldCents = employee.getSalaryCents();
+                employee.setSalary(newSalaries[i]);
+                payrollDeltaCents += employee.getSalaryCents() - oldCents;
+            }
+            RaiseSummary<T> summary = new RaiseSummary<>(percentage, minRating, affected, payrollDeltaCents / 100.0);
+            for (EmployeeDatabaseListener<T> listener : databaseListeners) {
+                listener.salaryRaiseApplied(summary);
+            }
+            return summary;
+        });
+        stats.record(DatabaseStats.Operation.GIVE_SALARY_RAISE, start, raise.getAffectedCount());
+        return raise;
     }
 
     // Method to retrieve the top 5 highest-paid employees
     public List<Employee<T>> getTop5HighestPaidEmployees() {
-        return employeeMap.values().stream()
-                .sorted(Comparator.comparingDouble(Employee<T>::getSalary).reversed())
-                .limit(5)
-                .collect(Collectors.toList());
+        return getTopN(5, SortField.SALARY, SortDirection.DESCENDING);
+    }
+
+    // Retrieve the first k employees ordered by the given field, read straight off its index
+    public List<Employee<T>> getTopN(int k, SortField field, SortDirection direction) {
+        long start = stats.start();
+        if (k < 0) {
+            throw new IllegalArgumentException("Number of employees cannot be negative.");
+        }
+        if (field == null || direction == null) {
+            throw new IllegalArgumentException("Sort field and direction cannot be null.");
+        }
+        boolean descending = direction == SortDirection.DESCENDING;
+        OrderedIndex index = indexFor(field);
+        ensureIndexes(index.indexes);
+        List<Employee<T>> top = read(() -> index.first(k, descending));
+        stats.record(DatabaseStats.Operation.GET_TOP_N, start, top.size());
+        return top;
     }
 
     public double calculateAverageSalaryByDepartment(String department) {
-        if (department == null || department.isEmpty() ||
-                employeeMap.values().stream().noneMatch(e -> e.getDepartment().equals(department))) {
+        long start = stats.start();
+        if (department == null) {
             throw new InvalidDepartmentException("No employee with the selected department " + department);
         }
+        ensureIndexes(DEPARTMENT_INDEX);
+        double average = read(() -> {
+            DepartmentIndex.Partition<T> partition = departmentIndex.get(department);
+            if (partition == null) {
+                throw new InvalidDepartmentException("No employee with the selected department " + department);
+            }
+            return partition.averageSalary();
+        });
+        stats.record(DatabaseStats.Operation.CALCULATE_AVERAGE_SALARY, start, 1);
+        return average;
+    }
 
-        return employeeMap.values().stream()
-                .filter(e -> e.getDepartment().equals(department))
-                .mapToDouble(Employee::getSalary)
-                .average()
-                .orElse(0.0);
+    // Departments that currently have at least one employee, in alphabetical order
+    public List<String> getDepartments() {
+        long start = stats.start();
+        ensureIndexes(DEPARTMENT_INDEX);
+        List<String> departments = read(departmentIndex::departments);
+        stats.record(DatabaseStats.Operation.GET_DEPARTMENTS, start, departments.size());
+        return departments;
     }
 
-    // Retrieve all employees
+    // Retrieve all employees as a read-only, weakly consistent view
     public Collection<Employee<T>> getAllEmployees() {
-        return employeeMap.values();
+        return employeeStore.values();
     }
 
 
 
+    // Search employees by their active flag
+    public List<Employee<T>> searchByActiveStatus(boolean active) {
+        long start = stats.start();
+        ensureIndexes(COLUMNS);
+        List<Employee<T>> result = read(() -> columns.withActiveStatus(active));
+        stats.record(DatabaseStats.Operation.SEARCH_BY_ACTIVE_STATUS, start, result.size());
+        return result;
+    }
+
     // Search employees by minimum performance rating
     public List<Employee<T>> searchByMinimumPerformanceRating(double minRating) {
+        long start = stats.start();
         if (minRating < 0 || minRating > 5) {
             throw new IllegalArgumentException("Performance rating must be between 0 and 5.");
         }
-        return employeeMap.values().stream()
-                .filter(employee -> employee.getPerformanceRating() >= minRating)
-                .collect(Collectors.toList());
+        ensureIndexes(COLUMNS);
+        List<Employee<T>> result = read(() -> columns.employeesAt(columns.ratingRowsAtLeast(minimumRatingKey(minRating))));
+        stats.record(DatabaseStats.Operation.SEARCH_BY_MINIMUM_PERFORMANCE_RATING, start, result.size());
+        return result;
     }
 
     public List<Employee<T>> searchByTerm(String searchTerm) {
+        long start = stats.start();
         if (searchTerm == null) {
             throw new IllegalArgumentException("Search term cannot be null.");
         }
 
+        String term = TrigramIndex.fold(searchTerm);
+        List<Employee<T>> result;
+        if (term.isEmpty()) {
+            result = new ArrayList<>(employeeStore.values());
+        } else {
+            ensureIndexes(DEPARTMENT_INDEX | NAME_INDEX);
+            result = read(() -> matchTerm(term));
+        }
+        stats.record(DatabaseStats.Operation.SEARCH_BY_TERM, start, result.size());
+        return result;
+    }
+
+    // Employees whose name or department contains the folded term. Must be called from read().
+    private List<Employee<T>> matchTerm(String term) {
+        // Departments are few, so match their names directly and take whole partitions
+        Set<String> matchedDepartments = new HashSet<>();
         List<Employee<T>> filtered = new ArrayList<>();
-        for (Employee<T> emp : employeeMap.values()) {
-            if (emp.getName().toLowerCase().contains(searchTerm.toLowerCase()) || emp.getDepartment().toLowerCase().contains(searchTerm.toLowerCase())) {
+        for (String department : departmentIndex.departments()) {
+            if (TrigramIndex.fold(department).contains(term)) {
+                matchedDepartments.add(department);
+                filtered.addAll(departmentIndex.get(department).members());
+            }
+        }
+        for (Employee<T> emp : nameIndex.search(term)) {
+            if (!matchedDepartments.contains(emp.getDepartment())) {
                 filtered.add(emp);
             }
         }
         return filtered;
     }
+
+    // Upper bound on the size of matchTerm(term). Must be called from read().
+    private int estimateTerm(String term) {
+        int estimate = nameIndex.estimate(term);
+        for (String department : departmentIndex.departments()) {
+            if (TrigramIndex.fold(department).contains(term)) {
+                estimate += departmentIndex.get(department).count();
+            }
+        }
+        return estimate;
+    }
+
     // Search employees by salary range
     public List<Employee<T>> searchBySalaryRange(double minSalary, double maxSalary) {
+        long start = stats.start();
         if (minSalary < 0 || maxSalary < 0) {
             throw new InvalidSalaryException("Salary cannot be negative.");
         }
@@ -166,37 +769,430 @@ public class EmployeeDatabase<T> {
             throw new InvalidSalaryException("Minimum salary cannot be greater than maximum salary.");
         }
 
-        return employeeMap.values().stream()
-                .filter(employee -> employee.getSalary() >= minSalary && employee.getSalary() <= maxSalary)
-                .collect(Collectors.toList());
+        ensureIndexes(SALARY_INDEX);
+        List<Employee<T>> result = read(() -> salaryIndex.range(EmployeeColumns.minimumSalaryKey(minSalary), EmployeeColumns.maximumSalaryKey(maxSalary)));
+        stats.record(DatabaseStats.Operation.SEARCH_BY_SALARY_RANGE, start, result.size());
+        return result;
+    }
+
+    // Run a combined query. The candidates come from the most selective index the query can
+    // use, or from a scan of the columns when no index narrows it down to under half of the
+    // employees; the other filters are then checked on each candidate. On an interrupted
+    // thread this, count, getPage and positionOf stop with a CancellationException.
+    public List<Employee<T>> query(EmployeeQuery query) {
+        long start = stats.start();
+        List<Employee<T>> result = run(query);
+        stats.record(DatabaseStats.Operation.QUERY, start, result.size());
+        return result;
+    }
+
+    private List<Employee<T>> run(EmployeeQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null.");
+        }
+        ensureIndexes(indexesFor(query));
+        return read(() -> execute(query, plan(query).getAccess()));
+    }
+
+    // The plan query() would use right now, without running it
+    public QueryPlan explain(EmployeeQuery query) {
+        long start = stats.start();
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null.");
+        }
+        ensureIndexes(indexesFor(query));
+        QueryPlan plan = read(() -> plan(query));
+        stats.record(DatabaseStats.Operation.EXPLAIN, start, 0);
+        return plan;
+    }
+
+    // Number of employees the query matches
+    public int count(EmployeeQuery query) {
+        long start = stats.start();
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null.");
+        }
+        int count;
+        if (!query.hasFilters()) {
+            ensureIndexes(COLUMNS);
+            count = readField(columns::size);
+        } else {
+            ensureIndexes(indexesFor(query));
+            count = read(() -> countMatches(query, plan(query).getAccess()));
+        }
+        stats.record(DatabaseStats.Operation.COUNT, start, count);
+        return count;
+    }
+
+    // One page of the employees matching the query, in the given order. position is where the
+    // walk over that order starts: 0 for the first page, then the previous page's next position.
+    // For a query without filters it is simply the offset of the page's first employee, and it
+    // is reached without visiting the employees before it.
+    public EmployeePage<T> getPage(EmployeeQuery query, SortField orderBy, SortDirection direction, int position, int limit) {
+        long start = stats.start();
+        if (query == null || orderBy == null || direction == null) {
+            throw new IllegalArgumentException("Query, sort field and direction cannot be null.");
+        }
+        if (position < 0 || limit < 0) {
+            throw new IllegalArgumentException("Position and limit cannot be negative.");
+        }
+        boolean descending = direction == SortDirection.DESCENDING;
+        OrderedIndex index = indexFor(orderBy);
+        ensureIndexes(index.indexes);
+        EmployeePage<T> result = read(() -> {
+            List<Employee<T>> page = new ArrayList<>(Math.min(limit, 1024));
+            int[] visited = new int[1];
+            Predicate<Employee<T>> collect = employee -> {
+                checkCancelled(visited[0]++);
+                if (query.matches(employee)) {
+                    page.add(employee);
+                }
+                return page.size() < limit;
+            };
+            boolean last = limit == 0 ? position >= employeeStore.size() : index.walk(position, descending, collect);
+            return new EmployeePage<>(page, position + visited[0], last);
+        });
+        stats.record(DatabaseStats.Operation.GET_PAGE, start, result.getEmployees().size());
+        return result;
+    }
+
+    // Index of the employee in the list the same query and order give page by page, or -1 if
+    // it is not stored or does not match. Without filters the position comes straight from
+    // the index; with filters the matches before it are counted.
+    public int positionOf(EmployeeQuery query, SortField orderBy, SortDirection direction, Employee<T> employee) {
+        long start = stats.start();
+        if (query == null || orderBy == null || direction == null || employee == null) {
+            throw new IllegalArgumentException("Query, sort field, direction and employee cannot be null.");
+        }
+        boolean descending = direction == SortDirection.DESCENDING;
+        OrderedIndex index = indexFor(orderBy);
+        ensureIndexes(index.indexes);
+        int result = read(() -> {
+            if (employeeStore.get(employee.getEmployeeId()) != employee || !query.matches(employee)) {
+                return -1;
+            }
+            if (!query.hasFilters()) {
+                return index.positionOf(employee, descending);
+            }
+            int[] position = {0};
+            int[] visited = {0};
+            boolean[] found = {false};
+            Predicate<Employee<T>> count = candidate -> {
+                checkCancelled(visited[0]++);
+                if (candidate == employee) {
+                    found[0] = true;
+                    return false;
+                }
+                if (query.matches(candidate)) {
+                    position[0]++;
+                }
+                return true;
+            };
+            index.walk(0, descending, count);
+            return found[0] ? position[0] : -1;
+        });
+        stats.record(DatabaseStats.Operation.POSITION_OF, start, result >= 0 ? 1 : 0);
+        return result;
+    }
+
+    private OrderedIndex indexFor(SortField field) {
+        return switch (field) {
+            case SALARY -> salaryOrder;
+            case PERFORMANCE_RATING -> ratingOrder;
+            case YEARS_OF_EXPERIENCE -> experienceOrder;
+        };
+    }
+
+    private static int indexesFor(EmployeeQuery query) {
+        int indexes = COLUMNS;
+        if (query.hasSalaryRange()) {
+            indexes |= SALARY_INDEX;
+        }
+        if (query.getDepartment() != null) {
+            indexes |= DEPARTMENT_INDEX;
+        }
+        if (query.getTerm() != null) {
+            indexes |= DEPARTMENT_INDEX | NAME_INDEX;
+        }
+        return indexes;
+    }
+
+    // Must be called from read()
+    private QueryPlan plan(EmployeeQuery query) {
+        Map<QueryPlan.Access, Integer> estimates = new EnumMap<>(QueryPlan.Access.class);
+        if (query.hasSalaryRange()) {
+            estimates.put(QueryPlan.Access.SALARY_INDEX, salaryIndex.count(query.minSalaryKey(), query.maxSalaryKey()));
+        }
+        if (query.hasMinimumRating()) {
+            estimates.put(QueryPlan.Access.RATING_BITMAP, columns.countRatingAtLeast(minimumRatingKey(query.getMinRating())));
+        }
+        if (query.getActive() != null) {
+            estimates.put(QueryPlan.Access.ACTIVE_BITMAP, columns.countActive(query.getActive()));
+        }
+        if (query.hasMinimumRating() && query.getActive() != null && columns.size() > 0) {
+            // ANDing the two bitmaps is cheap; estimate its result assuming the filters are independent
+            long both = (long) estimates.get(QueryPlan.Access.RATING_BITMAP) * estimates.get(QueryPlan.Access.ACTIVE_BITMAP);
+            estimates.put(QueryPlan.Access.RATING_AND_ACTIVE_BITMAPS, (int) (both / columns.size()));
+        }
+        if (query.getDepartment() != null) {
+            DepartmentIndex.Partition<T> partition = departmentIndex.get(query.getDepartment());
+            estimates.put(QueryPlan.Access.DEPARTMENT_INDEX, partition == null ? 0 : partition.count());
+        }
+        if (query.getTerm() != null) {
+            estimates.put(QueryPlan.Access.TEXT_INDEX, estimateTerm(query.getTerm()));
+        }
+
+        int total = columns.size();
+        QueryPlan.Access access = QueryPlan.Access.FULL_SCAN;
+        int best = total;
+        for (Map.Entry<QueryPlan.Access, Integer> estimate : estimates.entrySet()) {
+            if (estimate.getValue() < best) {
+                access = estimate.getKey();
+                best = estimate.getValue();
+            }
+        }
+        // Collecting most of the table through an index costs more than one pass over the columns
+        if (access != QueryPlan.Access.FULL_SCAN && (long) best * 2 > total) {
+            access = QueryPlan.Access.FULL_SCAN;
+        }
+        return new QueryPlan(query, access, estimates, total);
+    }
+
+    // Must be called from read()
+    private List<Employee<T>> execute(EmployeeQuery query, QueryPlan.Access access) {
+        int minRatingKey = query.hasMinimumRating() ? minimumRatingKey(query.getMinRating()) : 0;
+        List<Employee<T>> candidates = switch (access) {
+            case FULL_SCAN -> null;
+            case SALARY_INDEX -> salaryIndex.range(query.minSalaryKey(), query.maxSalaryKey());
+            case RATING_BITMAP -> columns.employeesAt(columns.ratingRowsAtLeast(minRatingKey));
+            case ACTIVE_BITMAP -> columns.withActiveStatus(query.getActive());
+            case RATING_AND_ACTIVE_BITMAPS -> columns.employeesAt(
+                    columns.ratingRowsAtLeast(minRatingKey).and(columns.activeRows(query.getActive())));
+            case DEPARTMENT_INDEX -> {
+                DepartmentIndex.Partition<T> partition = departmentIndex.get(query.getDepartment());
+                yield partition == null ? new ArrayList<>() : new ArrayList<>(partition.members());
+            }
+            case TEXT_INDEX -> matchTerm(query.getTerm());
+        };
+        List<Employee<T>> result = new ArrayList<>();
+        if (candidates == null) {
+            for (int row = 0; row < columns.size(); row++) {
+                checkCancelled(row);
+                if (matchesRow(query, access, row)) {
+                    result.add(columns.employee(row));
+                }
+            }
+            return result;
+        }
+        for (int i = 0; i < candidates.size(); i++) {
+            checkCancelled(i);
+            Employee<T> employee = candidates.get(i);
+            if (matchesEmployee(query, access, employee)) {
+                result.add(employee);
+            }
+        }
+        return result;
+    }
+
+    // Same as execute(query, access).size(), without collecting the matches: a path that
+    // covers every filter is counted off its index, any other is walked and checked in place.
+    // Only a term query still builds its candidate list, which the trigram search produces.
+    // Must be called from read().
+    private int countMatches(EmployeeQuery query, QueryPlan.Access access) {
+        int minRatingKey = query.hasMinimumRating() ? minimumRatingKey(query.getMinRating()) : 0;
+        boolean covered = query.coveredBy(access);
+        int[] count = {0};
+        int[] visited = {0};
+        IntPredicate countRow = row -> {
+            checkCancelled(visited[0]++);
+            if (covered || matchesRow(query, access, row)) {
+                count[0]++;
+            }
+            return true;
+        };
+        Predicate<Employee<T>> countEmployee = employee -> {
+            checkCancelled(visited[0]++);
+            if (matchesEmployee(query, access, employee)) {
+                count[0]++;
+            }
+            return true;
+        };
+        switch (access) {
+            case FULL_SCAN -> {
+                for (int row = 0; row < columns.size(); row++) {
+                    countRow.test(row);
+                }
+            }
+            case SALARY_INDEX -> {
+                if (covered) {
+                    return salaryIndex.count(query.minSalaryKey(), query.maxSalaryKey());
+                }
+                salaryIndex.forEachInRange(query.minSalaryKey(), query.maxSalaryKey(), countEmployee);
+            }
+            case RATING_BITMAP -> {
+                if (covered) {
+                    return columns.countRatingAtLeast(minRatingKey);
+                }
+                columns.forEachRowWithRatingAtLeast(minRatingKey, countRow);
+            }
+            case ACTIVE_BITMAP -> {
+                if (covered) {
+                    return columns.countActive(query.getActive());
+                }
+                columns.forEachRowWithActive(query.getActive(), countRow);
+            }
+            case RATING_AND_ACTIVE_BITMAPS -> {
+                boolean active = query.getActive();
+                columns.forEachRowWithRatingAtLeast(minRatingKey, row -> columns.isActive(row) != active || countRow.test(row));
+            }
+            case DEPARTMENT_INDEX -> {
+                DepartmentIndex.Partition<T> partition = departmentIndex.get(query.getDepartment());
+                if (partition == null || covered) {
+                    return partition == null ? 0 : partition.count();
+                }
+                for (Employee<T> employee : partition.members()) {
+                    countEmployee.test(employee);
+                }
+            }
+            case TEXT_INDEX -> {
+                List<Employee<T>> candidates = matchTerm(query.getTerm());
+                for (int i = 0; i < candidates.size(); i++) {
+                    countEmployee.test(candidates.get(i));
+                }
+            }
+        }
+        return count[0];
+    }
+
+    private boolean matchesRow(EmployeeQuery query, QueryPlan.Access access, int row) {
+        return query.matches(access, columns.salaryCents(row), columns.ratingTenths(row),
+                columns.isActive(row), columns.name(row), columns.department(row));
+    }
+
+    private boolean matchesEmployee(EmployeeQuery query, QueryPlan.Access access, Employee<T> employee) {
+        return query.matches(access, employee.getSalaryCents(), employee.getPerformanceRatingTenths(),
+                employee.isActive(), employee.getName(), employee.getDepartment());
+    }
+
+    // Long scans check every CANCEL_CHECK_INTERVAL rows whether their thread was interrupted,
+    // so a query nobody waits for any more (see Future.cancel) stops early
+    private static void checkCancelled(int visited) {
+        if ((visited & (CANCEL_CHECK_INTERVAL - 1)) == 0 && Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Query cancelled.");
+        }
+    }
+
+    private static int minimumRatingKey(double minRating) {
+        return EmployeeColumns.minimumRatingKey(minRating);
+    }
+
+    // An index that orders the employees by one sort field, with the lazy index it needs built.
+    // Must be used under the read or write lock.
+    private abstract class OrderedIndex {
+        private final int indexes;
+
+        OrderedIndex(int indexes) {
+            this.indexes = indexes;
+        }
+
+        // Up to limit employees from the low end, or from the high end when descending
+        abstract List<Employee<T>> first(int limit, boolean descending);
+
+        // Visits employees in order from the given position until the visitor returns false;
+        // returns true if the walk reached the end
+        abstract boolean walk(int from, boolean descending, Predicate<Employee<T>> visitor);
+
+        // Position of the employee in that order, or -1 if the index does not hold it
+        abstract int positionOf(Employee<T> employee, boolean descending);
+    }
+
+    // Applies field changes made directly on a stored employee to the indexes. The old values
+    // come from the employee's row, which always matches what the indexes hold.
+    private final class IndexMaintainer implements EmployeeChangeListener<T> {
+        @Override
+        public void nameChanged(Employee<T> employee, String oldName, String newName) {
+            write(employee, EmployeeField.NAME, () -> {
+                columns.setName(columns.rowOf(employee), newName);
+                nameIndex.update(newName, employee);
+            });
+        }
+
+        @Override
+        public void departmentChanged(Employee<T> employee, String oldDepartment, String newDepartment) {
+            write(employee, EmployeeField.DEPARTMENT, () -> {
+                int row = columns.rowOf(employee);
+                departmentIndex.moveDepartment(columns.department(row), newDepartment, columns.salaryCents(row), employee);
+                columns.setDepartment(row, newDepartment);
+            });
+        }
+
+        @Override
+        public void salaryChanged(Employee<T> employee, double oldSalary, double newSalary) {
+            // Employee reports whole-cent values, so this converts back exactly
+            long newCents = Employee.toCents(newSalary);
+            write(employee, EmployeeField.SALARY, () -> {
+                int row = columns.rowOf(employee);
+                long oldCents = columns.salaryCents(row);
+                salaryIndex.update(oldCents, newCents, employee);
+                departmentIndex.updateSalary(columns.department(row), oldCents, newCents, employee);
+                columns.setSalaryCents(row, newCents);
+            });
+        }
+
+        @Override
+        public void performanceRatingChanged(Employee<T> employee, double oldRating, double newRating) {
+            write(employee, EmployeeField.PERFORMANCE_RATING, () -> {
+                columns.setRatingTenths(columns.rowOf(employee), Employee.toTenths(newRating));
+            });
+        }
+
+        @Override
+        public void yearsOfExperienceChanged(Employee<T> employee, int oldYears, int newYears) {
+            write(employee, EmployeeField.YEARS_OF_EXPERIENCE, () -> {
+                int row = columns.rowOf(employee);
+                experienceIndex.update(columns.yearsOfExperience(row), newYears, employee);
+                columns.setYearsOfExperience(row, newYears);
+            });
+        }
+
+        @Override
+        public void activeChanged(Employee<T> employee, boolean active) {
+            write(employee, EmployeeField.ACTIVE, () -> columns.setActive(columns.rowOf(employee), active));
+        }
+
+        @Override
+        public void profilePictureChanged(Employee<T> employee, String oldPicture, String newPicture) {
+            write(employee, EmployeeField.PROFILE_PICTURE, () -> columns.setPicture(columns.rowOf(employee), newPicture));
+        }
     }
 
     // Iterator to traverse all employees
     public Iterator<Employee<T>> getEmployeeIterator() {
-        return employeeMap.values().iterator();
+        return getAllEmployees().iterator();
     }
 
 
     // Display employees using a for-each loop
     public void displayEmployeesForEach() {
-        System.out.println("Employee Details (For-Each Loop):");
-        System.out.println("------------------------------------------------------------");
-        for (Employee<T> employee : employeeMap.values()) {
-            System.out.printf("ID: %-10s Name: %-15s Department: %-10s Salary: $%-10.2f%n",
-                    employee.getEmployeeId(), employee.getName(), employee.getDepartment(), employee.getSalary());
-        }
-        System.out.println("------------------------------------------------------------");
+        displayEmployees("Employee Details (For-Each Loop):");
     }
 
     // Display employees using Stream API
     public void displayEmployeesStream() {
-        System.out.println("Employee Details (Stream API):");
+        displayEmployees("Employee Details (Stream API):");
+    }
+
+    // Both displays stream the fixed-width report through one buffered writer instead of
+    // formatting every row separately
+    private void displayEmployees(String title) {
+        System.out.println(title);
         System.out.println("------------------------------------------------------------");
-        String report = employeeMap.values().stream()
-                .map(employee -> String.format("ID: %-10s Name: %-15s Department: %-10s Salary: $%-10.2f",
-                        employee.getEmployeeId(), employee.getName(), employee.getDepartment(), employee.getSalary()))
-                .collect(Collectors.joining("\n"));
-        System.out.println(report);
+        try {
+            Writer out = new OutputStreamWriter(System.out, Charset.defaultCharset());
+            new EmployeeReportWriter(EmployeeReportWriter.Format.FIXED_WIDTH).write(employeeStore.values(), out);
+        } catch (IOException e) {
+            System.err.println("Error displaying employees: " + e.getMessage());
+        }
         System.out.println("------------------------------------------------------------");
     }
-}
\ No newline at end of file
+}
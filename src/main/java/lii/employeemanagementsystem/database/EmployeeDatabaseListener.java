@@ -0,0 +1,38 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.model.Employee;
+import lii.employeemanagementsystem.model.EmployeeField;
+
+import java.util.List;
+
+// Notified by EmployeeDatabase for every committed change, in commit order.
+// Callbacks run on the thread that made the change while it still holds the database
+// write lock, so they must be quick and must not call back into the database.
+public interface EmployeeDatabaseListener<T> {
+    default void employeeAdded(Employee<T> employee) {
+    }
+
+    default void employeeRemoved(Employee<T> employee) {
+    }
+
+    // A field of a stored employee changed, either through the database or directly on the employee
+    default void employeeUpdated(Employee<T> employee, EmployeeField<?> field) {
+    }
+
+    // One event for an updateMany, which set the field to the same value on every employee
+    // listed. By default it is reported as one update per employee.
+    default void employeesUpdated(List<Employee<T>> employees, EmployeeField<?> field) {
+        for (Employee<T> employee : employees) {
+            employeeUpdated(employee, field);
+        }
+    }
+
+    // A department gained its first employee or lost its last one; departments is the new
+    // list, in alphabetical order
+    default void departmentsChanged(List<String> departments) {
+    }
+
+    // One event for the whole raise, however many employees it touched
+    default void salaryRaiseApplied(RaiseSummary<T> summary) {
+    }
+}
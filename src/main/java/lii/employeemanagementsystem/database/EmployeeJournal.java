@@ -0,0 +1,556 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.model.Employee;
+import lii.employeemanagementsystem.model.EmployeeField;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+// Append-only write-ahead log of an EmployeeDatabase's changes, with periodic snapshots.
+//
+// Changes are encoded into an in-memory buffer while the database applies them, so a UI
+// mutation never waits for the disk. A background thread writes the buffer out and fsyncs
+// it every syncInterval (group commit); sync() does the same on demand. Once enough records
+// have been logged a snapshot of the whole database is written and the log segments it
+// replaces are deleted. open() loads the latest snapshot and replays the log after it; a
+// record torn by a crash at the end of the log is detected by its checksum and dropped.
+//
+// Files in the directory: wal-<generation>.log segments and snapshot-<generation>.dat,
+// where a snapshot holds the state at the start of the segment with the same generation.
+public class EmployeeJournal<T> implements EmployeeDatabaseListener<T>, Closeable {
+    public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 50;
+    public static final int DEFAULT_SNAPSHOT_THRESHOLD = 10_000;
+
+    private static final int LOG_MAGIC = 0x454D504C; // "EMPL"
+    private static final int LOG_HEADER_SIZE = 12;
+    private static final String LOG_PREFIX = "wal-";
+    private static final String LOG_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".dat";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final byte ADD = 1;
+    private static final byte REMOVE = 2;
+    private static final byte UPDATE = 3;
+    private static final byte RAISE = 4;
+    private static final byte UPDATE_MANY = 5;
+
+    private final Path directory;
+    private final IdCodec<T> idCodec;
+    private final long syncIntervalMillis;
+    private final int snapshotThreshold;
+
+    // Encoded records waiting to be written
+    private final Object appendLock = new Object();
+    private final RecordBuffer record = new RecordBuffer();
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+    private final CRC32 checksum = new CRC32();
+    private RecordBuffer pending = new RecordBuffer();
+    private int recordsSinceSnapshot;
+
+    // Guards the log file; whoever flushes swaps pending with spare
+    private final Object flushLock = new Object();
+    private RecordBuffer spare = new RecordBuffer();
+    private FileChannel log;
+    private long generation;
+
+    private EmployeeDatabase<T> database;
+    private ScheduledExecutorService flusher;
+
+    public EmployeeJournal(Path directory, IdCodec<T> idCodec) {
+        this(directory, idCodec, DEFAULT_SYNC_INTERVAL_MILLIS, DEFAULT_SNAPSHOT_THRESHOLD);
+    }
+
+    public EmployeeJournal(Path directory, IdCodec<T> idCodec, long syncIntervalMillis, int snapshotThreshold) {
+        if (directory == null || idCodec == null) {
+            throw new IllegalArgumentException("Journal directory and ID codec cannot be null.");
+        }
+        if (syncIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Sync interval must be positive.");
+        }
+        if (snapshotThreshold <= 0) {
+            throw new IllegalArgumentException("Snapshot threshold must be positive.");
+        }
+        this.directory = directory;
+        this.idCodec = idCodec;
+        this.syncIntervalMillis = syncIntervalMillis;
+        this.snapshotThreshold = snapshotThreshold;
+    }
+
+    // Recovers the journaled state into an empty database, then starts logging its changes
+    public void open(EmployeeDatabase<T> database) throws IOException {
+        if (this.database != null) {
+            throw new IllegalStateException("Journal is already open.");
+        }
+        if (!database.getAllEmployees().isEmpty()) {
+            throw new IllegalStateException("Journal must be opened on an empty database.");
+        }
+        Files.createDirectories(directory);
+
+        long snapshotGeneration = loadLatestSnapshot(database);
+        generation = snapshotGeneration;
+        long validLength = 0;
+        int replayed = 0;
+        for (long segment : generations(LOG_PREFIX, LOG_SUFFIX)) {
+            if (segment < snapshotGeneration) {
+                continue;
+            }
+            SegmentReplay replay = replaySegment(database, segment);
+            generation = segment;
+            validLength = replay.validLength;
+            replayed += replay.records;
+            if (!replay.complete) {
+                // Anything after a torn record cannot be trusted
+                break;
+            }
+        }
+        deleteStaleFiles(snapshotGeneration, generation);
+        log = openSegment(generation, validLength);
+        synchronized (appendLock) {
+            recordsSinceSnapshot = replayed;
+        }
+
+        this.database = database;
+        database.addDatabaseListener(this);
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushInBackground, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Writes every change recorded so far to the log and waits for the fsync
+    public void sync() throws IOException {
+        synchronized (flushLock) {
+            ensureOpen();
+            writeRecords(takePending());
+        }
+    }
+
+    // Swaps out the records logged so far. The caller holds flushLock and must hand the
+    // batch to writeRecords, which returns its buffer as the spare.
+    private RecordBuffer takePending() {
+        synchronized (appendLock) {
+            RecordBuffer batch = pending;
+            pending = spare;
+            return batch;
+        }
+    }
+
+    // Writes a batch to the current segment and fsyncs it; the caller holds flushLock
+    private void writeRecords(RecordBuffer batch) throws IOException {
+        try {
+            if (batch.size() == 0) {
+                return;
+            }
+            ByteBuffer bytes = ByteBuffer.wrap(batch.array(), 0, batch.size());
+            while (bytes.hasRemaining()) {
+                log.write(bytes);
+            }
+            log.force(false);
+        } finally {
+            batch.reset();
+            spare = batch;
+        }
+    }
+
+    // Writes the whole database to a new snapshot and deletes the log segments it replaces
+    public void snapshot() throws IOException {
+        synchronized (flushLock) {
+            ensureOpen();
+            // Nothing can be logged while the read lock is held, so the records taken here are
+            // exactly those before the copied state, and anything logged after the lock is
+            // released belongs to the new segment. Only the swap and an in-memory copy of the
+            // rows happen under the lock; writers never wait for the disk.
+            RecordBuffer[] earlier = new RecordBuffer[1];
+            EmployeeColumns.Rows<T> rows = database.underReadLock(() -> {
+                earlier[0] = takePending();
+                synchronized (appendLock) {
+                    recordsSinceSnapshot = 0;
+                }
+                return database.copyRows();
+            });
+
+            writeRecords(earlier[0]);
+            log.close();
+            generation++;
+            log = openSegment(generation, 0);
+            EmployeeSnapshot<T> snapshot = EmployeeSnapshot.of(generation, rows);
+            Path temp = directory.resolve(fileName(SNAPSHOT_PREFIX, snapshot.generation(), SNAPSHOT_SUFFIX + TEMP_SUFFIX));
+            snapshot.write(temp, idCodec);
+            Files.move(temp, directory.resolve(fileName(SNAPSHOT_PREFIX, snapshot.generation(), SNAPSHOT_SUFFIX)),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            forceDirectory();
+            deleteStaleFiles(generation, generation);
+        }
+    }
+
+    // Stops logging and writes out whatever is still buffered
+    @Override
+    public void close() throws IOException {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flusher = null;
+        database.removeDatabaseListener(this);
+        synchronized (flushLock) {
+            try {
+                sync();
+            } finally {
+                log.close();
+                log = null;
+                database = null;
+            }
+        }
+    }
+
+    @Override
+    public void employeeAdded(Employee<T> employee) {
+        append(ADD, out -> writeEmployee(out, employee));
+    }
+
+    @Override
+    public void employeeRemoved(Employee<T> employee) {
+        append(REMOVE, out -> idCodec.write(out, employee.getEmployeeId()));
+    }
+
+    @Override
+    public void employeeUpdated(Employee<T> employee, EmployeeField<?> field) {
+        append(UPDATE, out -> {
+            idCodec.write(out, employee.getEmployeeId());
+            out.writeByte(EmployeeField.values().indexOf(field));
+            writeValue(out, field, employee);
+        });
+    }
+
+    // One record for the whole batch: the field, its value (the same on every employee) and the IDs
+    @Override
+    public void employeesUpdated(List<Employee<T>> employees, EmployeeField<?> field) {
+        append(UPDATE_MANY, out -> {
+            out.writeByte(EmployeeField.values().indexOf(field));
+            writeValue(out, field, employees.get(0));
+            out.writeInt(employees.size());
+            for (Employee<T> employee : employees) {
+                idCodec.write(out, employee.getEmployeeId());
+            }
+        });
+    }
+
+    // A raise is replayed from its parameters; on the same state it selects the same employees
+    @Override
+    public void salaryRaiseApplied(RaiseSummary<T> summary) {
+        append(RAISE, out -> {
+            out.writeDouble(summary.getPercentage());
+            out.writeDouble(summary.getMinRating());
+        });
+    }
+
+    // Record layout: length, CRC32 of the payload, payload (type byte followed by the data)
+    private void append(byte type, RecordBody body) {
+        synchronized (appendLock) {
+            record.reset();
+            try {
+                recordOut.writeByte(type);
+                body.write(recordOut);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            checksum.reset();
+            checksum.update(record.array(), 0, record.size());
+            pending.writeInt(record.size());
+            pending.writeInt((int) checksum.getValue());
+            pending.write(record.array(), 0, record.size());
+            recordsSinceSnapshot++;
+        }
+    }
+
+    private void flushInBackground() {
+        try {
+            sync();
+            boolean snapshotDue;
+            synchronized (appendLock) {
+                snapshotDue = recordsSinceSnapshot >= snapshotThreshold;
+            }
+            if (snapshotDue) {
+                snapshot();
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error writing employee journal: " + e.getMessage());
+        }
+    }
+
+    private void ensureOpen() {
+        if (log == null) {
+            throw new IllegalStateException("Journal is not open.");
+        }
+    }
+
+    private long loadLatestSnapshot(EmployeeDatabase<T> database) throws IOException {
+        List<Long> snapshots = generations(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            long snapshotGeneration = snapshots.get(i);
+            Employee<T>[] employees = EmployeeSnapshot.read(
+                    directory.resolve(fileName(SNAPSHOT_PREFIX, snapshotGeneration, SNAPSHOT_SUFFIX)), snapshotGeneration, idCodec);
+            if (employees != null) {
+                database.restore(employees);
+                return snapshotGeneration;
+            }
+            System.err.println("Error loading snapshot " + snapshotGeneration + ": file is damaged, trying an older one.");
+        }
+        return 0;
+    }
+
+    private SegmentReplay replaySegment(EmployeeDatabase<T> database, long segment) throws IOException {
+        byte[] data = Files.readAllBytes(directory.resolve(fileName(LOG_PREFIX, segment, LOG_SUFFIX)));
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        if (data.length < LOG_HEADER_SIZE || buffer.getInt() != LOG_MAGIC || buffer.getLong() != segment) {
+            return new SegmentReplay(0, 0, false);
+        }
+        CRC32 crc = new CRC32();
+        int records = 0;
+        while (buffer.remaining() >= 8) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int expected = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                buffer.position(start);
+                break;
+            }
+            crc.reset();
+            crc.update(data, buffer.position(), length);
+            if ((int) crc.getValue() != expected) {
+                buffer.position(start);
+                break;
+            }
+            applyRecord(database, new DataInputStream(new ByteArrayInputStream(data, buffer.position(), length)));
+            buffer.position(buffer.position() + length);
+            records++;
+        }
+        return new SegmentReplay(records, buffer.position(), buffer.position() == data.length);
+    }
+
+    private void applyRecord(EmployeeDatabase<T> database, DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        try {
+            switch (type) {
+                case ADD -> database.addEmployee(readEmployee(in));
+                case REMOVE -> database.removeEmployee(idCodec.read(in));
+                case UPDATE -> {
+                    T employeeId = idCodec.read(in);
+                    EmployeeField<?> field = EmployeeField.values().get(in.readUnsignedByte());
+                    database.updateEmployeeDetails(employeeId, field.getName(), readValue(in, field));
+                }
+                case RAISE -> database.giveSalaryRaise(in.readDouble(), in.readDouble());
+                case UPDATE_MANY -> {
+                    EmployeeField<?> field = EmployeeField.values().get(in.readUnsignedByte());
+                    Object value = readValue(in, field);
+                    int count = in.readInt();
+                    List<T> employeeIds = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        employeeIds.add(idCodec.read(in));
+                    }
+                    updateMany(database, employeeIds, field, value);
+                }
+                default -> throw new IOException("Unknown journal record type " + type);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Error replaying journal record: " + e.getMessage());
+        }
+    }
+
+    private FileChannel openSegment(long segment, long validLength) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(fileName(LOG_PREFIX, segment, LOG_SUFFIX)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (validLength < LOG_HEADER_SIZE) {
+            channel.truncate(0);
+            ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_SIZE).putInt(LOG_MAGIC).putLong(segment).flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            channel.force(true);
+            forceDirectory();
+        } else {
+            channel.truncate(validLength);
+            channel.position(validLength);
+        }
+        return channel;
+    }
+
+    // Removes files older than the snapshot in use, segments past the last usable one,
+    // damaged newer snapshots and leftover temporary files
+    private void deleteStaleFiles(long snapshotGeneration, long lastSegment) throws IOException {
+        for (long segment : generations(LOG_PREFIX, LOG_SUFFIX)) {
+            if (segment < snapshotGeneration || segment > lastSegment) {
+                Files.deleteIfExists(directory.resolve(fileName(LOG_PREFIX, segment, LOG_SUFFIX)));
+            }
+        }
+        for (long snapshot : generations(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (snapshot != snapshotGeneration) {
+                Files.deleteIfExists(directory.resolve(fileName(SNAPSHOT_PREFIX, snapshot, SNAPSHOT_SUFFIX)));
+            }
+        }
+        try (DirectoryStream<Path> temps = Files.newDirectoryStream(directory, "*" + TEMP_SUFFIX)) {
+            for (Path temp : temps) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private List<Long> generations(String prefix, String suffix) throws IOException {
+        List<Long> generations = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*" + suffix)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    generations.add(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())));
+                } catch (NumberFormatException e) {
+                    // Not one of ours
+                }
+            }
+        }
+        Collections.sort(generations);
+        return generations;
+    }
+
+    private static String fileName(String prefix, long fileGeneration, String suffix) {
+        return prefix + String.format("%016d", fileGeneration) + suffix;
+    }
+
+    // Makes a rename or file creation durable; not every platform can fsync a directory
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Best effort only
+        }
+    }
+
+    private void writeEmployee(DataOutput out, Employee<T> employee) throws IOException {
+        idCodec.write(out, employee.getEmployeeId());
+        writeString(out, employee.getName());
+        writeString(out, employee.getDepartment());
+        out.writeLong(employee.getSalaryCents());
+        out.writeInt(employee.getPerformanceRatingTenths());
+        out.writeInt(employee.getYearsOfExperience());
+        out.writeBoolean(employee.isActive());
+        writeString(out, employee.getProfilePicture());
+    }
+
+    private Employee<T> readEmployee(DataInput in) throws IOException {
+        return new Employee<>(idCodec.read(in), readString(in), readString(in), in.readLong() / 100.0, in.readInt() / 10.0,
+                in.readInt(), in.readBoolean(), readString(in));
+    }
+
+    private static <T, V> void updateMany(EmployeeDatabase<T> database, List<T> employeeIds, EmployeeField<V> field,
+                                          Object value) {
+        database.updateMany(employeeIds, field, field.cast(value));
+    }
+
+    // Salaries and ratings are written in the fixed point the employee keeps them in: cents and tenths
+    private static void writeValue(DataOutput out, EmployeeField<?> field, Employee<?> employee) throws IOException {
+        if (field == EmployeeField.SALARY) {
+            out.writeLong(employee.getSalaryCents());
+        } else if (field == EmployeeField.PERFORMANCE_RATING) {
+            out.writeInt(employee.getPerformanceRatingTenths());
+        } else if (field instanceof EmployeeField.IntField intField) {
+            out.writeInt(intField.getInt(employee));
+        } else if (field instanceof EmployeeField.BooleanField booleanField) {
+            out.writeBoolean(booleanField.getBoolean(employee));
+        } else {
+            writeString(out, (String) field.get(employee));
+        }
+    }
+
+    private static Object readValue(DataInput in, EmployeeField<?> field) throws IOException {
+        if (field == EmployeeField.SALARY) {
+            return in.readLong() / 100.0;
+        } else if (field == EmployeeField.PERFORMANCE_RATING) {
+            return in.readInt() / 10.0;
+        } else if (field instanceof EmployeeField.IntField) {
+            return in.readInt();
+        } else if (field instanceof EmployeeField.BooleanField) {
+            return in.readBoolean();
+        }
+        return readString(in);
+    }
+
+    // Length-prefixed UTF-8, -1 for null
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private interface RecordBody {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static final class SegmentReplay {
+        private final int records;
+        private final long validLength;
+        private final boolean complete;
+
+        private SegmentReplay(int records, long validLength, boolean complete) {
+            this.records = records;
+            this.validLength = validLength;
+            this.complete = complete;
+        }
+    }
+
+    // Exposes its backing array so records can be copied without an intermediate array
+    private static final class RecordBuffer extends ByteArrayOutputStream {
+        byte[] array() {
+            return buf;
+        }
+
+        void writeInt(int value) {
+            write(value >>> 24);
+            write(value >>> 16);
+            write(value >>> 8);
+            write(value);
+        }
+    }
+}
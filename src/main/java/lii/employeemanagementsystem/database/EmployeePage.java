@@ -0,0 +1,33 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.model.Employee;
+
+import java.util.Collections;
+import java.util.List;
+
+// One page returned by EmployeeDatabase.getPage. getNextPosition() is where the next page's
+// walk starts, so pages can be read one after another like a cursor.
+public class EmployeePage<T> {
+    private final List<Employee<T>> employees;
+    private final int nextPosition;
+    private final boolean last;
+
+    public EmployeePage(List<Employee<T>> employees, int nextPosition, boolean last) {
+        this.employees = Collections.unmodifiableList(employees);
+        this.nextPosition = nextPosition;
+        this.last = last;
+    }
+
+    public List<Employee<T>> getEmployees() {
+        return employees;
+    }
+
+    public int getNextPosition() {
+        return nextPosition;
+    }
+
+    // Whether the walk reached the end, so there is no next page
+    public boolean isLast() {
+        return last;
+    }
+}
@@ -0,0 +1,229 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.customExceptions.InvalidSalaryException;
+import lii.employeemanagementsystem.model.Employee;
+import lii.employeemanagementsystem.model.EmployeeField;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// A combination of employee filters, all of which must match. Built with EmployeeQuery.builder()
+// and run by EmployeeDatabase.query, which starts from the most selective index and checks
+// the remaining filters on that candidate set only.
+public final class EmployeeQuery {
+    private final boolean hasSalaryRange;
+    private final double minSalary;
+    private final double maxSalary;
+    private final boolean hasMinimumRating;
+    private final double minRating;
+    private final Boolean active;
+    private final String department;
+    private final String term;
+    private final int minRatingKey;
+    private final long minSalaryKey;
+    private final long maxSalaryKey;
+
+    private EmployeeQuery(Builder builder) {
+        this.hasSalaryRange = builder.hasSalaryRange;
+        this.minSalary = builder.minSalary;
+        this.maxSalary = builder.maxSalary;
+        this.hasMinimumRating = builder.hasMinimumRating;
+        this.minRating = builder.minRating;
+        this.active = builder.active;
+        this.department = builder.department;
+        this.term = builder.term;
+        this.minRatingKey = hasMinimumRating ? EmployeeColumns.minimumRatingKey(minRating) : 0;
+        this.minSalaryKey = hasSalaryRange ? EmployeeColumns.minimumSalaryKey(minSalary) : 0;
+        this.maxSalaryKey = hasSalaryRange ? EmployeeColumns.maximumSalaryKey(maxSalary) : 0;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean hasFilters() {
+        return hasSalaryRange || hasMinimumRating || active != null || department != null || term != null;
+    }
+
+    public boolean hasSalaryRange() {
+        return hasSalaryRange;
+    }
+
+    public double getMinSalary() {
+        return minSalary;
+    }
+
+    public double getMaxSalary() {
+        return maxSalary;
+    }
+
+    // The salary range in cents, as the salary index and columns are keyed
+    long minSalaryKey() {
+        return minSalaryKey;
+    }
+
+    long maxSalaryKey() {
+        return maxSalaryKey;
+    }
+
+    public boolean hasMinimumRating() {
+        return hasMinimumRating;
+    }
+
+    public double getMinRating() {
+        return minRating;
+    }
+
+    // null when either status matches
+    public Boolean getActive() {
+        return active;
+    }
+
+    // null when any department matches
+    public String getDepartment() {
+        return department;
+    }
+
+    // The case-folded search term, or null when there is none
+    public String getTerm() {
+        return term;
+    }
+
+    // Whether the employee passes every filter, checked against its current values
+    public boolean matches(Employee<?> employee) {
+        return matches(QueryPlan.Access.FULL_SCAN, employee.getSalaryCents(), employee.getPerformanceRatingTenths(),
+                employee.isActive(), employee.getName(), employee.getDepartment());
+    }
+
+    // Whether every candidate from the access path matches, with no filter left to check
+    boolean coveredBy(QueryPlan.Access access) {
+        return (!hasSalaryRange || access.covers(QueryPlan.Access.SALARY_INDEX))
+                && (!hasMinimumRating || access.covers(QueryPlan.Access.RATING_BITMAP))
+                && (active == null || access.covers(QueryPlan.Access.ACTIVE_BITMAP))
+                && (department == null || access.covers(QueryPlan.Access.DEPARTMENT_INDEX))
+                && (term == null || access.covers(QueryPlan.Access.TEXT_INDEX));
+    }
+
+    // Whether a change to the field can change which employees match
+    public boolean dependsOn(EmployeeField<?> field) {
+        return (field == EmployeeField.SALARY && hasSalaryRange)
+                || (field == EmployeeField.PERFORMANCE_RATING && hasMinimumRating)
+                || (field == EmployeeField.ACTIVE && active != null)
+                || (field == EmployeeField.DEPARTMENT && (department != null || term != null))
+                || (field == EmployeeField.NAME && term != null);
+    }
+
+    // Checks every filter except the ones the access path already guarantees
+    boolean matches(QueryPlan.Access access, long salaryCents, int ratingTenths, boolean active, String name, String department) {
+        if (hasSalaryRange && !access.covers(QueryPlan.Access.SALARY_INDEX)
+                && (salaryCents < minSalaryKey || salaryCents > maxSalaryKey)) {
+            return false;
+        }
+        if (hasMinimumRating && !access.covers(QueryPlan.Access.RATING_BITMAP)
+                && ratingTenths < minRatingKey) {
+            return false;
+        }
+        if (this.active != null && !access.covers(QueryPlan.Access.ACTIVE_BITMAP) && active != this.active) {
+            return false;
+        }
+        if (this.department != null && !access.covers(QueryPlan.Access.DEPARTMENT_INDEX)
+                && !this.department.equals(department)) {
+            return false;
+        }
+        return term == null || access.covers(QueryPlan.Access.TEXT_INDEX)
+                || (name != null && TrigramIndex.fold(name).contains(term))
+                || (department != null && TrigramIndex.fold(department).contains(term));
+    }
+
+    // Each filter keyed by the access path that can serve it, in a fixed order
+    Map<QueryPlan.Access, String> filters() {
+        Map<QueryPlan.Access, String> filters = new LinkedHashMap<>();
+        if (hasSalaryRange) {
+            filters.put(QueryPlan.Access.SALARY_INDEX, "salary in [" + minSalary + ", " + maxSalary + "]");
+        }
+        if (hasMinimumRating) {
+            filters.put(QueryPlan.Access.RATING_BITMAP, "rating >= " + minRating);
+        }
+        if (active != null) {
+            filters.put(QueryPlan.Access.ACTIVE_BITMAP, "active = " + active);
+        }
+        if (department != null) {
+            filters.put(QueryPlan.Access.DEPARTMENT_INDEX, "department = '" + department + "'");
+        }
+        if (term != null) {
+            filters.put(QueryPlan.Access.TEXT_INDEX, "name or department contains '" + term + "'");
+        }
+        return filters;
+    }
+
+    @Override
+    public String toString() {
+        Map<QueryPlan.Access, String> filters = filters();
+        return filters.isEmpty() ? "all employees" : String.join(" AND ", filters.values());
+    }
+
+    public static final class Builder {
+        private boolean hasSalaryRange;
+        private double minSalary;
+        private double maxSalary;
+        private boolean hasMinimumRating;
+        private double minRating;
+        private Boolean active;
+        private String department;
+        private String term;
+
+        private Builder() {
+        }
+
+        // Same checks as searchBySalaryRange
+        public Builder salaryBetween(double minSalary, double maxSalary) {
+            if (minSalary < 0 || maxSalary < 0) {
+                throw new InvalidSalaryException("Salary cannot be negative.");
+            }
+            if (minSalary > maxSalary) {
+                throw new InvalidSalaryException("Minimum salary cannot be greater than maximum salary.");
+            }
+            this.hasSalaryRange = true;
+            this.minSalary = minSalary;
+            this.maxSalary = maxSalary;
+            return this;
+        }
+
+        public Builder minimumRating(double minRating) {
+            if (minRating < 0 || minRating > 5) {
+                throw new IllegalArgumentException("Performance rating must be between 0 and 5.");
+            }
+            this.hasMinimumRating = true;
+            this.minRating = minRating;
+            return this;
+        }
+
+        public Builder active(boolean active) {
+            this.active = active;
+            return this;
+        }
+
+        // Exact department name
+        public Builder department(String department) {
+            if (department == null) {
+                throw new IllegalArgumentException("Department cannot be null.");
+            }
+            this.department = department;
+            return this;
+        }
+
+        // Same matching as searchByTerm; an empty term adds no filter
+        public Builder matching(String searchTerm) {
+            if (searchTerm == null) {
+                throw new IllegalArgumentException("Search term cannot be null.");
+            }
+            String folded = TrigramIndex.fold(searchTerm);
+            this.term = folded.isEmpty() ? null : folded;
+            return this;
+        }
+
+        public EmployeeQuery build() {
+            return new EmployeeQuery(this);
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.model.Employee;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+// Streams employee reports as fixed-width text, CSV or JSON. Rows are formatted straight into
+// one reusable character buffer, which is handed to the target whenever it fills up, so a
+// report of any length runs in constant memory. Numbers are written digit by digit rather
+// than through String.format. An instance can write any number of reports, one at a time.
+//
+// CSV and JSON use the same column names as EmployeeImporter, so exported files import again.
+public class EmployeeReportWriter {
+    public enum Format {
+        FIXED_WIDTH, CSV, JSON
+    }
+
+    private static final int BUFFER_SIZE = 8192;
+    // Longest fixed-size piece appended in one go: a number or a JSON escape
+    private static final int MAX_TOKEN = 32;
+    private static final String CSV_HEADER =
+            "employeeId,name,department,salary,performanceRating,yearsOfExperience,active,profilePicture\n";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Format format;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int length;
+    private Sink sink;
+    private CharsetEncoder encoder;
+    private ByteBuffer bytes;
+
+    // Receives the buffered characters; returns how many it consumed
+    private interface Sink {
+        int drain(char[] chars, int count, boolean endOfInput) throws IOException;
+    }
+
+    public EmployeeReportWriter(Format format) {
+        this.format = format;
+    }
+
+    // Writes the report and flushes out without closing it. Returns the number of rows.
+    public long write(Iterable<? extends Employee<?>> employees, Writer out) throws IOException {
+        return write(employees, (chars, count, endOfInput) -> {
+            out.write(chars, 0, count);
+            if (endOfInput) {
+                out.flush();
+            }
+            return count;
+        });
+    }
+
+    // Writes the report as UTF-8 without closing the channel. Returns the number of rows.
+    public long write(Iterable<? extends Employee<?>> employees, WritableByteChannel out) throws IOException {
+        if (encoder == null) {
+            encoder = StandardCharsets.UTF_8.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            bytes = ByteBuffer.allocate(BUFFER_SIZE * 3);
+        }
+        encoder.reset();
+        return write(employees, (chars, count, endOfInput) -> {
+            // A high surrogate at the end of the buffer stays behind until its pair arrives
+            CharBuffer in = CharBuffer.wrap(chars, 0, count);
+            CoderResult result;
+            do {
+                result = encoder.encode(in, bytes, endOfInput);
+                writeBytes(out);
+            } while (result.isOverflow());
+            if (endOfInput) {
+                while (encoder.flush(bytes).isOverflow()) {
+                    writeBytes(out);
+                }
+                writeBytes(out);
+            }
+            return in.position();
+        });
+    }
+
+    private void writeBytes(WritableByteChannel out) throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            out.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    private long write(Iterable<? extends Employee<?>> employees, Sink target) throws IOException {
+        sink = target;
+        length = 0;
+        try {
+            if (format == Format.CSV) {
+                append(CSV_HEADER);
+            } else if (format == Format.JSON) {
+                append("[\n");
+            }
+            long rows = 0;
+            for (Employee<?> employee : employees) {
+                switch (format) {
+                    case FIXED_WIDTH -> writeFixedWidthRow(employee);
+                    case CSV -> writeCsvRow(employee);
+                    case JSON -> writeJsonRow(employee, rows == 0);
+                }
+                rows++;
+            }
+            if (format == Format.JSON) {
+                append(rows == 0 ? "]\n" : "\n]\n");
+            }
+            drain(true);
+            return rows;
+        } finally {
+            sink = null;
+        }
+    }
+
+    // Same layout displayEmployeesForEach used to print with printf
+    private void writeFixedWidthRow(Employee<?> employee) throws IOException {
+        append("ID: ");
+        appendPadded(String.valueOf(employee.getEmployeeId()), 10);
+        append(" Name: ");
+        appendPadded(String.valueOf(employee.getName()), 15);
+        append(" Department: ");
+        appendPadded(String.valueOf(employee.getDepartment()), 10);
+        append(" Salary: $");
+        int start = length;
+        appendDecimal(employee.getSalary(), 2);
+        appendSpaces(10 - (length - start));
+        append('\n');
+    }
+
+    private void writeCsvRow(Employee<?> employee) throws IOException {
+        appendCsv(employee.getEmployeeId() == null ? null : employee.getEmployeeId().toString());
+        append(',');
+        appendCsv(employee.getName());
+        append(',');
+        appendCsv(employee.getDepartment());
+        append(',');
+        appendDecimal(employee.getSalary(), 2);
+        append(',');
+        appendDecimal(employee.getPerformanceRating(), 1);
+        append(',');
+        appendLong(employee.getYearsOfExperience());
+        append(',');
+        append(employee.isActive() ? "true" : "false");
+        append(',');
+        appendCsv(employee.getProfilePicture());
+        append('\n');
+    }
+
+    private void writeJsonRow(Employee<?> employee, boolean first) throws IOException {
+        append(first ? "{\"employeeId\":" : ",\n{\"employeeId\":");
+        appendJson(employee.getEmployeeId() == null ? null : employee.getEmployeeId().toString());
+        append(",\"name\":");
+        appendJson(employee.getName());
+        append(",\"department\":");
+        appendJson(employee.getDepartment());
+        append(",\"salary\":");
+        appendDecimal(employee.getSalary(), 2);
+        append(",\"performanceRating\":");
+        appendDecimal(employee.getPerformanceRating(), 1);
+        append(",\"yearsOfExperience\":");
+        appendLong(employee.getYearsOfExperience());
+        append(employee.isActive() ? ",\"active\":true" : ",\"active\":false");
+        append(",\"profilePicture\":");
+        appendJson(employee.getProfilePicture());
+        append('}');
+    }
+
+    // Empty for null; quoted when the value holds a comma, quote or line break
+    private void appendCsv(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            append(value);
+            return;
+        }
+        append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                append('"');
+            }
+            append(c);
+        }
+        append('"');
+    }
+
+    private void appendJson(String value) throws IOException {
+        if (value == null) {
+            append("null");
+            return;
+        }
+        append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> append("\\\"");
+                case '\\' -> append("\\\\");
+                case '\n' -> append("\\n");
+                case '\r' -> append("\\r");
+                case '\t' -> append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        append("\\u00");
+                        append(HEX[c >> 4]);
+                        append(HEX[c & 0xF]);
+                    } else {
+                        append(c);
+                    }
+                }
+            }
+        }
+        append('"');
+    }
+
+    private void appendPadded(String value, int width) throws IOException {
+        append(value);
+        appendSpaces(width - value.length());
+    }
+
+    private void appendSpaces(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            append(' ');
+        }
+    }
+
+    // value rounded half-up to the given number of decimals, like %.2f
+    private void appendDecimal(double value, int decimals) throws IOException {
+        long scale = decimals == 1 ? 10 : 100;
+        if (Double.isNaN(value) || Double.isInfinite(value) || Math.abs(value) >= 1e15) {
+            append(Double.isFinite(value)
+                    ? BigDecimal.valueOf(value).setScale(decimals, RoundingMode.HALF_UP).toPlainString()
+                    : String.valueOf(value));
+            return;
+        }
+        long scaled = Math.round(Math.abs(value) * scale);
+        if (value < 0 && scaled != 0) {
+            append('-');
+        }
+        appendLong(scaled / scale);
+        append('.');
+        long fraction = scaled % scale;
+        if (decimals == 2 && fraction < 10) {
+            append('0');
+        }
+        appendLong(fraction);
+    }
+
+    private void appendLong(long value) throws IOException {
+        ensureRoom(MAX_TOKEN);
+        if (value < 0) {
+            if (value == Long.MIN_VALUE) {
+                append(String.valueOf(value));
+                return;
+            }
+            buffer[length++] = '-';
+            value = -value;
+        }
+        int start = length;
+        do {
+            buffer[length++] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        // Digits came out lowest first
+        for (int i = start, j = length - 1; i < j; i++, j--) {
+            char digit = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = digit;
+        }
+    }
+
+    private void append(char c) throws IOException {
+        if (length == buffer.length) {
+            drain(false);
+        }
+        buffer[length++] = c;
+    }
+
+    private void append(String value) throws IOException {
+        int offset = 0;
+        while (offset < value.length()) {
+            if (length == buffer.length) {
+                drain(false);
+            }
+            int count = Math.min(value.length() - offset, buffer.length - length);
+            value.getChars(offset, offset + count, buffer, length);
+            length += count;
+            offset += count;
+        }
+    }
+
+    private void ensureRoom(int count) throws IOException {
+        if (length + count > buffer.length) {
+            drain(false);
+        }
+    }
+
+    private void drain(boolean endOfInput) throws IOException {
+        int consumed = sink.drain(buffer, length, endOfInput);
+        System.arraycopy(buffer, consumed, buffer, 0, length - consumed);
+        length -= consumed;
+    }
+}
@@ -0,0 +1,261 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.model.Employee;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+// Fixed-layout, column-oriented snapshot of every employee, loaded through a memory-mapped
+// buffer. Strings are stored once in a table and referenced by code; numeric fields are
+// stored as whole columns, so rows are read straight from typed views of the mapping.
+// Loading is not zero-copy: the database's indexes hold Employee objects, so every row and
+// every string is still decoded into one when the file is read.
+//
+// Layout (big-endian): header, string offsets, string bytes, padding to 8 bytes, then the
+// salary (long cents), rating (int tenths), years, name code, department code, picture code,
+// ID and active columns, and finally a CRC32 of everything before it. Salaries and ratings are
+// stored in the same fixed point the employees keep, so no value is rounded on the way in or
+// out. Rows are written in ascending salary order.
+final class EmployeeSnapshot<T> {
+    private static final int MAGIC = 0x454D5053; // "EMPS"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 32;
+
+    private final long generation;
+    private final List<T> ids;
+    private final String[] names;
+    private final String[] departments;
+    private final String[] pictures;
+    private final long[] salaryCents;
+    private final int[] ratingTenths;
+    private final int[] yearsOfExperience;
+    private final boolean[] active;
+
+    private EmployeeSnapshot(long generation, int size) {
+        this.generation = generation;
+        this.ids = new ArrayList<>(size);
+        this.names = new String[size];
+        this.departments = new String[size];
+        this.pictures = new String[size];
+        this.salaryCents = new long[size];
+        this.ratingTenths = new int[size];
+        this.yearsOfExperience = new int[size];
+        this.active = new boolean[size];
+    }
+
+    // Copies the employees' current values. Must be called while the database cannot change.
+    static <T> EmployeeSnapshot<T> capture(long generation, EmployeeDatabase<T> database) {
+        return of(generation, database.copyRows());
+    }
+
+    // Builds a snapshot from rows already copied out of the database, so it needs no lock.
+    // The rows are put into ascending salary order here rather than while the copy is taken.
+    static <T> EmployeeSnapshot<T> of(long generation, EmployeeColumns.Rows<T> rows) {
+        int size = rows.size();
+        long[] salaryCents = new long[size];
+        for (int row = 0; row < size; row++) {
+            salaryCents[row] = rows.salaryCents(row);
+        }
+        int[] order = RadixSort.order(salaryCents);
+        EmployeeSnapshot<T> snapshot = new EmployeeSnapshot<>(generation, size);
+        for (int i = 0; i < size; i++) {
+            int row = order[i];
+            snapshot.ids.add(rows.employeeId(row));
+            snapshot.names[i] = rows.name(row);
+            snapshot.departments[i] = rows.department(row);
+            snapshot.pictures[i] = rows.picture(row);
+            snapshot.salaryCents[i] = salaryCents[row];
+            snapshot.ratingTenths[i] = rows.ratingTenths(row);
+            snapshot.yearsOfExperience[i] = rows.yearsOfExperience(row);
+            snapshot.active[i] = rows.isActive(row);
+        }
+        return snapshot;
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    int size() {
+        return salaryCents.length;
+    }
+
+    // Writes the snapshot and fsyncs it
+    void write(Path file, IdCodec<T> idCodec) throws IOException {
+        int size = size();
+        Map<String, Integer> codes = new HashMap<>();
+        List<byte[]> strings = new ArrayList<>();
+        int[] nameCodes = encode(names, codes, strings);
+        int[] departmentCodes = encode(departments, codes, strings);
+        int[] pictureCodes = encode(pictures, codes, strings);
+        long stringBytes = 0;
+        for (byte[] string : strings) {
+            stringBytes += string.length;
+        }
+        if (stringBytes > Integer.MAX_VALUE) {
+            throw new IOException("Too much text for one snapshot.");
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            CRC32 crc = new CRC32();
+            // Not closed: closing the stream would close the channel before the fsync
+            OutputStream buffered = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(buffered, crc));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(generation);
+            out.writeInt(size);
+            out.writeInt(idCodec.size());
+            out.writeInt(strings.size());
+            out.writeInt((int) stringBytes);
+
+            int offset = 0;
+            for (byte[] string : strings) {
+                out.writeInt(offset);
+                offset += string.length;
+            }
+            out.writeInt(offset);
+            for (byte[] string : strings) {
+                out.write(string);
+            }
+            for (int pad = padding(HEADER_SIZE + 4L * (strings.size() + 1) + stringBytes); pad > 0; pad--) {
+                out.writeByte(0);
+            }
+
+            for (long cents : salaryCents) {
+                out.writeLong(cents);
+            }
+            writeInts(out, ratingTenths);
+            for (int years : yearsOfExperience) {
+                out.writeInt(years);
+            }
+            writeInts(out, nameCodes);
+            writeInts(out, departmentCodes);
+            writeInts(out, pictureCodes);
+            for (T id : ids) {
+                idCodec.write(out, id);
+            }
+            for (boolean isActive : active) {
+                out.writeBoolean(isActive);
+            }
+            out.flush();
+            // The checksum itself is not part of what it covers
+            DataOutputStream trailer = new DataOutputStream(buffered);
+            trailer.writeInt((int) crc.getValue());
+            trailer.flush();
+            channel.force(true);
+        }
+    }
+
+    // Maps a snapshot file and builds an Employee for every row, or returns null if the file
+    // is damaged or belongs to another generation. Strings and rows are decoded in parallel.
+    @SuppressWarnings("unchecked")
+    static <T> Employee<T>[] read(Path file, long expectedGeneration, IdCodec<T> idCodec) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_SIZE + 8 || length > Integer.MAX_VALUE) {
+                return null;
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        }
+        int length = buffer.capacity();
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(0, length - 4));
+        if ((int) crc.getValue() != buffer.getInt(length - 4)
+                || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                || buffer.getLong(8) != expectedGeneration || buffer.getInt(20) != idCodec.size()) {
+            return null;
+        }
+        int size = buffer.getInt(16);
+        int idSize = buffer.getInt(20);
+        int stringCount = buffer.getInt(24);
+        int stringBytes = buffer.getInt(28);
+
+        IntBuffer stringOffsets = buffer.slice(HEADER_SIZE, 4 * (stringCount + 1)).asIntBuffer();
+        int stringBase = HEADER_SIZE + 4 * (stringCount + 1);
+        String[] strings = new String[stringCount];
+        IntStream.range(0, stringCount).parallel().forEach(code -> {
+            int start = stringOffsets.get(code);
+            byte[] bytes = new byte[stringOffsets.get(code + 1) - start];
+            buffer.get(stringBase + start, bytes);
+            strings[code] = new String(bytes, StandardCharsets.UTF_8);
+        });
+
+        int position = stringBase + stringBytes;
+        position += padding(position);
+        LongBuffer salaryCents = buffer.slice(position, 8 * size).asLongBuffer();
+        position += 8 * size;
+        IntBuffer ratingTenths = buffer.slice(position, 4 * size).asIntBuffer();
+        position += 4 * size;
+        IntBuffer years = buffer.slice(position, 4 * size).asIntBuffer();
+        position += 4 * size;
+        IntBuffer nameCodes = buffer.slice(position, 4 * size).asIntBuffer();
+        position += 4 * size;
+        IntBuffer departmentCodes = buffer.slice(position, 4 * size).asIntBuffer();
+        position += 4 * size;
+        IntBuffer pictureCodes = buffer.slice(position, 4 * size).asIntBuffer();
+        position += 4 * size;
+        int idBase = position;
+        int activeBase = idBase + idSize * size;
+
+        // The constructor rounds the scaled values back to exactly the stored cents and tenths
+        Employee<T>[] employees = (Employee<T>[]) new Employee[size];
+        IntStream.range(0, size).parallel().forEach(row -> {
+            int pictureCode = pictureCodes.get(row);
+            employees[row] = new Employee<>(idCodec.read(buffer, idBase + row * idSize),
+                    strings[nameCodes.get(row)], strings[departmentCodes.get(row)],
+                    salaryCents.get(row) / 100.0, ratingTenths.get(row) / 10.0, years.get(row), buffer.get(activeBase + row) != 0,
+                    pictureCode < 0 ? null : strings[pictureCode]);
+        });
+        return employees;
+    }
+
+    // Dictionary codes for a column, -1 for null
+    private static int[] encode(String[] values, Map<String, Integer> codes, List<byte[]> strings) {
+        int[] result = new int[values.length];
+        for (int row = 0; row < values.length; row++) {
+            String value = values[row];
+            if (value == null) {
+                result[row] = -1;
+                continue;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = strings.size();
+                codes.put(value, code);
+                strings.add(value.getBytes(StandardCharsets.UTF_8));
+            }
+            result[row] = code;
+        }
+        return result;
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static int padding(long position) {
+        return (int) ((8 - position % 8) % 8);
+    }
+}
@@ -0,0 +1,26 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.model.Employee;
+
+import java.util.Collection;
+
+// The ID to employee map behind an EmployeeDatabase. Changes are only made under the
+// database's write lock, but get() and values() are also used without it and must stay
+// safe while a change is in progress.
+interface EmployeeStore<T> {
+    Employee<T> get(T employeeId);
+
+    // Stores the employee under its own ID, or returns the one already stored there
+    Employee<T> putIfAbsent(Employee<T> employee);
+
+    // Stores employees whose IDs are expected to be new, e.g. from a snapshot; a
+    // duplicate ID fails with an IllegalArgumentException
+    void putAll(Employee<T>[] employees);
+
+    Employee<T> remove(T employeeId);
+
+    int size();
+
+    // Read-only, weakly consistent view
+    Collection<Employee<T>> values();
+}
@@ -0,0 +1,69 @@
+package lii.employeemanagementsystem.database;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+// Binary encoding of employee IDs for the files written by EmployeeJournal
+public interface IdCodec<T> {
+    void write(DataOutput out, T id) throws IOException;
+
+    T read(DataInput in) throws IOException;
+
+    // Number of bytes write() produces for every ID
+    int size();
+
+    // Reads an ID at an absolute offset without moving the buffer's position
+    T read(ByteBuffer buffer, int offset);
+
+    static IdCodec<UUID> uuid() {
+        return new IdCodec<>() {
+            @Override
+            public void write(DataOutput out, UUID id) throws IOException {
+                out.writeLong(id.getMostSignificantBits());
+                out.writeLong(id.getLeastSignificantBits());
+            }
+
+            @Override
+            public UUID read(DataInput in) throws IOException {
+                return new UUID(in.readLong(), in.readLong());
+            }
+
+            @Override
+            public int size() {
+                return 16;
+            }
+
+            @Override
+            public UUID read(ByteBuffer buffer, int offset) {
+                return new UUID(buffer.getLong(offset), buffer.getLong(offset + 8));
+            }
+        };
+    }
+
+    static IdCodec<Long> longs() {
+        return new IdCodec<>() {
+            @Override
+            public void write(DataOutput out, Long id) throws IOException {
+                out.writeLong(id);
+            }
+
+            @Override
+            public Long read(DataInput in) throws IOException {
+                return in.readLong();
+            }
+
+            @Override
+            public int size() {
+                return 8;
+            }
+
+            @Override
+            public Long read(ByteBuffer buffer, int offset) {
+                return buffer.getLong(offset);
+            }
+        };
+    }
+}
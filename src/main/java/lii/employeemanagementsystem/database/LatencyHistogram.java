@@ -0,0 +1,97 @@
+package lii.employeemanagementsystem.database;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Call count, latency distribution and result sizes of one database operation. Latencies go
+// into log-linear buckets: values below 16 ns get a bucket each, and every power of two above
+// that is split into 16 buckets, so a percentile is off by at most 1/16 of its value. All
+// counters are fixed atomic arrays and fields, so recording never allocates or locks.
+final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Enough buckets for any non-negative long
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLong totalResultSize = new AtomicLong();
+    private final AtomicLong maxResultSize = new AtomicLong();
+
+    void record(long nanos, long resultSize) {
+        long value = Math.max(nanos, 0);
+        buckets.incrementAndGet(bucketOf(value));
+        count.incrementAndGet();
+        maxNanos.accumulateAndGet(value, Math::max);
+        totalResultSize.addAndGet(resultSize);
+        maxResultSize.accumulateAndGet(resultSize, Math::max);
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    // Largest value that falls into the bucket
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        long lower = (1L << exponent) | (subBucket << (exponent - SUB_BUCKET_BITS));
+        return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    long count() {
+        return count.get();
+    }
+
+    long maxNanos() {
+        return maxNanos.get();
+    }
+
+    long totalResultSize() {
+        return totalResultSize.get();
+    }
+
+    long maxResultSize() {
+        return maxResultSize.get();
+    }
+
+    // Latency at or below which the given fraction of calls finished, never above the maximum.
+    // Calls recorded while this runs may or may not be counted.
+    long percentileNanos(double fraction) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += buckets.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        maxNanos.set(0);
+        totalResultSize.set(0);
+        maxResultSize.set(0);
+    }
+}
@@ -0,0 +1,70 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.customExceptions.EmployeeNotFoundException;
+import lii.employeemanagementsystem.model.Employee;
+import lii.employeemanagementsystem.model.EmployeeField;
+
+// EmployeeDatabase for numeric employee IDs. Employees are stored in an open-addressing
+// table keyed by primitive longs, and the long-keyed methods below find them without boxing
+// the ID or allocating. Every query is inherited from EmployeeDatabase unchanged.
+public class LongEmployeeDatabase extends EmployeeDatabase<Long> {
+    private final LongEmployeeStore employeeStore;
+
+    public LongEmployeeDatabase() {
+        this(new LongEmployeeStore());
+    }
+
+    private LongEmployeeDatabase(LongEmployeeStore employeeStore) {
+        super(employeeStore);
+        this.employeeStore = employeeStore;
+    }
+
+    // The employee with this ID, or null if there is none
+    public Employee<Long> getEmployee(long employeeId) {
+        return employeeStore.get(employeeId);
+    }
+
+    public boolean containsEmployee(long employeeId) {
+        return employeeStore.get(employeeId) != null;
+    }
+
+    public void removeEmployee(long employeeId) {
+        // Passing the stored employee's own ID object avoids boxing a new one; an unknown
+        // ID is boxed only to be reported by removeEmployee(Long)
+        Employee<Long> employee = employeeStore.get(employeeId);
+        removeEmployee(employee != null ? employee.getEmployeeId() : Long.valueOf(employeeId));
+    }
+
+    // Recorded as UPDATE_EMPLOYEE_DETAILS, like the boxed-ID overloads
+    public <V> void updateEmployeeDetails(long employeeId, EmployeeField<V> field, V newValue) {
+        long start = getStats().start();
+        field.set(getExistingEmployee(employeeId), newValue);
+        getStats().record(DatabaseStats.Operation.UPDATE_EMPLOYEE_DETAILS, start, 1);
+    }
+
+    public void updateEmployeeDetails(long employeeId, EmployeeField.DoubleField field, double newValue) {
+        long start = getStats().start();
+        field.set(getExistingEmployee(employeeId), newValue);
+        getStats().record(DatabaseStats.Operation.UPDATE_EMPLOYEE_DETAILS, start, 1);
+    }
+
+    public void updateEmployeeDetails(long employeeId, EmployeeField.IntField field, int newValue) {
+        long start = getStats().start();
+        field.set(getExistingEmployee(employeeId), newValue);
+        getStats().record(DatabaseStats.Operation.UPDATE_EMPLOYEE_DETAILS, start, 1);
+    }
+
+    public void updateEmployeeDetails(long employeeId, EmployeeField.BooleanField field, boolean newValue) {
+        long start = getStats().start();
+        field.set(getExistingEmployee(employeeId), newValue);
+        getStats().record(DatabaseStats.Operation.UPDATE_EMPLOYEE_DETAILS, start, 1);
+    }
+
+    private Employee<Long> getExistingEmployee(long employeeId) {
+        Employee<Long> employee = employeeStore.get(employeeId);
+        if (employee == null) {
+            throw new EmployeeNotFoundException("Employee with ID " + employeeId + " does not exist.");
+        }
+        return employee;
+    }
+}
@@ -0,0 +1,203 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.model.Employee;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Open-addressing hash table from primitive long IDs to employees, with linear probing.
+// Lookups by long neither box the key nor allocate.
+//
+// Readers that do not hold the database lock stay safe because a table never changes shape:
+// a key is written once, before its slot is published with release semantics, and a removed
+// slot is marked rather than reused. Growing or clearing out removed slots builds a new
+// table, which is swapped in with one volatile write.
+final class LongEmployeeStore implements EmployeeStore<Long> {
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Employee[].class);
+    private static final Employee<Long> REMOVED = new Employee<>(null, null, null, 0, 0, 0, false, null);
+    private static final int MIN_CAPACITY = 16;
+
+    private static final class Table {
+        private final long[] keys;
+        private final Employee<Long>[] slots;
+        private final int mask;
+
+        @SuppressWarnings("unchecked")
+        private Table(int capacity) {
+            keys = new long[capacity];
+            slots = (Employee<Long>[]) new Employee[capacity];
+            mask = capacity - 1;
+        }
+    }
+
+    private volatile Table table = new Table(MIN_CAPACITY);
+    private volatile int size;
+    private int removed;
+
+    private static int slotOf(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Employee<Long> slot(Table table, int index) {
+        return (Employee<Long>) SLOTS.getAcquire(table.slots, index);
+    }
+
+    public Employee<Long> get(long employeeId) {
+        Table current = table;
+        for (int index = slotOf(employeeId, current.mask), probes = 0; probes <= current.mask;
+             index = (index + 1) & current.mask, probes++) {
+            Employee<Long> employee = slot(current, index);
+            if (employee == null) {
+                return null;
+            }
+            if (employee != REMOVED && current.keys[index] == employeeId) {
+                return employee;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Employee<Long> get(Long employeeId) {
+        return employeeId == null ? null : get(employeeId.longValue());
+    }
+
+    @Override
+    public Employee<Long> putIfAbsent(Employee<Long> employee) {
+        long employeeId = employee.getEmployeeId();
+        Table current = table;
+        if (size + removed + 1 > (current.mask + 1) / 4 * 3) {
+            current = rebuild(size + 1);
+        }
+        int index = slotOf(employeeId, current.mask);
+        while (true) {
+            Employee<Long> existing = current.slots[index];
+            if (existing == null) {
+                break;
+            }
+            if (existing != REMOVED && current.keys[index] == employeeId) {
+                return existing;
+            }
+            index = (index + 1) & current.mask;
+        }
+        current.keys[index] = employeeId;
+        SLOTS.setRelease(current.slots, index, employee);
+        size++;
+        return null;
+    }
+
+    @Override
+    public void putAll(Employee<Long>[] employees) {
+        if ((size + removed + employees.length) > (table.mask + 1) / 4 * 3) {
+            rebuild(size + employees.length);
+        }
+        for (Employee<Long> employee : employees) {
+            if (putIfAbsent(employee) != null) {
+                throw new IllegalArgumentException("Employee with ID " + employee.getEmployeeId() + " already exists.");
+            }
+        }
+    }
+
+    public Employee<Long> remove(long employeeId) {
+        Table current = table;
+        for (int index = slotOf(employeeId, current.mask), probes = 0; probes <= current.mask;
+             index = (index + 1) & current.mask, probes++) {
+            Employee<Long> employee = current.slots[index];
+            if (employee == null) {
+                return null;
+            }
+            if (employee != REMOVED && current.keys[index] == employeeId) {
+                SLOTS.setRelease(current.slots, index, REMOVED);
+                size--;
+                removed++;
+                return employee;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Employee<Long> remove(Long employeeId) {
+        return employeeId == null ? null : remove(employeeId.longValue());
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Copies the live entries into a table at most half full for the expected size
+    private Table rebuild(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        Table old = table;
+        Table rebuilt = new Table(capacity);
+        for (int index = 0; index <= old.mask; index++) {
+            Employee<Long> employee = old.slots[index];
+            if (employee != null && employee != REMOVED) {
+                int target = slotOf(old.keys[index], rebuilt.mask);
+                while (rebuilt.slots[target] != null) {
+                    target = (target + 1) & rebuilt.mask;
+                }
+                rebuilt.keys[target] = old.keys[index];
+                rebuilt.slots[target] = employee;
+            }
+        }
+        removed = 0;
+        table = rebuilt;
+        return rebuilt;
+    }
+
+    @Override
+    public Collection<Employee<Long>> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<Employee<Long>> iterator() {
+                Table current = table;
+                return new Iterator<>() {
+                    private int index;
+                    private Employee<Long> next = advance();
+
+                    // The employee is read once here, so a concurrent removal cannot hand out the marker
+                    private Employee<Long> advance() {
+                        while (index <= current.mask) {
+                            Employee<Long> employee = slot(current, index++);
+                            if (employee != null && employee != REMOVED) {
+                                return employee;
+                            }
+                        }
+                        return null;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next != null;
+                    }
+
+                    @Override
+                    public Employee<Long> next() {
+                        if (next == null) {
+                            throw new NoSuchElementException();
+                        }
+                        Employee<Long> employee = next;
+                        next = advance();
+                        return employee;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
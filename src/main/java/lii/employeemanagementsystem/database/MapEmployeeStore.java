@@ -0,0 +1,53 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.model.Employee;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Default store for any ID type
+final class MapEmployeeStore<T> implements EmployeeStore<T> {
+    // Replaced only by putAll() on an empty store, to fill a table already sized for the batch
+    private volatile ConcurrentHashMap<T, Employee<T>> employees = new ConcurrentHashMap<>();
+
+    @Override
+    public Employee<T> get(T employeeId) {
+        return employees.get(employeeId);
+    }
+
+    @Override
+    public Employee<T> putIfAbsent(Employee<T> employee) {
+        return employees.putIfAbsent(employee.getEmployeeId(), employee);
+    }
+
+    @Override
+    public void putAll(Employee<T>[] newEmployees) {
+        // Growing a table to millions of entries rehashes it about twenty times over
+        if (employees.isEmpty()) {
+            employees = new ConcurrentHashMap<>(newEmployees.length * 4 / 3 + 1);
+        }
+        ConcurrentHashMap<T, Employee<T>> target = employees;
+        Arrays.stream(newEmployees).parallel().forEach(employee -> {
+            if (target.putIfAbsent(employee.getEmployeeId(), employee) != null) {
+                throw new IllegalArgumentException("Employee with ID " + employee.getEmployeeId() + " already exists.");
+            }
+        });
+    }
+
+    @Override
+    public Employee<T> remove(T employeeId) {
+        return employees.remove(employeeId);
+    }
+
+    @Override
+    public int size() {
+        return employees.size();
+    }
+
+    @Override
+    public Collection<Employee<T>> values() {
+        return Collections.unmodifiableCollection(employees.values());
+    }
+}
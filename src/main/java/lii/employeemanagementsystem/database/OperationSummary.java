@@ -0,0 +1,58 @@
+package lii.employeemanagementsystem.database;
+
+// Statistics of one database operation at the time they were read, as published over JMX
+public final class OperationSummary {
+    private final String name;
+    private final long count;
+    private final double p50Micros;
+    private final double p99Micros;
+    private final double maxMicros;
+    private final double meanResultSize;
+    private final long maxResultSize;
+
+    OperationSummary(String name, long count, double p50Micros, double p99Micros, double maxMicros,
+                     double meanResultSize, long maxResultSize) {
+        this.name = name;
+        this.count = count;
+        this.p50Micros = p50Micros;
+        this.p99Micros = p99Micros;
+        this.maxMicros = maxMicros;
+        this.meanResultSize = meanResultSize;
+        this.maxResultSize = maxResultSize;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getP50Micros() {
+        return p50Micros;
+    }
+
+    public double getP99Micros() {
+        return p99Micros;
+    }
+
+    public double getMaxMicros() {
+        return maxMicros;
+    }
+
+    // Employees returned or changed per call
+    public double getMeanResultSize() {
+        return meanResultSize;
+    }
+
+    public long getMaxResultSize() {
+        return maxResultSize;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d calls, p50 %.1f us, p99 %.1f us, max %.1f us, mean result %.1f",
+                name, count, p50Micros, p99Micros, maxMicros, meanResultSize);
+    }
+}
@@ -0,0 +1,102 @@
+package lii.employeemanagementsystem.database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+// How EmployeeDatabase runs an EmployeeQuery: the access path that supplies the candidates,
+// the estimated candidate count of every path the query could have used, and the filters
+// checked on each candidate afterwards. toString() gives a readable explain output.
+public class QueryPlan {
+    public enum Access {
+        FULL_SCAN("full column scan"),
+        SALARY_INDEX("salary index"),
+        RATING_BITMAP("rating bitmaps"),
+        ACTIVE_BITMAP("active bitmap"),
+        RATING_AND_ACTIVE_BITMAPS("rating AND active bitmaps"),
+        DEPARTMENT_INDEX("department index"),
+        TEXT_INDEX("name trigram and department index");
+
+        private final String description;
+
+        Access(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        // Whether candidates from this path already satisfy the filter served by the given path
+        public boolean covers(Access filter) {
+            return filter == this
+                    || (this == RATING_AND_ACTIVE_BITMAPS && (filter == RATING_BITMAP || filter == ACTIVE_BITMAP));
+        }
+    }
+
+    private final EmployeeQuery query;
+    private final Access access;
+    private final Map<Access, Integer> estimates;
+    private final List<String> remainingFilters;
+    private final int totalEmployees;
+
+    QueryPlan(EmployeeQuery query, Access access, Map<Access, Integer> estimates, int totalEmployees) {
+        this.query = query;
+        this.access = access;
+        this.estimates = Collections.unmodifiableMap(estimates);
+        this.totalEmployees = totalEmployees;
+        List<String> filters = new ArrayList<>();
+        query.filters().forEach((filterAccess, filter) -> {
+            if (!access.covers(filterAccess)) {
+                filters.add(filter);
+            }
+        });
+        this.remainingFilters = Collections.unmodifiableList(filters);
+    }
+
+    public EmployeeQuery getQuery() {
+        return query;
+    }
+
+    public Access getAccess() {
+        return access;
+    }
+
+    // Candidate count per usable access path. Text estimates are upper bounds.
+    public Map<Access, Integer> getEstimates() {
+        return estimates;
+    }
+
+    // Candidates the chosen path is expected to produce
+    public int getEstimatedCandidates() {
+        return access == Access.FULL_SCAN ? totalEmployees : estimates.get(access);
+    }
+
+    public List<String> getRemainingFilters() {
+        return remainingFilters;
+    }
+
+    public int getTotalEmployees() {
+        return totalEmployees;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder explain = new StringBuilder();
+        explain.append("Query: ").append(query).append('\n');
+        explain.append("Estimates:");
+        if (estimates.isEmpty()) {
+            explain.append(" none");
+        }
+        estimates.forEach((estimateAccess, count) ->
+                explain.append(' ').append(estimateAccess.getDescription()).append('=').append(count).append(';'));
+        explain.append(" of ").append(totalEmployees).append(" employees\n");
+        explain.append("Plan: ").append(access.getDescription())
+                .append(" -> ").append(getEstimatedCandidates()).append(" candidates");
+        if (!remainingFilters.isEmpty()) {
+            explain.append(", then filter ").append(String.join(" AND ", remainingFilters));
+        }
+        return explain.toString();
+    }
+}
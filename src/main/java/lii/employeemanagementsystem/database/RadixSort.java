@@ -0,0 +1,47 @@
+package lii.employeemanagementsystem.database;
+
+import java.util.Arrays;
+
+// Stable LSD radix sort over primitive long keys (e.g. salaries in cents), used to build
+// sorted indexes in bulk without a single key comparison. Flipping the sign bit makes the
+// unsigned order match the signed one; keys are then sorted a byte at a time, and bytes
+// every key shares are skipped.
+final class RadixSort {
+    private RadixSort() {
+    }
+
+    // Positions of the keys in ascending key order; equal keys keep their original order
+    static int[] order(long[] keys) {
+        int n = keys.length;
+        long[] sortable = new long[n];
+        for (int i = 0; i < n; i++) {
+            sortable[i] = keys[i] ^ Long.MIN_VALUE;
+        }
+        int[] order = new int[n];
+        Arrays.setAll(order, i -> i);
+        int[] buffer = new int[n];
+        int[] offsets = new int[257];
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            Arrays.fill(offsets, 0);
+            for (long key : sortable) {
+                offsets[(int) (key >>> shift) & 0xFF]++;
+            }
+            if (n == 0 || offsets[(int) (sortable[0] >>> shift) & 0xFF] == n) {
+                continue;
+            }
+            int total = 0;
+            for (int digit = 0; digit < 256; digit++) {
+                int count = offsets[digit];
+                offsets[digit] = total;
+                total += count;
+            }
+            for (int index : order) {
+                buffer[offsets[(int) (sortable[index] >>> shift) & 0xFF]++] = index;
+            }
+            int[] sorted = buffer;
+            buffer = order;
+            order = sorted;
+        }
+        return order;
+    }
+}
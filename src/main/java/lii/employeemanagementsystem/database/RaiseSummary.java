@@ -0,0 +1,42 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.model.Employee;
+
+import java.util.Collections;
+import java.util.List;
+
+// Outcome of one giveSalaryRaise call
+public class RaiseSummary<T> {
+    private final double percentage;
+    private final double minRating;
+    private final List<Employee<T>> affectedEmployees;
+    private final double payrollDelta;
+
+    public RaiseSummary(double percentage, double minRating, List<Employee<T>> affectedEmployees, double payrollDelta) {
+        this.percentage = percentage;
+        this.minRating = minRating;
+        this.affectedEmployees = Collections.unmodifiableList(affectedEmployees);
+        this.payrollDelta = payrollDelta;
+    }
+
+    public double getPercentage() {
+        return percentage;
+    }
+
+    public double getMinRating() {
+        return minRating;
+    }
+
+    public List<Employee<T>> getAffectedEmployees() {
+        return affectedEmployees;
+    }
+
+    public int getAffectedCount() {
+        return affectedEmployees.size();
+    }
+
+    // Total change in salaries across all affected employees
+    public double getPayrollDelta() {
+        return payrollDelta;
+    }
+}
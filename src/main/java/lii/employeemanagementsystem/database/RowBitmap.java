@@ -0,0 +1,441 @@
+package lii.employeemanagementsystem.database;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+// Compressed set of row numbers, laid out like a Roaring bitmap. Rows are split into chunks
+// of 65536 by their high 16 bits. A chunk keeps its rows as a sorted char array while it
+// holds at most 4096 of them and as a 1024-word bitmap beyond that, so sparse and dense
+// sets both stay small, and AND / OR / AND NOT work chunk by chunk on whichever layouts
+// meet. Not thread-safe; EmployeeColumns only changes it under the database write lock.
+class RowBitmap {
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int WORDS = 1024;
+
+    private char[] highs = new char[4];
+    private Chunk[] chunks = new Chunk[4];
+    private int chunkCount;
+    private int cardinality;
+
+    private static final class Chunk {
+        // Sorted low 16 bits of each row while sparse; null once the chunk uses words
+        private char[] values;
+        private long[] words;
+        private int cardinality;
+
+        private Chunk(char[] values, long[] words, int cardinality) {
+            this.values = values;
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        private boolean contains(char low) {
+            if (words != null) {
+                return (words[low >>> 6] & (1L << low)) != 0;
+            }
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        // Number of rows in the chunk below low
+        private int rank(char low) {
+            if (words == null) {
+                int position = Arrays.binarySearch(values, 0, cardinality, low);
+                return position >= 0 ? position : -position - 1;
+            }
+            int rank = 0;
+            for (int word = 0; word < low >>> 6; word++) {
+                rank += Long.bitCount(words[word]);
+            }
+            return rank + Long.bitCount(words[low >>> 6] & ((1L << low) - 1));
+        }
+
+        private boolean add(char low) {
+            if (words != null) {
+                long bit = 1L << low;
+                if ((words[low >>> 6] & bit) != 0) {
+                    return false;
+                }
+                words[low >>> 6] |= bit;
+                cardinality++;
+                return true;
+            }
+            int position = Arrays.binarySearch(values, 0, cardinality, low);
+            if (position >= 0) {
+                return false;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                words = toWords();
+                values = null;
+                return add(low);
+            }
+            position = -position - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, cardinality * 2));
+            }
+            System.arraycopy(values, position, values, position + 1, cardinality - position);
+            values[position] = low;
+            cardinality++;
+            return true;
+        }
+
+        private boolean remove(char low) {
+            if (words != null) {
+                long bit = 1L << low;
+                if ((words[low >>> 6] & bit) == 0) {
+                    return false;
+                }
+                words[low >>> 6] &= ~bit;
+                cardinality--;
+                // Switch back well below the limit so a chunk at the edge does not flip on every change
+                if (cardinality <= ARRAY_LIMIT / 2) {
+                    values = toValues();
+                    words = null;
+                }
+                return true;
+            }
+            int position = Arrays.binarySearch(values, 0, cardinality, low);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(values, position + 1, values, position, cardinality - position - 1);
+            cardinality--;
+            return true;
+        }
+
+        private long[] toWords() {
+            if (words != null) {
+                return words.clone();
+            }
+            long[] result = new long[WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                result[values[i] >>> 6] |= 1L << values[i];
+            }
+            return result;
+        }
+
+        private char[] toValues() {
+            if (words == null) {
+                return Arrays.copyOf(values, Math.max(cardinality, 1));
+            }
+            char[] result = new char[Math.max(cardinality, 1)];
+            int count = 0;
+            for (int word = 0; word < WORDS; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    result[count++] = (char) ((word << 6) + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+            return result;
+        }
+
+        private Chunk copy() {
+            return words != null ? new Chunk(null, words.clone(), cardinality) : new Chunk(toValues(), null, cardinality);
+        }
+
+        // Visits the rows in ascending order after skipping the first skip of them; false once
+        // the action asked to stop
+        private boolean forEachWhile(int base, int skip, IntPredicate action) {
+            if (words == null) {
+                for (int i = skip; i < cardinality; i++) {
+                    if (!action.test(base | values[i])) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            for (int word = 0; word < WORDS; word++) {
+                long bits = words[word];
+                int bitCount = Long.bitCount(bits);
+                if (skip >= bitCount) {
+                    skip -= bitCount;
+                    continue;
+                }
+                for (; skip > 0; skip--) {
+                    bits &= bits - 1;
+                }
+                while (bits != 0) {
+                    if (!action.test(base | (word << 6) + Long.numberOfTrailingZeros(bits))) {
+                        return false;
+                    }
+                    bits &= bits - 1;
+                }
+            }
+            return true;
+        }
+
+        // Chunk for the given words in whichever layout is smaller, or null when empty
+        private static Chunk ofWords(long[] words) {
+            int count = 0;
+            for (long word : words) {
+                count += Long.bitCount(word);
+            }
+            if (count == 0) {
+                return null;
+            }
+            Chunk chunk = new Chunk(null, words, count);
+            if (count <= ARRAY_LIMIT) {
+                chunk.values = chunk.toValues();
+                chunk.words = null;
+            }
+            return chunk;
+        }
+
+        private static Chunk ofValues(char[] values, int count) {
+            return count == 0 ? null : new Chunk(values, null, count);
+        }
+
+        private static Chunk and(Chunk a, Chunk b) {
+            if (a.words != null && b.words != null) {
+                long[] words = new long[WORDS];
+                for (int i = 0; i < WORDS; i++) {
+                    words[i] = a.words[i] & b.words[i];
+                }
+                return ofWords(words);
+            }
+            // Probe the sparse side against the other
+            Chunk sparse = a.words == null && (b.words != null || a.cardinality <= b.cardinality) ? a : b;
+            Chunk other = sparse == a ? b : a;
+            char[] values = new char[sparse.cardinality];
+            int count = 0;
+            for (int i = 0; i < sparse.cardinality; i++) {
+                if (other.contains(sparse.values[i])) {
+                    values[count++] = sparse.values[i];
+                }
+            }
+            return ofValues(values, count);
+        }
+
+        private static Chunk or(Chunk a, Chunk b) {
+            if (a.words == null && b.words == null && a.cardinality + b.cardinality <= ARRAY_LIMIT) {
+                char[] values = new char[a.cardinality + b.cardinality];
+                int count = 0;
+                int i = 0;
+                int j = 0;
+                while (i < a.cardinality || j < b.cardinality) {
+                    if (j == b.cardinality || (i < a.cardinality && a.values[i] < b.values[j])) {
+                        values[count++] = a.values[i++];
+                    } else if (i == a.cardinality || b.values[j] < a.values[i]) {
+                        values[count++] = b.values[j++];
+                    } else {
+                        values[count++] = a.values[i++];
+                        j++;
+                    }
+                }
+                return ofValues(values, count);
+            }
+            long[] words = a.toWords();
+            if (b.words != null) {
+                for (int i = 0; i < WORDS; i++) {
+                    words[i] |= b.words[i];
+                }
+            } else {
+                for (int i = 0; i < b.cardinality; i++) {
+                    words[b.values[i] >>> 6] |= 1L << b.values[i];
+                }
+            }
+            return ofWords(words);
+        }
+
+        private static Chunk andNot(Chunk a, Chunk b) {
+            if (a.words == null) {
+                char[] values = new char[a.cardinality];
+                int count = 0;
+                for (int i = 0; i < a.cardinality; i++) {
+                    if (!b.contains(a.values[i])) {
+                        values[count++] = a.values[i];
+                    }
+                }
+                return ofValues(values, count);
+            }
+            long[] words = a.words.clone();
+            if (b.words != null) {
+                for (int i = 0; i < WORDS; i++) {
+                    words[i] &= ~b.words[i];
+                }
+            } else {
+                for (int i = 0; i < b.cardinality; i++) {
+                    words[b.values[i] >>> 6] &= ~(1L << b.values[i]);
+                }
+            }
+            return ofWords(words);
+        }
+    }
+
+    // Rows 0 to count - 1
+    static RowBitmap firstRows(int count) {
+        RowBitmap result = new RowBitmap();
+        for (int base = 0; base < count; base += 1 << 16) {
+            int rows = Math.min(count - base, 1 << 16);
+            long[] words = new long[WORDS];
+            Arrays.fill(words, 0, rows >>> 6, -1L);
+            if ((rows & 63) != 0) {
+                words[rows >>> 6] = (1L << rows) - 1;
+            }
+            result.append((char) (base >>> 16), Chunk.ofWords(words));
+        }
+        return result;
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    public boolean contains(int row) {
+        int index = indexOf((char) (row >>> 16));
+        return index >= 0 && chunks[index].contains((char) row);
+    }
+
+    // Number of rows below the given row
+    public int rank(int row) {
+        char high = (char) (row >>> 16);
+        int rank = 0;
+        for (int i = 0; i < chunkCount && highs[i] <= high; i++) {
+            rank += highs[i] < high ? chunks[i].cardinality : chunks[i].rank((char) row);
+        }
+        return rank;
+    }
+
+    public boolean add(int row) {
+        char high = (char) (row >>> 16);
+        int index = indexOf(high);
+        if (index < 0) {
+            index = -index - 1;
+            insertChunk(index, high, new Chunk(new char[4], null, 0));
+        }
+        if (!chunks[index].add((char) row)) {
+            return false;
+        }
+        cardinality++;
+        return true;
+    }
+
+    public boolean remove(int row) {
+        int index = indexOf((char) (row >>> 16));
+        if (index < 0 || !chunks[index].remove((char) row)) {
+            return false;
+        }
+        cardinality--;
+        if (chunks[index].cardinality == 0) {
+            System.arraycopy(highs, index + 1, highs, index, chunkCount - index - 1);
+            System.arraycopy(chunks, index + 1, chunks, index, chunkCount - index - 1);
+            chunks[--chunkCount] = null;
+        }
+        return true;
+    }
+
+    public RowBitmap copy() {
+        RowBitmap result = new RowBitmap();
+        for (int i = 0; i < chunkCount; i++) {
+            result.append(highs[i], chunks[i].copy());
+        }
+        return result;
+    }
+
+    public void clear() {
+        Arrays.fill(chunks, 0, chunkCount, null);
+        chunkCount = 0;
+        cardinality = 0;
+    }
+
+    // Rows in both bitmaps
+    public RowBitmap and(RowBitmap other) {
+        RowBitmap result = new RowBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < chunkCount && j < other.chunkCount) {
+            if (highs[i] < other.highs[j]) {
+                i++;
+            } else if (highs[i] > other.highs[j]) {
+                j++;
+            } else {
+                result.append(highs[i], Chunk.and(chunks[i++], other.chunks[j++]));
+            }
+        }
+        return result;
+    }
+
+    // Rows in either bitmap
+    public RowBitmap or(RowBitmap other) {
+        RowBitmap result = new RowBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < chunkCount || j < other.chunkCount) {
+            if (j == other.chunkCount || (i < chunkCount && highs[i] < other.highs[j])) {
+                result.append(highs[i], chunks[i++].copy());
+            } else if (i == chunkCount || other.highs[j] < highs[i]) {
+                result.append(other.highs[j], other.chunks[j++].copy());
+            } else {
+                result.append(highs[i], Chunk.or(chunks[i++], other.chunks[j++]));
+            }
+        }
+        return result;
+    }
+
+    // Rows in this bitmap but not in the other
+    public RowBitmap andNot(RowBitmap other) {
+        RowBitmap result = new RowBitmap();
+        for (int i = 0; i < chunkCount; i++) {
+            int index = other.indexOf(highs[i]);
+            result.append(highs[i], index < 0 ? chunks[i].copy() : Chunk.andNot(chunks[i], other.chunks[index]));
+        }
+        return result;
+    }
+
+    // Visits the rows in ascending order
+    public void forEach(IntConsumer action) {
+        forEachWhile(row -> {
+            action.accept(row);
+            return true;
+        });
+    }
+
+    // Visits the rows in ascending order until the action returns false
+    public void forEachWhile(IntPredicate action) {
+        forEachWhile(0, action);
+    }
+
+    // Same, starting after the first skip rows; whole chunks are skipped by their counts.
+    // Returns true if every remaining row was visited.
+    public boolean forEachWhile(int skip, IntPredicate action) {
+        for (int i = 0; i < chunkCount; i++) {
+            if (skip >= chunks[i].cardinality) {
+                skip -= chunks[i].cardinality;
+            } else if (!chunks[i].forEachWhile(highs[i] << 16, skip, action)) {
+                return false;
+            } else {
+                skip = 0;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(char high) {
+        return Arrays.binarySearch(highs, 0, chunkCount, high);
+    }
+
+    // Adds a chunk above every existing one; null chunks are skipped
+    private void append(char high, Chunk chunk) {
+        if (chunk != null) {
+            insertChunk(chunkCount, high, chunk);
+            cardinality += chunk.cardinality;
+        }
+    }
+
+    private void insertChunk(int index, char high, Chunk chunk) {
+        if (chunkCount == chunks.length) {
+            highs = Arrays.copyOf(highs, chunkCount * 2);
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        }
+        System.arraycopy(highs, index, highs, index + 1, chunkCount - index);
+        System.arraycopy(chunks, index, chunks, index + 1, chunkCount - index);
+        highs[index] = high;
+        chunks[index] = chunk;
+        chunkCount++;
+    }
+}
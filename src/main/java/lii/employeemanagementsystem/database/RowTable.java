@@ -0,0 +1,106 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.model.Employee;
+
+import java.util.Arrays;
+
+// Open-addressing table from employees, by identity, to their row in EmployeeColumns, with
+// linear probing. Rows are plain ints, so there is no boxed Integer and no map entry per
+// employee. Removal shifts the following entries back instead of leaving a marker, so the
+// table never fills up with removed slots. Must only be used under the database's write
+// lock, or its read lock for lookups.
+final class RowTable {
+    private static final int MIN_CAPACITY = 16;
+
+    private Employee<?>[] keys = new Employee<?>[MIN_CAPACITY];
+    private int[] rows = new int[MIN_CAPACITY];
+    private int mask = MIN_CAPACITY - 1;
+    private int size;
+
+    private static int slotOf(Employee<?> employee, int mask) {
+        int hash = System.identityHashCode(employee) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    // Row of the employee, or -1 if it has none
+    public int get(Employee<?> employee) {
+        for (int index = slotOf(employee, mask); keys[index] != null; index = (index + 1) & mask) {
+            if (keys[index] == employee) {
+                return rows[index];
+            }
+        }
+        return -1;
+    }
+
+    public void put(Employee<?> employee, int row) {
+        if (size + 1 > (mask + 1) / 4 * 3) {
+            resize(size + 1);
+        }
+        int index = slotOf(employee, mask);
+        while (keys[index] != null && keys[index] != employee) {
+            index = (index + 1) & mask;
+        }
+        if (keys[index] == null) {
+            keys[index] = employee;
+            size++;
+        }
+        rows[index] = row;
+    }
+
+    public void remove(Employee<?> employee) {
+        int index = slotOf(employee, mask);
+        while (keys[index] != employee) {
+            if (keys[index] == null) {
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        // Move back every following entry whose home slot does not lie between the gap and it
+        int gap = index;
+        for (int next = (gap + 1) & mask; keys[next] != null; next = (next + 1) & mask) {
+            int home = slotOf(keys[next], mask);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                rows[gap] = rows[next];
+                gap = next;
+            }
+        }
+        keys[gap] = null;
+        size--;
+    }
+
+    // Makes room for the expected number of employees up front
+    public void ensureCapacity(int expectedSize) {
+        if (expectedSize > (mask + 1) / 4 * 3) {
+            resize(expectedSize);
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    // Copies the entries into a table at most half full for the expected size
+    private void resize(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        Employee<?>[] oldKeys = keys;
+        int[] oldRows = rows;
+        keys = new Employee<?>[capacity];
+        rows = new int[capacity];
+        mask = capacity - 1;
+        for (int index = 0; index < oldKeys.length; index++) {
+            if (oldKeys[index] != null) {
+                int target = slotOf(oldKeys[index], mask);
+                while (keys[target] != null) {
+                    target = (target + 1) & mask;
+                }
+                keys[target] = oldKeys[index];
+                rows[target] = oldRows[index];
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package lii.employeemanagementsystem.database;
+
+public enum SortDirection {
+    ASCENDING,
+    DESCENDING
+}
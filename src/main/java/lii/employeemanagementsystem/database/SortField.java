@@ -0,0 +1,8 @@
+package lii.employeemanagementsystem.database;
+
+// Numeric employee fields that EmployeeDatabase keeps ordered indexes for
+public enum SortField {
+    SALARY,
+    PERFORMANCE_RATING,
+    YEARS_OF_EXPERIENCE
+}
@@ -0,0 +1,321 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+// Secondary index that keeps employees ordered by a primitive long key (e.g. salary in cents).
+// Entries live in small sorted blocks, so an insert or removal only shifts one block
+// while range lookups cost O(log n + k).
+class SortedIndex<T> {
+    private static final int BLOCK_SIZE = 512;
+
+    private final List<Block<T>> blocks = new ArrayList<>();
+    private int size;
+
+    private static final class Block<T> {
+        private final long[] keys = new long[BLOCK_SIZE];
+        @SuppressWarnings("unchecked")
+        private final Employee<T>[] values = (Employee<T>[]) new Employee[BLOCK_SIZE];
+        private int size;
+
+        private long lastKey() {
+            return keys[size - 1];
+        }
+
+        // First position whose key is >= key
+        private int lowerBound(long key) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // First position whose key is > key
+        private int upperBound(long key) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid] <= key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void insertAt(int position, long key, Employee<T> value) {
+            System.arraycopy(keys, position, keys, position + 1, size - position);
+            System.arraycopy(values, position, values, position + 1, size - position);
+            keys[position] = key;
+            values[position] = value;
+            size++;
+        }
+
+        private void removeAt(int position) {
+            System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+            System.arraycopy(values, position + 1, values, position, size - position - 1);
+            size--;
+            values[size] = null;
+        }
+
+        // Moves the upper half of this block into a new block
+        private Block<T> split() {
+            Block<T> right = new Block<>();
+            int half = size / 2;
+            right.size = size - half;
+            System.arraycopy(keys, half, right.keys, 0, right.size);
+            System.arraycopy(values, half, right.values, 0, right.size);
+            Arrays.fill(values, half, size, null);
+            size = half;
+            return right;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        blocks.clear();
+        size = 0;
+    }
+
+    // Bulk load, normally into an empty index. Keys that are already ascending (e.g. rows read
+    // from a snapshot written in key order) are packed straight into blocks, leaving room to
+    // grow; other keys are radix sorted first.
+    public void addAll(long[] keys, Employee<T>[] employees) {
+        if (!blocks.isEmpty()) {
+            for (int i = 0; i < keys.length; i++) {
+                add(keys[i], employees[i]);
+            }
+            return;
+        }
+        boolean ascending = true;
+        for (int i = 1; i < keys.length && ascending; i++) {
+            ascending = keys[i - 1] <= keys[i];
+        }
+        if (!ascending) {
+            // Sorting once is far cheaper than inserting one by one; ties keep their order
+            int[] order = RadixSort.order(keys);
+            long[] sortedKeys = new long[keys.length];
+            @SuppressWarnings("unchecked")
+            Employee<T>[] sortedEmployees = (Employee<T>[]) new Employee[employees.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedKeys[i] = keys[order[i]];
+                sortedEmployees[i] = employees[order[i]];
+            }
+            keys = sortedKeys;
+            employees = sortedEmployees;
+        }
+        int fill = BLOCK_SIZE * 3 / 4;
+        for (int start = 0; start < keys.length; start += fill) {
+            Block<T> block = new Block<>();
+            block.size = Math.min(fill, keys.length - start);
+            System.arraycopy(keys, start, block.keys, 0, block.size);
+            System.arraycopy(employees, start, block.values, 0, block.size);
+            blocks.add(block);
+        }
+        size = keys.length;
+    }
+
+    // Equal keys are appended after the existing ones, so ties keep insertion order
+    public void add(long key, Employee<T> employee) {
+        if (blocks.isEmpty()) {
+            Block<T> block = new Block<>();
+            block.insertAt(0, key, employee);
+            blocks.add(block);
+            size++;
+            return;
+        }
+        int blockIndex = firstBlockWithLastKeyAbove(key);
+        if (blockIndex == blocks.size()) {
+            blockIndex--;
+        }
+        Block<T> block = blocks.get(blockIndex);
+        if (block.size == BLOCK_SIZE) {
+            Block<T> right = block.split();
+            blocks.add(blockIndex + 1, right);
+            if (key >= right.keys[0]) {
+                block = right;
+            }
+        }
+        block.insertAt(block.upperBound(key), key, employee);
+        size++;
+    }
+
+    public boolean remove(long key, Employee<T> employee) {
+        for (int blockIndex = firstBlockWithLastKeyAtLeast(key); blockIndex < blocks.size(); blockIndex++) {
+            Block<T> block = blocks.get(blockIndex);
+            for (int i = block.lowerBound(key); i < block.size; i++) {
+                if (block.keys[i] != key) {
+                    return false;
+                }
+                if (block.values[i] == employee) {
+                    block.removeAt(i);
+                    if (block.size == 0) {
+                        blocks.remove(blockIndex);
+                    }
+                    size--;
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Position of the entry in ascending key order, or -1 if it is not stored under that key
+    public int positionOf(long key, Employee<T> employee) {
+        int firstBlock = firstBlockWithLastKeyAtLeast(key);
+        int before = 0;
+        for (int blockIndex = 0; blockIndex < firstBlock; blockIndex++) {
+            before += blocks.get(blockIndex).size;
+        }
+        for (int blockIndex = firstBlock; blockIndex < blocks.size(); blockIndex++) {
+            Block<T> block = blocks.get(blockIndex);
+            for (int i = block.lowerBound(key); i < block.size; i++) {
+                if (block.keys[i] != key) {
+                    return -1;
+                }
+                if (block.values[i] == employee) {
+                    return before + i;
+                }
+            }
+            before += block.size;
+        }
+        return -1;
+    }
+
+    public void update(long oldKey, long newKey, Employee<T> employee) {
+        if (oldKey == newKey) {
+            return;
+        }
+        if (remove(oldKey, employee)) {
+            add(newKey, employee);
+        }
+    }
+
+    // All employees whose key lies in [min, max], in ascending key order
+    public List<Employee<T>> range(long min, long max) {
+        List<Employee<T>> result = new ArrayList<>();
+        for (int blockIndex = firstBlockWithLastKeyAtLeast(min); blockIndex < blocks.size(); blockIndex++) {
+            Block<T> block = blocks.get(blockIndex);
+            for (int i = block.lowerBound(min); i < block.size; i++) {
+                if (block.keys[i] > max) {
+                    return result;
+                }
+                result.add(block.values[i]);
+            }
+        }
+        return result;
+    }
+
+    // Visits the employees whose key lies in [min, max] in ascending key order, until the
+    // visitor returns false
+    public void forEachInRange(long min, long max, Predicate<Employee<T>> visitor) {
+        for (int blockIndex = firstBlockWithLastKeyAtLeast(min); blockIndex < blocks.size(); blockIndex++) {
+            Block<T> block = blocks.get(blockIndex);
+            for (int i = block.lowerBound(min); i < block.size; i++) {
+                if (block.keys[i] > max || !visitor.test(block.values[i])) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Number of employees whose key lies in [min, max]; only the two edge blocks are searched
+    public int count(long min, long max) {
+        int firstBlock = firstBlockWithLastKeyAtLeast(min);
+        int lastBlock = Math.min(firstBlockWithLastKeyAbove(max), blocks.size() - 1);
+        if (min > max || firstBlock > lastBlock) {
+            return 0;
+        }
+        int count = 0;
+        for (int blockIndex = firstBlock; blockIndex <= lastBlock; blockIndex++) {
+            count += blocks.get(blockIndex).size;
+        }
+        return count - blocks.get(firstBlock).lowerBound(min)
+                - (blocks.get(lastBlock).size - blocks.get(lastBlock).upperBound(max));
+    }
+
+    // Up to limit employees from the low end, or from the high end when descending
+    public List<Employee<T>> first(int limit, boolean descending) {
+        List<Employee<T>> result = new ArrayList<>(Math.min(limit, size));
+        if (descending) {
+            for (int blockIndex = blocks.size() - 1; blockIndex >= 0 && result.size() < limit; blockIndex--) {
+                Block<T> block = blocks.get(blockIndex);
+                for (int i = block.size - 1; i >= 0 && result.size() < limit; i--) {
+                    result.add(block.values[i]);
+                }
+            }
+        } else {
+            for (int blockIndex = 0; blockIndex < blocks.size() && result.size() < limit; blockIndex++) {
+                Block<T> block = blocks.get(blockIndex);
+                for (int i = 0; i < block.size && result.size() < limit; i++) {
+                    result.add(block.values[i]);
+                }
+            }
+        }
+        return result;
+    }
+
+    // Visits entries in ascending or descending key order, starting at the given position of
+    // that order; whole blocks before it are skipped by their sizes. Stops when the visitor
+    // returns false; returns true if the walk reached the end.
+    public boolean walk(int from, boolean descending, Predicate<Employee<T>> visitor) {
+        for (int step = 0; step < blocks.size(); step++) {
+            Block<T> block = blocks.get(descending ? blocks.size() - 1 - step : step);
+            if (from >= block.size) {
+                from -= block.size;
+                continue;
+            }
+            for (int i = from; i < block.size; i++) {
+                if (!visitor.test(block.values[descending ? block.size - 1 - i : i])) {
+                    return false;
+                }
+            }
+            from = 0;
+        }
+        return true;
+    }
+
+    private int firstBlockWithLastKeyAtLeast(long key) {
+        int low = 0;
+        int high = blocks.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (blocks.get(mid).lastKey() < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int firstBlockWithLastKeyAbove(long key) {
+        int low = 0;
+        int high = blocks.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (blocks.get(mid).lastKey() <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
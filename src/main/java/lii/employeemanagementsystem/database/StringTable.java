@@ -0,0 +1,74 @@
+package lii.employeemanagementsystem.database;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+// Reference-counted dictionary that stores each distinct string once and hands out a
+// small int code for it. Codes are recycled once nothing refers to them any more.
+class StringTable {
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final Deque<Integer> freeCodes = new ArrayDeque<>();
+    private String[] values = new String[16];
+    private int[] referenceCounts = new int[16];
+    private int nextCode;
+
+    public int acquire(String value) {
+        Integer existing = codes.get(value);
+        if (existing != null) {
+            referenceCounts[existing]++;
+            return existing;
+        }
+        int code;
+        if (freeCodes.isEmpty()) {
+            code = nextCode++;
+            if (code == values.length) {
+                values = Arrays.copyOf(values, code * 2);
+                referenceCounts = Arrays.copyOf(referenceCounts, code * 2);
+            }
+        } else {
+            code = freeCodes.pop();
+        }
+        values[code] = value;
+        referenceCounts[code] = 1;
+        codes.put(value, code);
+        return code;
+    }
+
+    public void release(int code) {
+        if (--referenceCounts[code] == 0) {
+            codes.remove(values[code]);
+            values[code] = null;
+            freeCodes.push(code);
+        }
+    }
+
+    public String get(int code) {
+        return values[code];
+    }
+
+    // Code of a string that is currently in the table, or -1
+    public int find(String value) {
+        Integer code = codes.get(value);
+        return code == null ? -1 : code;
+    }
+
+    // The strings by code, with null for unused codes
+    public String[] copyValues() {
+        return Arrays.copyOf(values, nextCode);
+    }
+
+    public int size() {
+        return codes.size();
+    }
+
+    public void clear() {
+        codes.clear();
+        freeCodes.clear();
+        Arrays.fill(values, null);
+        Arrays.fill(referenceCounts, 0);
+        nextCode = 0;
+    }
+}
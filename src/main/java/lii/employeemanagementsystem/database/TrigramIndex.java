@@ -0,0 +1,179 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.model.Employee;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Case-folded trigram inverted index for substring search over one text field.
+// Every indexed employee gets a small document id; each trigram maps to a sorted
+// list of the document ids containing it, so a search intersects the posting lists
+// of the term's trigrams and only verifies the surviving candidates.
+class TrigramIndex<T> {
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Employee<T>, Integer> documentIds = new HashMap<>();
+    private final List<Employee<T>> documents = new ArrayList<>();
+    private final List<String> foldedTexts = new ArrayList<>();
+    private final Deque<Integer> freeIds = new ArrayDeque<>();
+
+    // Sorted, duplicate-free list of document ids
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        private void add(int id) {
+            int position = size > 0 && ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0 && position < size) {
+                return;
+            }
+            if (position < 0) {
+                position = -position - 1;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        private boolean remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        private boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+
+    public static String fold(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    public void add(String text, Employee<T> employee) {
+        if (text == null || documentIds.containsKey(employee)) {
+            return;
+        }
+        String folded = fold(text);
+        int id;
+        if (freeIds.isEmpty()) {
+            id = documents.size();
+            documents.add(employee);
+            foldedTexts.add(folded);
+        } else {
+            id = freeIds.pop();
+            documents.set(id, employee);
+            foldedTexts.set(id, folded);
+        }
+        documentIds.put(employee, id);
+        for (int i = 0; i + 3 <= folded.length(); i++) {
+            postings.computeIfAbsent(trigram(folded, i), key -> new Postings()).add(id);
+        }
+    }
+
+    public void remove(Employee<T> employee) {
+        Integer id = documentIds.remove(employee);
+        if (id == null) {
+            return;
+        }
+        String folded = foldedTexts.get(id);
+        for (int i = 0; i + 3 <= folded.length(); i++) {
+            long key = trigram(folded, i);
+            Postings list = postings.get(key);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(key);
+            }
+        }
+        documents.set(id, null);
+        foldedTexts.set(id, null);
+        freeIds.push(id);
+    }
+
+    public void update(String newText, Employee<T> employee) {
+        remove(employee);
+        add(newText, employee);
+    }
+
+    // Employees whose folded text contains the already folded term
+    public List<Employee<T>> search(String foldedTerm) {
+        List<Employee<T>> result = new ArrayList<>();
+        if (foldedTerm.length() < 3) {
+            // Too short to form a trigram; the cached folded texts still avoid re-lowercasing
+            for (int id = 0; id < foldedTexts.size(); id++) {
+                String folded = foldedTexts.get(id);
+                if (folded != null && folded.contains(foldedTerm)) {
+                    result.add(documents.get(id));
+                }
+            }
+            return result;
+        }
+
+        Postings[] lists = new Postings[foldedTerm.length() - 2];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(trigram(foldedTerm, i));
+            if (lists[i] == null) {
+                return result;
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+        Postings smallest = lists[0];
+        candidates:
+        for (int i = 0; i < smallest.size; i++) {
+            int id = smallest.ids[i];
+            for (int j = 1; j < lists.length; j++) {
+                if (!lists[j].contains(id)) {
+                    continue candidates;
+                }
+            }
+            // Sharing every trigram does not guarantee a contiguous match
+            if (foldedTexts.get(id).contains(foldedTerm)) {
+                result.add(documents.get(id));
+            }
+        }
+        return result;
+    }
+
+    // Upper bound on the number of matches for the folded term: the shortest posting list
+    // among its trigrams, or every document when the term is too short to form one
+    public int estimate(String foldedTerm) {
+        if (foldedTerm.length() < 3) {
+            return documentIds.size();
+        }
+        int smallest = Integer.MAX_VALUE;
+        for (int i = 0; i + 3 <= foldedTerm.length(); i++) {
+            Postings list = postings.get(trigram(foldedTerm, i));
+            if (list == null) {
+                return 0;
+            }
+            smallest = Math.min(smallest, list.size);
+        }
+        return smallest;
+    }
+
+    public void clear() {
+        postings.clear();
+        documentIds.clear();
+        documents.clear();
+        foldedTexts.clear();
+        freeIds.clear();
+    }
+
+    // 21 bits per char, so Long.hashCode (high ^ low word) keeps ASCII trigrams apart
+    private static long trigram(String text, int offset) {
+        return ((long) text.charAt(offset) << 42) | ((long) text.charAt(offset + 1) << 21) | text.charAt(offset + 2);
+    }
+}
@@ -4,154 +4,421 @@ import javafx.beans.property.*;
 import lii.employeemanagementsystem.customExceptions.InvalidDepartmentException;
 import lii.employeemanagementsystem.customExceptions.InvalidPerformanceRatingException;
 import lii.employeemanagementsystem.customExceptions.InvalidSalaryException;
+import lii.employeemanagementsystem.customExceptions.InvalidYearsOfExperienceException;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.Arrays;
 import java.util.Objects;
 
 public class Employee<T> implements Comparable<Employee<T>> {
-    private final ObjectProperty<T> employeeId = new SimpleObjectProperty<>();
-    private final StringProperty name = new SimpleStringProperty();
-    private final StringProperty department = new SimpleStringProperty();
-    private final DoubleProperty salary = new SimpleDoubleProperty();
-    private final DoubleProperty performanceRating = new SimpleDoubleProperty();
-    private final IntegerProperty yearsOfExperience = new SimpleIntegerProperty();
-    private final BooleanProperty active = new SimpleBooleanProperty();
-    private final StringProperty profilePicture = new SimpleStringProperty();
+    // Plain fields hold the data; headless code never touches JavaFX
+    private T employeeId;
+    private String name;
+    private String department;
+    // Money and ratings are fixed point, rounded once when set: salary in cents, rating in
+    // tenths. The double getters and setters are views over these.
+    private long salaryCents;
+    private int performanceRatingTenths;
+    private int yearsOfExperience;
+    private boolean active;
+    private String profilePicture;
+
+    // JavaFX properties are only created when something (e.g. a TableView cell) asks for them.
+    // Once created, a property writes every change back into its plain field.
+    private ObjectProperty<T> employeeIdProperty;
+    private StringProperty nameProperty;
+    private StringProperty departmentProperty;
+    private DoubleProperty salaryProperty;
+    private DoubleProperty performanceRatingProperty;
+    private IntegerProperty yearsOfExperienceProperty;
+    private BooleanProperty activeProperty;
+    private StringProperty profilePictureProperty;
+
+    private volatile EmployeeChangeListener<T>[] changeListeners;
 
     // Employee Constructor
     public Employee(T employeeId, String name, String department, double salary, double performanceRating,
                     int yearsOfExperience, boolean active, String profilePicture) {
-        this.employeeId.set(employeeId);
-        this.name.set(name);
-        this.department.set(department);
-        this.salary.set(salary);
-        this.performanceRating.set(roundToOneDecimalPlace(performanceRating));
-        this.yearsOfExperience.set(yearsOfExperience);
-        this.active.set(active);
-        this.profilePicture.set(profilePicture);
+        this.employeeId = employeeId;
+        this.name = name;
+        this.department = department;
+        this.salaryCents = toCents(salary);
+        this.performanceRatingTenths = toTenths(performanceRating);
+        this.yearsOfExperience = yearsOfExperience;
+        this.active = active;
+        this.profilePicture = profilePicture;
     }
 
-    private double roundToOneDecimalPlace(double value) {
-        return BigDecimal.valueOf(value)
-                .setScale(1, RoundingMode.HALF_UP)
-                .doubleValue();
+    public static double roundToOneDecimalPlace(double value) {
+        return roundScaled(value, 10) / 10.0;
     }
+
+    // The value in whole cents, rounded half up
+    public static long toCents(double value) {
+        return roundScaled(value, 100);
+    }
+
+    // The value in whole tenths, rounded half up
+    public static int toTenths(double value) {
+        return (int) roundScaled(value, 10);
+    }
+
+    // value * scale rounded half up (away from zero) to a whole number, using integer
+    // arithmetic on the floor. A product such as 2.675 * 100 lands a few ulps below the
+    // half; it is rounded up like the decimal it was written as, matching BigDecimal.valueOf.
+    private static long roundScaled(double value, int scale) {
+        double scaled = Math.abs(value) * scale;
+        double floor = Math.floor(scaled);
+        long rounded = (long) floor;
+        if (scaled - floor >= 0.5 - 4 * Math.ulp(scaled)) {
+            rounded++;
+        }
+        return value < 0 ? -rounded : rounded;
+    }
+
+    // Change listeners
+    @SuppressWarnings("unchecked")
+    public synchronized void addChangeListener(EmployeeChangeListener<T> listener) {
+        EmployeeChangeListener<T>[] current = changeListeners;
+        if (current == null) {
+            changeListeners = new EmployeeChangeListener[]{listener};
+        } else {
+            EmployeeChangeListener<T>[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = listener;
+            changeListeners = updated;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized void removeChangeListener(EmployeeChangeListener<T> listener) {
+        EmployeeChangeListener<T>[] current = changeListeners;
+        if (current == null) {
+            return;
+        }
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                if (current.length == 1) {
+                    changeListeners = null;
+                } else {
+                    EmployeeChangeListener<T>[] updated = new EmployeeChangeListener[current.length - 1];
+                    System.arraycopy(current, 0, updated, 0, i);
+                    System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                    changeListeners = updated;
+                }
+                return;
+            }
+        }
+    }
+
     // Getters and Setters
     public ObjectProperty<T> employeeIdProperty() {
-        return employeeId;
+        if (employeeIdProperty == null) {
+            employeeIdProperty = new SimpleObjectProperty<>(this, "employeeId", employeeId) {
+                @Override
+                protected void invalidated() {
+                    employeeId = get();
+                }
+            };
+        }
+        return employeeIdProperty;
     }
 
     public StringProperty nameProperty() {
-        return name;
+        if (nameProperty == null) {
+            nameProperty = new SimpleStringProperty(this, "name", name) {
+                @Override
+                protected void invalidated() {
+                    updateName(get());
+                }
+            };
+        }
+        return nameProperty;
     }
 
     public StringProperty departmentProperty() {
-        return department;
+        if (departmentProperty == null) {
+            departmentProperty = new SimpleStringProperty(this, "department", department) {
+                @Override
+                protected void invalidated() {
+                    updateDepartment(get());
+                }
+            };
+        }
+        return departmentProperty;
     }
 
     public DoubleProperty salaryProperty() {
-        return salary;
+        if (salaryProperty == null) {
+            salaryProperty = new SimpleDoubleProperty(this, "salary", getSalary()) {
+                @Override
+                protected void invalidated() {
+                    updateSalary(get());
+                    // The property holds the stored value, in whole cents
+                    if (get() != getSalary()) {
+                        set(getSalary());
+                    }
+                }
+            };
+        }
+        return salaryProperty;
     }
 
     public DoubleProperty performanceRatingProperty() {
-        return performanceRating;
+        if (performanceRatingProperty == null) {
+            performanceRatingProperty = new SimpleDoubleProperty(this, "performanceRating", getPerformanceRating()) {
+                @Override
+                protected void invalidated() {
+                    updatePerformanceRating(get());
+                    // The property holds the stored value, in whole tenths
+                    if (get() != getPerformanceRating()) {
+                        set(getPerformanceRating());
+                    }
+                }
+            };
+        }
+        return performanceRatingProperty;
     }
 
     public IntegerProperty yearsOfExperienceProperty() {
-        return yearsOfExperience;
+        if (yearsOfExperienceProperty == null) {
+            yearsOfExperienceProperty = new SimpleIntegerProperty(this, "yearsOfExperience", yearsOfExperience) {
+                @Override
+                protected void invalidated() {
+                    updateYearsOfExperience(get());
+                }
+            };
+        }
+        return yearsOfExperienceProperty;
     }
 
     public BooleanProperty activeProperty() {
-        return active;
+        if (activeProperty == null) {
+            activeProperty = new SimpleBooleanProperty(this, "active", active) {
+                @Override
+                protected void invalidated() {
+                    updateActive(get());
+                }
+            };
+        }
+        return activeProperty;
     }
 
     public StringProperty profilePictureProperty() {
-        return profilePicture;
+        if (profilePictureProperty == null) {
+            profilePictureProperty = new SimpleStringProperty(this, "profilePicture", profilePicture) {
+                @Override
+                protected void invalidated() {
+                    updateProfilePicture(get());
+                }
+            };
+        }
+        return profilePictureProperty;
     }
 
     public T getEmployeeId() {
-        return employeeId.get();
+        return employeeId;
     }
 
     public void setEmployeeId(T employeeId) {
-        this.employeeId.set(employeeId);
+        if (employeeIdProperty != null) {
+            employeeIdProperty.set(employeeId);
+        } else {
+            this.employeeId = employeeId;
+        }
     }
 
     public String getName() {
-        return name.get();
+        return name;
     }
 
     public void setName(String name) {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Name cannot be null or empty.");
         }
-        this.name.set(name);
+        if (nameProperty != null) {
+            nameProperty.set(name);
+        } else {
+            updateName(name);
+        }
     }
 
     public String getDepartment() {
-        return department.get();
+        return department;
     }
 
     public void setDepartment(String department) {
         if (department == null || department.trim().isEmpty()) {
             throw new InvalidDepartmentException("Department cannot be null or empty.");
         }
-
-        this.department.set(department);
+        if (departmentProperty != null) {
+            departmentProperty.set(department);
+        } else {
+            updateDepartment(department);
+        }
     }
 
     public double getSalary() {
-        return roundToOneDecimalPlace(salary.get());
+        return salaryCents / 100.0;
+    }
+
+    public long getSalaryCents() {
+        return salaryCents;
     }
 
     public void setSalary(double salary) {
         if (salary < 0) {
             throw new InvalidSalaryException("Salary cannot be negative.");
         }
-        this.salary.set(salary);
+        if (salaryProperty != null) {
+            salaryProperty.set(toCents(salary) / 100.0);
+        } else {
+            updateSalary(salary);
+        }
     }
 
 
     public double getPerformanceRating() {
-        return performanceRating.get();
+        return performanceRatingTenths / 10.0;
+    }
+
+    public int getPerformanceRatingTenths() {
+        return performanceRatingTenths;
     }
 
     public void setPerformanceRating(double performanceRating) {
         if (performanceRating < 0 || performanceRating > 5) {
             throw new InvalidPerformanceRatingException("Performance rating must be between 0 and 5.");
         }
-        this.performanceRating.set(roundToOneDecimalPlace(performanceRating));
+        double rounded = roundToOneDecimalPlace(performanceRating);
+        if (performanceRatingProperty != null) {
+            performanceRatingProperty.set(rounded);
+        } else {
+            updatePerformanceRating(rounded);
+        }
     }
 
     public int getYearsOfExperience() {
-        return yearsOfExperience.get();
+        return yearsOfExperience;
     }
 
     public void setYearsOfExperience(int yearsOfExperience) {
-        this.yearsOfExperience.set(yearsOfExperience);
+        if (yearsOfExperience < 0) {
+            throw new InvalidYearsOfExperienceException("Years of experience cannot be negative.");
+        }
+        if (yearsOfExperienceProperty != null) {
+            yearsOfExperienceProperty.set(yearsOfExperience);
+        } else {
+            updateYearsOfExperience(yearsOfExperience);
+        }
     }
 
     public boolean isActive() {
-        return active.get();
+        return active;
     }
 
     public void setActive(boolean active) {
-        this.active.set(active);
+        if (activeProperty != null) {
+            activeProperty.set(active);
+        } else {
+            updateActive(active);
+        }
     }
 
     public String getProfilePicture() {
-        return profilePicture.get();
+        return profilePicture;
     }
 
     public void setProfilePicture(String profilePicture) {
-        this.profilePicture.set(profilePicture);
+        if (profilePictureProperty != null) {
+            profilePictureProperty.set(profilePicture);
+        } else {
+            updateProfilePicture(profilePicture);
+        }
+    }
+
+    // Field updates shared by the setters and the lazily created properties
+    private void updateName(String newName) {
+        String oldName = name;
+        name = newName;
+        EmployeeChangeListener<T>[] listeners = changeListeners;
+        if (listeners != null && !Objects.equals(oldName, newName)) {
+            for (EmployeeChangeListener<T> listener : listeners) {
+                listener.nameChanged(this, oldName, newName);
+            }
+        }
+    }
+
+    private void updateDepartment(String newDepartment) {
+        String oldDepartment = department;
+        department = newDepartment;
+        EmployeeChangeListener<T>[] listeners = changeListeners;
+        if (listeners != null && !Objects.equals(oldDepartment, newDepartment)) {
+            for (EmployeeChangeListener<T> listener : listeners) {
+                listener.departmentChanged(this, oldDepartment, newDepartment);
+            }
+        }
+    }
+
+    private void updateSalary(double newSalary) {
+        long oldCents = salaryCents;
+        long newCents = toCents(newSalary);
+        salaryCents = newCents;
+        EmployeeChangeListener<T>[] listeners = changeListeners;
+        if (listeners != null && oldCents != newCents) {
+            for (EmployeeChangeListener<T> listener : listeners) {
+                listener.salaryChanged(this, oldCents / 100.0, newCents / 100.0);
+            }
+        }
+    }
+
+    private void updatePerformanceRating(double newRating) {
+        int oldTenths = performanceRatingTenths;
+        int newTenths = toTenths(newRating);
+        performanceRatingTenths = newTenths;
+        EmployeeChangeListener<T>[] listeners = changeListeners;
+        if (listeners != null && oldTenths != newTenths) {
+            for (EmployeeChangeListener<T> listener : listeners) {
+                listener.performanceRatingChanged(this, oldTenths / 10.0, newTenths / 10.0);
+            }
+        }
+    }
+
+    private void updateYearsOfExperience(int newYears) {
+        int oldYears = yearsOfExperience;
+        yearsOfExperience = newYears;
+        EmployeeChangeListener<T>[] listeners = changeListeners;
+        if (listeners != null && oldYears != newYears) {
+            for (EmployeeChangeListener<T> listener : listeners) {
+                listener.yearsOfExperienceChanged(this, oldYears, newYears);
+            }
+        }
+    }
+
+    private void updateActive(boolean newActive) {
+        boolean oldActive = active;
+        active = newActive;
+        EmployeeChangeListener<T>[] listeners = changeListeners;
+        if (listeners != null && oldActive != newActive) {
+            for (EmployeeChangeListener<T> listener : listeners) {
+                listener.activeChanged(this, newActive);
+            }
+        }
+    }
+
+    private void updateProfilePicture(String newPicture) {
+        String oldPicture = profilePicture;
+        profilePicture = newPicture;
+        EmployeeChangeListener<T>[] listeners = changeListeners;
+        if (listeners != null && !Objects.equals(oldPicture, newPicture)) {
+            for (EmployeeChangeListener<T> listener : listeners) {
+                listener.profilePictureChanged(this, oldPicture, newPicture);
+            }
+        }
     }
 
     // Implement Comparable to sort by years of experience (descending order)
     @Override
     public int compareTo(Employee<T> other) {
-        return Integer.compare(other.yearsOfExperience.get(), this.yearsOfExperience.get());
+        return Integer.compare(other.yearsOfExperience, this.yearsOfExperience);
     }
 
     // Override equals and hashCode for proper comparison and usage in collections
@@ -165,7 +432,7 @@ public class Employee<T> implements Comparable<Employee<T>> {
 
     @Override
     public int hashCode() {
-        return Objects.hash(employeeId);
+        return Objects.hashCode(employeeId);
     }
 
     // Override toString for better readability
@@ -175,11 +442,11 @@ public class Employee<T> implements Comparable<Employee<T>> {
                 "employeeId=" + employeeId +
                 ", name='" + name + '\'' +
                 ", department='" + department + '\'' +
-                ", salary=" + salary +
-                ", performanceRating=" + performanceRating +
+                ", salary=" + getSalary() +
+                ", performanceRating=" + getPerformanceRating() +
                 ", yearsOfExperience=" + yearsOfExperience +
                 ", isActive=" + active +
                 ", profilePicture='" + profilePicture + '\'' +
                 '}';
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package lii.employeemanagementsystem.model;
+
+// Receives field changes from an Employee without going through JavaFX properties.
+// Values are passed as primitives so notifying a listener never allocates.
+public interface EmployeeChangeListener<T> {
+    default void nameChanged(Employee<T> employee, String oldName, String newName) {
+    }
+
+    default void departmentChanged(Employee<T> employee, String oldDepartment, String newDepartment) {
+    }
+
+    default void salaryChanged(Employee<T> employee, double oldSalary, double newSalary) {
+    }
+
+    default void performanceRatingChanged(Employee<T> employee, double oldRating, double newRating) {
+    }
+
+    default void yearsOfExperienceChanged(Employee<T> employee, int oldYears, int newYears) {
+    }
+
+    default void activeChanged(Employee<T> employee, boolean active) {
+    }
+
+    default void profilePictureChanged(Employee<T> employee, String oldPicture, String newPicture) {
+    }
+}
@@ -0,0 +1,296 @@
+package lii.employeemanagementsystem.model;
+
+import lii.employeemanagementsystem.customExceptions.InvalidDepartmentException;
+import lii.employeemanagementsystem.customExceptions.InvalidPerformanceRatingException;
+import lii.employeemanagementsystem.customExceptions.InvalidSalaryException;
+import lii.employeemanagementsystem.customExceptions.InvalidYearsOfExperienceException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+// Typed descriptor of an updatable Employee field. Numeric and boolean fields have
+// primitive get/set overloads, e.g. EmployeeField.SALARY.set(employee, 55000.0).
+public abstract class EmployeeField<V> {
+    public static final StringField NAME = new StringField("name", Employee::getName, Employee::setName, value -> {
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Name cannot be null or empty.");
+        }
+    });
+    public static final StringField DEPARTMENT = new StringField("department", Employee::getDepartment, Employee::setDepartment, value -> {
+        if (value == null || value.trim().isEmpty()) {
+            throw new InvalidDepartmentException("Department cannot be null or empty.");
+        }
+    });
+    public static final DoubleField SALARY = new DoubleField("salary", Employee::getSalary, Employee::setSalary, value -> {
+        if (value < 0) {
+            throw new InvalidSalaryException("Salary cannot be negative.");
+        }
+    });
+    public static final DoubleField PERFORMANCE_RATING = new DoubleField("performanceRating", Employee::getPerformanceRating, Employee::setPerformanceRating, value -> {
+        if (value < 0 || value > 5) {
+            throw new InvalidPerformanceRatingException("Performance rating must be between 0 and 5.");
+        }
+    });
+    public static final IntField YEARS_OF_EXPERIENCE = new IntField("yearsOfExperience", Employee::getYearsOfExperience, Employee::setYearsOfExperience, value -> {
+        if (value < 0) {
+            throw new InvalidYearsOfExperienceException("Years of experience cannot be negative.");
+        }
+    });
+    public static final BooleanField ACTIVE = new BooleanField("active", Employee::isActive, Employee::setActive);
+    public static final StringField PROFILE_PICTURE = new StringField("profilePicture", Employee::getProfilePicture, Employee::setProfilePicture, value -> {
+    });
+
+    private static final List<EmployeeField<?>> VALUES = List.of(NAME, DEPARTMENT, SALARY, PERFORMANCE_RATING, YEARS_OF_EXPERIENCE, ACTIVE, PROFILE_PICTURE);
+    private static final Map<String, EmployeeField<?>> BY_NAME = new HashMap<>();
+
+    static {
+        for (EmployeeField<?> field : VALUES) {
+            BY_NAME.put(field.getName(), field);
+            BY_NAME.put(field.getName().toLowerCase(Locale.ROOT), field);
+        }
+        // Name used by the original string-based update API
+        BY_NAME.put("isactive", ACTIVE);
+    }
+
+    private final String name;
+    private final Class<V> type;
+
+    private EmployeeField(String name, Class<V> type) {
+        this.name = name;
+        this.type = type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<V> getType() {
+        return type;
+    }
+
+    public abstract V get(Employee<?> employee);
+
+    public abstract void set(Employee<?> employee, V value);
+
+    // Throws the same exception the Employee setter would throw for this value
+    public abstract void validate(V value);
+
+    // Checks the runtime type of an untyped value instead of failing with a ClassCastException
+    public V cast(Object value) {
+        if (value != null && !type.isInstance(value)) {
+            throw new IllegalArgumentException("Invalid value for field " + name + ": expected "
+                    + type.getSimpleName() + " but got " + value.getClass().getSimpleName());
+        }
+        return type.cast(value);
+    }
+
+    // Looks a field up by name, ignoring case
+    public static EmployeeField<?> forName(String name) {
+        EmployeeField<?> field = name == null ? null : BY_NAME.get(name);
+        if (field == null && name != null) {
+            field = BY_NAME.get(name.toLowerCase(Locale.ROOT));
+        }
+        if (field == null) {
+            throw new IllegalArgumentException("Invalid field: " + name);
+        }
+        return field;
+    }
+
+    public static List<EmployeeField<?>> values() {
+        return Collections.unmodifiableList(VALUES);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    public static final class StringField extends EmployeeField<String> {
+        private final Function<Employee<?>, String> getter;
+        private final BiConsumer<Employee<?>, String> setter;
+        private final Consumer<String> validator;
+
+        private StringField(String name, Function<Employee<?>, String> getter, BiConsumer<Employee<?>, String> setter,
+                            Consumer<String> validator) {
+            super(name, String.class);
+            this.getter = getter;
+            this.setter = setter;
+            this.validator = validator;
+        }
+
+        @Override
+        public String get(Employee<?> employee) {
+            return getter.apply(employee);
+        }
+
+        @Override
+        public void set(Employee<?> employee, String value) {
+            setter.accept(employee, value);
+        }
+
+        @Override
+        public void validate(String value) {
+            validator.accept(value);
+        }
+    }
+
+    public static final class DoubleField extends EmployeeField<Double> {
+        private final ToDoubleFunction<Employee<?>> getter;
+        private final ObjDoubleConsumer<Employee<?>> setter;
+        private final DoubleConsumer validator;
+
+        private DoubleField(String name, ToDoubleFunction<Employee<?>> getter, ObjDoubleConsumer<Employee<?>> setter,
+                            DoubleConsumer validator) {
+            super(name, Double.class);
+            this.getter = getter;
+            this.setter = setter;
+            this.validator = validator;
+        }
+
+        public double getDouble(Employee<?> employee) {
+            return getter.applyAsDouble(employee);
+        }
+
+        public void set(Employee<?> employee, double value) {
+            setter.accept(employee, value);
+        }
+
+        public void validate(double value) {
+            validator.accept(value);
+        }
+
+        @Override
+        public Double get(Employee<?> employee) {
+            return getDouble(employee);
+        }
+
+        @Override
+        public void set(Employee<?> employee, Double value) {
+            set(employee, cast(value).doubleValue());
+        }
+
+        @Override
+        public void validate(Double value) {
+            validate(cast(value).doubleValue());
+        }
+
+        // Any number is accepted, e.g. an Integer salary
+        @Override
+        public Double cast(Object value) {
+            if (value instanceof Number number) {
+                return number.doubleValue();
+            }
+            if (value == null) {
+                throw new IllegalArgumentException("Value for field " + getName() + " cannot be null.");
+            }
+            return super.cast(value);
+        }
+    }
+
+    public static final class IntField extends EmployeeField<Integer> {
+        private final ToIntFunction<Employee<?>> getter;
+        private final ObjIntConsumer<Employee<?>> setter;
+        private final IntConsumer validator;
+
+        private IntField(String name, ToIntFunction<Employee<?>> getter, ObjIntConsumer<Employee<?>> setter,
+                         IntConsumer validator) {
+            super(name, Integer.class);
+            this.getter = getter;
+            this.setter = setter;
+            this.validator = validator;
+        }
+
+        public int getInt(Employee<?> employee) {
+            return getter.applyAsInt(employee);
+        }
+
+        public void set(Employee<?> employee, int value) {
+            setter.accept(employee, value);
+        }
+
+        public void validate(int value) {
+            validator.accept(value);
+        }
+
+        @Override
+        public Integer get(Employee<?> employee) {
+            return getInt(employee);
+        }
+
+        @Override
+        public void set(Employee<?> employee, Integer value) {
+            set(employee, cast(value).intValue());
+        }
+
+        @Override
+        public void validate(Integer value) {
+            validate(cast(value).intValue());
+        }
+
+        @Override
+        public Integer cast(Object value) {
+            if (value instanceof Short || value instanceof Byte) {
+                return ((Number) value).intValue();
+            }
+            if (value == null) {
+                throw new IllegalArgumentException("Value for field " + getName() + " cannot be null.");
+            }
+            return super.cast(value);
+        }
+    }
+
+    public static final class BooleanField extends EmployeeField<Boolean> {
+        private final Predicate<Employee<?>> getter;
+        private final BiConsumer<Employee<?>, Boolean> setter;
+
+        private BooleanField(String name, Predicate<Employee<?>> getter, BiConsumer<Employee<?>, Boolean> setter) {
+            super(name, Boolean.class);
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        public boolean getBoolean(Employee<?> employee) {
+            return getter.test(employee);
+        }
+
+        public void set(Employee<?> employee, boolean value) {
+            setter.accept(employee, value);
+        }
+
+        @Override
+        public Boolean get(Employee<?> employee) {
+            return getBoolean(employee);
+        }
+
+        @Override
+        public void set(Employee<?> employee, Boolean value) {
+            set(employee, cast(value).booleanValue());
+        }
+
+        @Override
+        public void validate(Boolean value) {
+            cast(value);
+        }
+
+        @Override
+        public Boolean cast(Object value) {
+            if (value == null) {
+                throw new IllegalArgumentException("Value for field " + getName() + " cannot be null.");
+            }
+            return super.cast(value);
+        }
+    }
+}
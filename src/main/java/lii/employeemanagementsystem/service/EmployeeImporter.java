@@ -0,0 +1,649 @@
+package lii.employeemanagementsystem.service;
+
+import lii.employeemanagementsystem.database.EmployeeDatabase;
+import lii.employeemanagementsystem.model.Employee;
+import lii.employeemanagementsystem.model.EmployeeField;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Bulk import of employees from CSV or JSON files.
+//
+// The file is read sequentially through a FileChannel and cut into chunks of whole records.
+// Chunks are parsed and validated on a pool of worker threads, then inserted in file order,
+// one EmployeeDatabase.addEmployees batch per chunk. Only a fixed number of chunks are in
+// flight at once, so memory stays bounded however large the file is. Bad rows are reported
+// in the ImportResult and skipped; the rest of the file is still imported.
+//
+// CSV files need a header row naming the columns (name, department, salary, performanceRating,
+// yearsOfExperience, and optionally active, profilePicture and employeeId). JSON files hold
+// flat objects with the same keys, either in one top-level array or one object per line.
+// Rows without an employeeId get one from the ID generator.
+public class EmployeeImporter<T> {
+    public enum Format {
+        CSV, JSON
+    }
+
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    // Value slots of a record: one per EmployeeField, then the ID
+    private static final List<EmployeeField<?>> FIELDS = EmployeeField.values();
+    private static final int ID_SLOT = FIELDS.size();
+    private static final int SLOT_COUNT = FIELDS.size() + 1;
+    private static final List<EmployeeField<?>> REQUIRED_FIELDS = List.of(EmployeeField.NAME, EmployeeField.DEPARTMENT,
+            EmployeeField.SALARY, EmployeeField.PERFORMANCE_RATING, EmployeeField.YEARS_OF_EXPERIENCE);
+
+    private final EmployeeDatabase<T> database;
+    private final Function<String, T> idParser;
+    private final Supplier<T> idGenerator;
+    private final int chunkSize;
+    private final int parallelism;
+
+    public EmployeeImporter(EmployeeDatabase<T> database, Function<String, T> idParser, Supplier<T> idGenerator) {
+        this(database, idParser, idGenerator, DEFAULT_CHUNK_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    EmployeeImporter(EmployeeDatabase<T> database, Function<String, T> idParser, Supplier<T> idGenerator,
+                     int chunkSize, int parallelism) {
+        this.database = database;
+        this.idParser = idParser;
+        this.idGenerator = idGenerator;
+        this.chunkSize = chunkSize;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    // Picks the format from the file extension
+    public static Format formatOf(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return Format.CSV;
+        }
+        if (name.endsWith(".json") || name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return Format.JSON;
+        }
+        throw new IllegalArgumentException("Unsupported import file: " + file.getFileName());
+    }
+
+    public ImportResult importFile(Path file) throws IOException {
+        return importFile(file, formatOf(file));
+    }
+
+    public ImportResult importFile(Path file, Format format) throws IOException {
+        ImportResult result = new ImportResult();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "employee-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Deque<Future<ParsedChunk<T>>> inFlight = new ArrayDeque<>();
+        int maxInFlight = 2 * parallelism;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            RecordScanner scanner = new RecordScanner(format);
+            int[] columnSlots = null;
+            byte[] buffer = new byte[2 * chunkSize];
+            int length = 0;
+            int scanned = 0;
+            int boundary = 0;
+            long records = 0;
+            long nextRow = 1;
+            boolean endOfFile = false;
+            while (!endOfFile) {
+                if (length == buffer.length) {
+                    // A single record longer than the buffer
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                int read = channel.read(ByteBuffer.wrap(buffer, length, buffer.length - length));
+                if (read < 0) {
+                    endOfFile = true;
+                } else {
+                    length += read;
+                }
+
+                int end;
+                while ((end = scanner.next(buffer, scanned, length)) >= 0) {
+                    scanned = end;
+                    if (format == Format.CSV && columnSlots == null) {
+                        columnSlots = readHeader(buffer, end);
+                        System.arraycopy(buffer, end, buffer, 0, length - end);
+                        length -= end;
+                        scanned = 0;
+                        continue;
+                    }
+                    boundary = end;
+                    records++;
+                }
+                scanned = length;
+                if (endOfFile && format == Format.CSV && columnSlots == null && length > 0) {
+                    columnSlots = readHeader(buffer, length);
+                    length = 0;
+                }
+
+                if (boundary >= chunkSize || (endOfFile && length > 0)) {
+                    // The last chunk also carries a final record with no line break after it
+                    int chunkEnd = endOfFile ? length : boundary;
+                    Chunk chunk = new Chunk(Arrays.copyOf(buffer, chunkEnd), nextRow, format, columnSlots);
+                    inFlight.add(workers.submit(() -> parse(chunk)));
+                    if (inFlight.size() >= maxInFlight) {
+                        insert(await(inFlight.poll()), result);
+                    }
+                    nextRow += records;
+                    records = 0;
+                    System.arraycopy(buffer, chunkEnd, buffer, 0, length - chunkEnd);
+                    length -= chunkEnd;
+                    scanned -= chunkEnd;
+                    boundary = 0;
+                }
+            }
+            if (format == Format.CSV && columnSlots == null) {
+                throw new IllegalArgumentException("CSV file has no header row.");
+            }
+            while (!inFlight.isEmpty()) {
+                insert(await(inFlight.poll()), result);
+            }
+            return result;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error importing employees: " + e.getMessage());
+            throw e;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    // Runs on the importing thread, one chunk at a time in file order, so the first of two rows
+    // with the same ID is the one that is kept
+    private void insert(ParsedChunk<T> chunk, ImportResult result) {
+        for (Employee<T> employee : chunk.employees) {
+            if (employee.getEmployeeId() == null) {
+                employee.setEmployeeId(idGenerator.get());
+            }
+        }
+        List<ImportResult.RowError> rejected = new ArrayList<>();
+        int added = database.addEmployees(chunk.employees,
+                (error, index) -> rejected.add(new ImportResult.RowError(chunk.rows[index], error.getMessage())));
+        result.addImported(added);
+
+        // Merge both error lists back into row order
+        int i = 0;
+        int j = 0;
+        while (i < chunk.errors.size() || j < rejected.size()) {
+            ImportResult.RowError next;
+            if (j == rejected.size() || (i < chunk.errors.size() && chunk.errors.get(i).getRow() < rejected.get(j).getRow())) {
+                next = chunk.errors.get(i++);
+            } else {
+                next = rejected.get(j++);
+            }
+            result.addError(next.getRow(), next.getMessage());
+        }
+    }
+
+    private static <R> R await(Future<R> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    // Maps each CSV column to its value slot, -1 for columns that are ignored
+    private static int[] readHeader(byte[] buffer, int end) {
+        int start = 0;
+        if (end >= 3 && (buffer[0] & 0xFF) == 0xEF && (buffer[1] & 0xFF) == 0xBB && (buffer[2] & 0xFF) == 0xBF) {
+            start = 3; // UTF-8 byte order mark
+        }
+        List<String> names = new ArrayList<>();
+        splitCsvRecord(buffer, start, end, names);
+        int[] slots = new int[names.size()];
+        boolean[] present = new boolean[SLOT_COUNT];
+        for (int column = 0; column < slots.length; column++) {
+            int slot = slotOf(names.get(column).trim());
+            if (slot >= 0 && present[slot]) {
+                throw new IllegalArgumentException("Duplicate column: " + names.get(column).trim());
+            }
+            slots[column] = slot;
+            if (slot >= 0) {
+                present[slot] = true;
+            }
+        }
+        for (EmployeeField<?> field : REQUIRED_FIELDS) {
+            if (!present[FIELDS.indexOf(field)]) {
+                throw new IllegalArgumentException("Missing column: " + field.getName());
+            }
+        }
+        return slots;
+    }
+
+    private static int slotOf(String name) {
+        if (name.equalsIgnoreCase("employeeId") || name.equalsIgnoreCase("id")) {
+            return ID_SLOT;
+        }
+        try {
+            return FIELDS.indexOf(EmployeeField.forName(name));
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    // Worker side: split a chunk into records, parse and validate each one
+    private ParsedChunk<T> parse(Chunk chunk) {
+        ParsedChunk<T> parsed = new ParsedChunk<>();
+        RecordScanner scanner = new RecordScanner(chunk.format);
+        byte[] data = chunk.data;
+        List<String> values = new ArrayList<>();
+        long row = chunk.firstRow;
+        int start = 0;
+        while (start < data.length) {
+            int end = scanner.next(data, start, data.length);
+            if (end < 0) {
+                if (isBlank(data, start, data.length, chunk.format)) {
+                    break;
+                }
+                end = data.length;
+            }
+            try {
+                String[] slots = chunk.format == Format.CSV
+                        ? csvValues(data, start, end, chunk.columnSlots, values)
+                        : jsonValues(data, start, end);
+                if (slots != null) {
+                    Employee<T> employee = toEmployee(slots);
+                    EmployeeDatabase.validateEmployee(employee);
+                    parsed.add(employee, row);
+                }
+            } catch (RuntimeException e) {
+                parsed.errors.add(new ImportResult.RowError(row, e.getMessage()));
+            }
+            row++;
+            start = end;
+        }
+        return parsed;
+    }
+
+    private Employee<T> toEmployee(String[] slots) {
+        String id = slots[ID_SLOT];
+        T employeeId = null;
+        if (id != null && !id.isBlank()) {
+            try {
+                employeeId = idParser.apply(id.trim());
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid employeeId: '" + id + "'");
+            }
+        }
+        String active = slot(slots, EmployeeField.ACTIVE);
+        String picture = slot(slots, EmployeeField.PROFILE_PICTURE);
+        return new Employee<>(employeeId,
+                slot(slots, EmployeeField.NAME),
+                slot(slots, EmployeeField.DEPARTMENT),
+                parseDouble(slots, EmployeeField.SALARY),
+                parseDouble(slots, EmployeeField.PERFORMANCE_RATING),
+                parseInt(slots, EmployeeField.YEARS_OF_EXPERIENCE),
+                active == null || active.isBlank() || parseBoolean(active),
+                picture == null || picture.isEmpty() ? null : picture);
+    }
+
+    private static String slot(String[] slots, EmployeeField<?> field) {
+        return slots[FIELDS.indexOf(field)];
+    }
+
+    private static double parseDouble(String[] slots, EmployeeField<?> field) {
+        String value = required(slots, field);
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + field.getName() + ": '" + value + "'");
+        }
+    }
+
+    private static int parseInt(String[] slots, EmployeeField<?> field) {
+        String value = required(slots, field);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + field.getName() + ": '" + value + "'");
+        }
+    }
+
+    private static boolean parseBoolean(String value) {
+        String trimmed = value.trim();
+        if (trimmed.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (trimmed.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Invalid active: '" + value + "'");
+    }
+
+    private static String required(String[] slots, EmployeeField<?> field) {
+        String value = slot(slots, field);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing " + field.getName() + ".");
+        }
+        return value.trim();
+    }
+
+    // CSV record to value slots, or null for a blank line
+    private static String[] csvValues(byte[] data, int start, int end, int[] columnSlots, List<String> values) {
+        values.clear();
+        splitCsvRecord(data, start, end, values);
+        if (values.size() == 1 && values.get(0).isBlank()) {
+            return null;
+        }
+        if (values.size() != columnSlots.length) {
+            throw new IllegalArgumentException("Expected " + columnSlots.length + " columns but found " + values.size() + ".");
+        }
+        String[] slots = new String[SLOT_COUNT];
+        for (int column = 0; column < columnSlots.length; column++) {
+            if (columnSlots[column] >= 0) {
+                slots[columnSlots[column]] = values.get(column);
+            }
+        }
+        return slots;
+    }
+
+    // RFC 4180 fields: comma separated, optionally quoted with "" for a literal quote
+    private static void splitCsvRecord(byte[] data, int start, int end, List<String> values) {
+        if (end > start && data[end - 1] == '\n') {
+            end--;
+        }
+        if (end > start && data[end - 1] == '\r') {
+            end--;
+        }
+        int position = start;
+        while (true) {
+            if (position < end && data[position] == '"') {
+                ByteArrayOutputStream field = new ByteArrayOutputStream();
+                position++;
+                while (position < end) {
+                    if (data[position] == '"') {
+                        if (position + 1 < end && data[position + 1] == '"') {
+                            field.write('"');
+                            position += 2;
+                            continue;
+                        }
+                        position++;
+                        break;
+                    }
+                    field.write(data[position++]);
+                }
+                values.add(field.toString(StandardCharsets.UTF_8));
+                while (position < end && data[position] != ',') {
+                    position++;
+                }
+            } else {
+                int fieldStart = position;
+                while (position < end && data[position] != ',') {
+                    position++;
+                }
+                values.add(new String(data, fieldStart, position - fieldStart, StandardCharsets.UTF_8));
+            }
+            if (position >= end) {
+                return;
+            }
+            position++; // the comma
+        }
+    }
+
+    // One flat JSON object to value slots. Keys that are not employee fields are ignored.
+    private static String[] jsonValues(byte[] data, int start, int end) {
+        JsonCursor cursor = new JsonCursor(data, start, end);
+        cursor.skipSeparators();
+        cursor.expect('{');
+        String[] slots = new String[SLOT_COUNT];
+        cursor.skipWhitespace();
+        if (cursor.peek() == '}') {
+            return slots;
+        }
+        while (true) {
+            cursor.skipWhitespace();
+            String key = cursor.readString();
+            cursor.skipWhitespace();
+            cursor.expect(':');
+            cursor.skipWhitespace();
+            String value = cursor.readValue(key);
+            int slot = slotOf(key);
+            if (slot >= 0) {
+                slots[slot] = value;
+            }
+            cursor.skipWhitespace();
+            if (cursor.peek() == ',') {
+                cursor.position++;
+            } else {
+                cursor.expect('}');
+                return slots;
+            }
+        }
+    }
+
+    private static boolean isBlank(byte[] data, int start, int end, Format format) {
+        for (int i = start; i < end; i++) {
+            byte b = data[i];
+            boolean separator = b == ' ' || b == '\t' || b == '\r' || b == '\n'
+                    || (format == Format.JSON && (b == ',' || b == '[' || b == ']'));
+            if (!separator) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Finds where records end without decoding them. For CSV a record ends at a line break
+    // outside quotes; for JSON at the brace closing an object, skipping braces inside strings.
+    // All delimiters are ASCII, so scanning raw UTF-8 bytes is safe.
+    private static final class RecordScanner {
+        private final Format format;
+        private boolean inQuotes;
+        private boolean escaped;
+        private int depth;
+        private int objectDepth = -1;
+
+        RecordScanner(Format format) {
+            this.format = format;
+        }
+
+        // Position just past the next record end in [from, to), or -1 if there is none yet
+        int next(byte[] data, int from, int to) {
+            if (format == Format.CSV) {
+                for (int i = from; i < to; i++) {
+                    byte b = data[i];
+                    if (b == '"') {
+                        inQuotes = !inQuotes;
+                    } else if (b == '\n' && !inQuotes) {
+                        return i + 1;
+                    }
+                }
+                return -1;
+            }
+            for (int i = from; i < to; i++) {
+                byte b = data[i];
+                if (inQuotes) {
+                    if (escaped) {
+                        escaped = false;
+                    } else if (b == '\\') {
+                        escaped = true;
+                    } else if (b == '"') {
+                        inQuotes = false;
+                    }
+                } else if (b == '"') {
+                    inQuotes = true;
+                } else if (b == '{' || b == '[') {
+                    if (b == '{' && objectDepth < 0) {
+                        objectDepth = depth;
+                    }
+                    depth++;
+                } else if (b == '}' || b == ']') {
+                    depth--;
+                    if (b == '}' && depth == objectDepth) {
+                        objectDepth = -1;
+                        return i + 1;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final class JsonCursor {
+        private final byte[] data;
+        private final int end;
+        private int position;
+
+        JsonCursor(byte[] data, int start, int end) {
+            this.data = data;
+            this.position = start;
+            this.end = end;
+        }
+
+        int peek() {
+            if (position >= end) {
+                throw new IllegalArgumentException("Unexpected end of JSON object.");
+            }
+            return data[position];
+        }
+
+        void expect(char expected) {
+            if (peek() != expected) {
+                throw new IllegalArgumentException("Expected '" + expected + "' in JSON object.");
+            }
+            position++;
+        }
+
+        void skipWhitespace() {
+            while (position < end && (data[position] == ' ' || data[position] == '\t'
+                    || data[position] == '\r' || data[position] == '\n')) {
+                position++;
+            }
+        }
+
+        // Whitespace plus the commas and brackets of an enclosing array
+        void skipSeparators() {
+            while (position < end && isBlank(data, position, position + 1, Format.JSON)) {
+                position++;
+            }
+        }
+
+        // Strings are returned unquoted, other scalars as their literal text, null as null
+        String readValue(String key) {
+            int first = peek();
+            if (first == '"') {
+                return readString();
+            }
+            if (first == '{' || first == '[') {
+                throw new IllegalArgumentException("Unsupported nested value for " + key + ".");
+            }
+            int start = position;
+            while (position < end && data[position] != ',' && data[position] != '}'
+                    && data[position] != ' ' && data[position] != '\t' && data[position] != '\r' && data[position] != '\n') {
+                position++;
+            }
+            String literal = new String(data, start, position - start, StandardCharsets.US_ASCII);
+            if (literal.isEmpty()) {
+                throw new IllegalArgumentException("Missing value for " + key + ".");
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        String readString() {
+            expect('"');
+            int start = position;
+            while (position < end && data[position] != '"' && data[position] != '\\') {
+                position++;
+            }
+            if (position < end && data[position] == '"') {
+                // No escapes: decode straight from the buffer
+                return new String(data, start, position++ - start, StandardCharsets.UTF_8);
+            }
+            position = start;
+            StringBuilder text = new StringBuilder();
+            while (true) {
+                int runStart = position;
+                while (position < end && data[position] != '"' && data[position] != '\\') {
+                    position++;
+                }
+                text.append(new String(data, runStart, position - runStart, StandardCharsets.UTF_8));
+                if (peek() == '"') {
+                    position++;
+                    return text.toString();
+                }
+                position++;
+                int escape = peek();
+                position++;
+                switch (escape) {
+                    case '"', '\\', '/' -> text.append((char) escape);
+                    case 'b' -> text.append('\b');
+                    case 'f' -> text.append('\f');
+                    case 'n' -> text.append('\n');
+                    case 'r' -> text.append('\r');
+                    case 't' -> text.append('\t');
+                    case 'u' -> {
+                        if (position + 4 > end) {
+                            throw new IllegalArgumentException("Unexpected end of JSON object.");
+                        }
+                        try {
+                            text.append((char) Integer.parseInt(new String(data, position, 4, StandardCharsets.US_ASCII), 16));
+                        } catch (NumberFormatException e) {
+                            throw new IllegalArgumentException("Invalid escape in JSON string.");
+                        }
+                        position += 4;
+                    }
+                    default -> throw new IllegalArgumentException("Invalid escape in JSON string.");
+                }
+            }
+        }
+    }
+
+    // Whole records read from the file, parsed by a worker
+    private static final class Chunk {
+        private final byte[] data;
+        private final long firstRow;
+        private final Format format;
+        private final int[] columnSlots;
+
+        Chunk(byte[] data, long firstRow, Format format, int[] columnSlots) {
+            this.data = data;
+            this.firstRow = firstRow;
+            this.format = format;
+            this.columnSlots = columnSlots;
+        }
+    }
+
+    private static final class ParsedChunk<T> {
+        private final List<Employee<T>> employees = new ArrayList<>();
+        private long[] rows = new long[16];
+        private final List<ImportResult.RowError> errors = new ArrayList<>();
+
+        void add(Employee<T> employee, long row) {
+            if (employees.size() == rows.length) {
+                rows = Arrays.copyOf(rows, rows.length * 2);
+            }
+            rows[employees.size()] = row;
+            employees.add(employee);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package lii.employeemanagementsystem.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Outcome of one EmployeeImporter run. Only the first MAX_REPORTED_ERRORS row errors are
+// kept, so a badly broken file cannot use up memory; getErrorCount() still counts them all.
+public class ImportResult {
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final List<RowError> errors = new ArrayList<>();
+    private long importedCount;
+    private long errorCount;
+
+    // A row that was skipped. Rows are numbered from 1: data lines after the header for CSV,
+    // objects for JSON.
+    public static class RowError {
+        private final long row;
+        private final String message;
+
+        public RowError(long row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "Row " + row + ": " + message;
+        }
+    }
+
+    void addImported(int count) {
+        importedCount += count;
+    }
+
+    void addError(long row, String message) {
+        errorCount++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(row, message));
+        }
+    }
+
+    public long getImportedCount() {
+        return importedCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    // Errors in row order
+    public List<RowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+}
@@ -1,25 +1,28 @@
 package lii.employeemanagementsystem.service;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
+// Time-ordered UUIDv7 IDs (RFC 9562): 48 bits of Unix time in milliseconds, a 12-bit counter
+// and 62 random bits. Time and counter advance together with one atomic update, so IDs from
+// this JVM are unique and strictly increasing without remembering the ones already issued;
+// the random bits keep IDs from different processes apart. More than 4096 IDs in one
+// millisecond carry into the timestamp, which then runs slightly ahead of the clock.
 public class UniqueIdGenerator {
-    private static final Set<UUID> usedIds = new HashSet<>();
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC_9562 = 0x8000_0000_0000_0000L;
+    private static final AtomicLong lastTimeAndCounter = new AtomicLong();
 
     public static UUID generateUniqueId() {
-        UUID id;
-        do {
-            id = UUID.randomUUID();
-        } while (usedIds.contains(id));
-        usedIds.add(id);
-        return id;
+        long now = System.currentTimeMillis() << 12;
+        long timeAndCounter = lastTimeAndCounter.accumulateAndGet(now, (last, candidate) -> Math.max(last + 1, candidate));
+        long mostSignificantBits = (timeAndCounter >>> 12) << 16 | VERSION_7 | (timeAndCounter & 0xFFF);
+        long leastSignificantBits = VARIANT_RFC_9562 | (ThreadLocalRandom.current().nextLong() >>> 2);
+        return new UUID(mostSignificantBits, leastSignificantBits);
     }
 
-    public static boolean isUsed(UUID id) {
-        return usedIds.contains(id);
-    }
-
-    public static void reset() {
-        usedIds.clear(); // Useful for testing or resetting the system
+    // Milliseconds since the epoch at which a generated ID was issued
+    public static long timestampOf(UUID id) {
+        return id.getMostSignificantBits() >>> 16;
     }
 }
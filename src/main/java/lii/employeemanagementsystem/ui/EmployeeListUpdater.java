@@ -0,0 +1,112 @@
+package lii.employeemanagementsystem.ui;
+
+import lii.employeemanagementsystem.database.EmployeeDatabaseListener;
+import lii.employeemanagementsystem.database.RaiseSummary;
+import lii.employeemanagementsystem.model.Employee;
+import lii.employeemanagementsystem.model.EmployeeField;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Keeps a PagedEmployeeList in step with the database. Events arrive on whichever thread made
+// the change, under the database write lock, so they are only recorded there: the first event
+// of a batch schedules one task on the FX thread, and everything recorded until that task runs
+// is merged per employee and applied to the list in one go. An employee added and removed
+// again in the same batch never shows up at all.
+class EmployeeListUpdater<T> implements EmployeeDatabaseListener<T> {
+    // Past this many changed employees the list is recounted without looking at the changes
+    static final int MAX_RECORDED_CHANGES = 4096;
+
+    private final PagedEmployeeList<T> employees;
+    private final Consumer<Runnable> fxThread;
+    private final Object lock = new Object();
+    private Map<Employee<T>, PagedEmployeeList.Change<T>> pending = new IdentityHashMap<>();
+    private boolean overflowed;
+    private boolean scheduled;
+
+    // fxThread runs a task on the FX thread, normally Platform::runLater
+    EmployeeListUpdater(PagedEmployeeList<T> employees, Consumer<Runnable> fxThread) {
+        this.employees = employees;
+        this.fxThread = fxThread;
+    }
+
+    @Override
+    public void employeeAdded(Employee<T> employee) {
+        record(employee, false, true, null);
+    }
+
+    @Override
+    public void employeeRemoved(Employee<T> employee) {
+        record(employee, true, false, null);
+    }
+
+    @Override
+    public void employeeUpdated(Employee<T> employee, EmployeeField<?> field) {
+        record(employee, true, true, field);
+    }
+
+    @Override
+    public void employeesUpdated(List<Employee<T>> updated, EmployeeField<?> field) {
+        record(updated, true, true, field);
+    }
+
+    @Override
+    public void salaryRaiseApplied(RaiseSummary<T> summary) {
+        record(summary.getAffectedEmployees(), true, true, EmployeeField.SALARY);
+    }
+
+    private void record(Employee<T> employee, boolean storedBefore, boolean storedAfter, EmployeeField<?> field) {
+        record(List.of(employee), storedBefore, storedAfter, field);
+    }
+
+    // Records the same change for every employee listed, taking the lock once
+    private void record(List<Employee<T>> changed, boolean storedBefore, boolean storedAfter, EmployeeField<?> field) {
+        synchronized (lock) {
+            employees.changeRecorded();
+            for (int i = 0; i < changed.size() && !overflowed; i++) {
+                Employee<T> employee = changed.get(i);
+                PagedEmployeeList.Change<T> change = pending.get(employee);
+                if (change == null) {
+                    if (pending.size() == MAX_RECORDED_CHANGES) {
+                        overflowed = true;
+                        pending = new IdentityHashMap<>();
+                    } else {
+                        change = new PagedEmployeeList.Change<>(employee, storedBefore, storedAfter);
+                        pending.put(employee, change);
+                    }
+                }
+                if (change != null) {
+                    change.stored = storedAfter;
+                    if (field != null) {
+                        change.fields.add(field);
+                    }
+                }
+            }
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+        }
+        fxThread.accept(this::apply);
+    }
+
+    private void apply() {
+        Map<Employee<T>, PagedEmployeeList.Change<T>> changes;
+        boolean recount;
+        synchronized (lock) {
+            changes = pending;
+            recount = overflowed;
+            pending = new IdentityHashMap<>();
+            overflowed = false;
+            scheduled = false;
+            employees.changesTaken();
+        }
+        if (recount) {
+            employees.refresh();
+        } else {
+            employees.applyChanges(changes.values());
+        }
+    }
+}
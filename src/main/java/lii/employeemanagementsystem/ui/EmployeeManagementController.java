@@ -1,8 +1,8 @@
 package lii.employeemanagementsystem.ui;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
-import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
@@ -18,14 +18,24 @@ import lii.employeemanagementsystem.customExceptions.InvalidDepartmentException;
 import lii.employeemanagementsystem.customExceptions.InvalidPerformanceRatingException;
 import lii.employeemanagementsystem.customExceptions.InvalidSalaryException;
 import lii.employeemanagementsystem.database.EmployeeDatabase;
+import lii.employeemanagementsystem.database.EmployeeDatabaseListener;
+import lii.employeemanagementsystem.database.EmployeeJournal;
+import lii.employeemanagementsystem.database.EmployeeQuery;
+import lii.employeemanagementsystem.database.IdCodec;
+import lii.employeemanagementsystem.database.RaiseSummary;
+import lii.employeemanagementsystem.database.SortDirection;
+import lii.employeemanagementsystem.database.SortField;
 import lii.employeemanagementsystem.model.Employee;
-import lii.employeemanagementsystem.model.EmployeePerformanceComparator;
-import lii.employeemanagementsystem.model.EmployeeSalaryComparator;
+import lii.employeemanagementsystem.service.EmployeeImporter;
+import lii.employeemanagementsystem.service.ImportResult;
 import lii.employeemanagementsystem.service.UniqueIdGenerator;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors;
+
+import javax.management.JMException;
 
 public class EmployeeManagementController {
 
@@ -78,16 +88,23 @@ public class EmployeeManagementController {
     private Label visibleEmployeesLabel;
 
 
+    // Employee data is journaled here and recovered on the next start
+    private static final Path DATA_DIRECTORY = Path.of(System.getProperty("user.home"), ".employee-management", "journal");
+
     private final EmployeeDatabase<UUID> employeeDatabase = new EmployeeDatabase<>();
-    private final ObservableList<Employee<UUID>> employees = FXCollections.observableArrayList();
+    private final EmployeeJournal<UUID> journal = new EmployeeJournal<>(DATA_DIRECTORY, IdCodec.uuid());
+    // Only the rows the table shows are loaded from the database
+    private final PagedEmployeeList<UUID> employees = new PagedEmployeeList<>(employeeDatabase);
+    private final QueryRunner<UUID> queryRunner = new QueryRunner<>(employeeDatabase, employees, Platform::runLater);
 
     @FXML
     public void initialize() {
-        nameColumn.setCellValueFactory(data -> data.getValue().nameProperty());
-        departmentColumn.setCellValueFactory(data -> data.getValue().departmentProperty());
-        salaryColumn.setCellValueFactory(data -> data.getValue().salaryProperty().asObject());
-        ratingColumn.setCellValueFactory(data -> data.getValue().performanceRatingProperty().asObject());
-        experienceColumn.setCellValueFactory(data -> data.getValue().yearsOfExperienceProperty().asObject());
+        // Rows whose page is still loading hold no employee and show empty cells
+        nameColumn.setCellValueFactory(data -> data.getValue() == null ? null : data.getValue().nameProperty());
+        departmentColumn.setCellValueFactory(data -> data.getValue() == null ? null : data.getValue().departmentProperty());
+        salaryColumn.setCellValueFactory(data -> data.getValue() == null ? null : data.getValue().salaryProperty().asObject());
+        ratingColumn.setCellValueFactory(data -> data.getValue() == null ? null : data.getValue().performanceRatingProperty().asObject());
+        experienceColumn.setCellValueFactory(data -> data.getValue() == null ? null : data.getValue().yearsOfExperienceProperty().asObject());
 
         employeeTable.setItems(employees);
         actionColumn.setCellFactory(param -> new TableCell<>() {
@@ -108,13 +125,23 @@ public class EmployeeManagementController {
 
         });
         loadData();
+        // From here on the table follows database changes row by row
+        employeeDatabase.addDatabaseListener(new EmployeeListUpdater<>(employees, Platform::runLater));
+        // The department choices only change when a department gains its first employee or
+        // loses its last one, not on every row change
+        employeeDatabase.addDatabaseListener(new EmployeeDatabaseListener<>() {
+            @Override
+            public void departmentsChanged(List<String> departments) {
+                Platform.runLater(() -> departmentField.getItems().setAll(departments));
+            }
+        });
         totalEmployeesLabel.setText(String.valueOf(employeeDatabase.getAllEmployees().size()));
+        departmentField.getItems().setAll(employeeDatabase.getDepartments());
 
         //listener to update employee count on table changes due to filtering or sorting
         employees.addListener((ListChangeListener<Employee<UUID>>) change -> {
             visibleEmployeesLabel.setText(String.valueOf(employees.size()));
             totalEmployeesLabel.setText(String.valueOf(employeeDatabase.getAllEmployees().size()));
-
         });
 
 
@@ -128,7 +155,7 @@ public class EmployeeManagementController {
         sortOptions.setValue("Sort by Experience");
         sortOptions.setOnAction(e -> sortEmployees());
 
-        searchField.textProperty().addListener((obs, oldVal, newVal) -> filterEmployees(newVal));
+        searchField.textProperty().addListener((obs, oldVal, newVal) -> applyFilters(QueryRunner.TYPING_DELAY_MILLIS));
 
         actionColumn.setCellFactory(param -> new TableCell<>() {
             private final Button deleteButton = new Button("Delete");
@@ -187,11 +214,34 @@ public class EmployeeManagementController {
     }
 
     private void loadData() {
-        Employee<UUID> emp1 = new Employee<>(UniqueIdGenerator.generateUniqueId(), "Mr Lii", "Admin", 100000, 4.8, 15, true, "file:images/lord.jpg");
+        try {
+            journal.open(employeeDatabase);
+            Runtime.getRuntime().addShutdownHook(new Thread(this::closeJournal, "employee-journal-shutdown"));
+        } catch (IOException e) {
+            System.err.println("Error loading employee data, changes will not be saved: " + e.getMessage());
+        }
+        // Operation latencies can be watched and switched on from JConsole or any other JMX tool
+        try {
+            employeeDatabase.getStats().register("lii.employeemanagementsystem:type=EmployeeDatabase");
+        } catch (JMException e) {
+            System.err.println("Error publishing database statistics: " + e.getMessage());
+        }
+
+        // First start: seed the database with the administrator
+        if (employeeDatabase.getAllEmployees().isEmpty()) {
+            Employee<UUID> emp1 = new Employee<>(UniqueIdGenerator.generateUniqueId(), "Mr Lii", "Admin", 100000, 4.8, 15, true, "file:images/lord.jpg");
+            employeeDatabase.addEmployee(emp1);
+        }
 
-        employeeDatabase.addEmployee(emp1);
+        employees.showAll();
+    }
 
-        employees.setAll(employeeDatabase.getAllEmployees());
+    private void closeJournal() {
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.err.println("Error saving employee data: " + e.getMessage());
+        }
     }
 
     @FXML
@@ -285,7 +335,6 @@ public class EmployeeManagementController {
                         imagePath[0]
                 );
                 employeeDatabase.addEmployee(newEmployee);
-                employees.setAll(employeeDatabase.getAllEmployees());
                 statusLabel.setText("Employee added successfully.");
                 dialog.close();
 
@@ -312,40 +361,98 @@ public class EmployeeManagementController {
         }
     }
 
+    @FXML
+    private void onImportEmployees() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Import Employees");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Employee files", "*.csv", "*.json", "*.jsonl"),
+                new FileChooser.ExtensionFilter("CSV", "*.csv"),
+                new FileChooser.ExtensionFilter("JSON", "*.json", "*.jsonl"));
+        File selectedFile = fileChooser.showOpenDialog(employeeTable.getScene().getWindow());
+        if (selectedFile == null) {
+            return;
+        }
+
+        // Large files take a while, so the import runs off the FX thread
+        statusLabel.setText("Importing " + selectedFile.getName() + "...");
+        EmployeeImporter<UUID> importer = new EmployeeImporter<>(employeeDatabase, UUID::fromString, UniqueIdGenerator::generateUniqueId);
+        Thread importThread = new Thread(() -> {
+            try {
+                ImportResult result = importer.importFile(selectedFile.toPath());
+                Platform.runLater(() -> showImportResult(result));
+            } catch (Exception ex) {
+                Platform.runLater(() -> {
+                    statusLabel.setText("");
+                    showAlert("Error", "Failed to import employees: " + ex.getMessage());
+                });
+            }
+        }, "employee-import-" + selectedFile.getName());
+        importThread.setDaemon(true);
+        importThread.start();
+    }
+
+    private void showImportResult(ImportResult result) {
+        totalEmployeesLabel.setText(String.valueOf(employeeDatabase.getAllEmployees().size()));
+        visibleEmployeesLabel.setText(String.valueOf(employees.size()));
+        statusLabel.setText(result.getImportedCount() + " employees imported.");
+
+        StringBuilder message = new StringBuilder(String.format("Imported %d employees, skipped %d rows.",
+                result.getImportedCount(), result.getErrorCount()));
+        int shown = Math.min(10, result.getErrors().size());
+        for (int i = 0; i < shown; i++) {
+            message.append("\n").append(result.getErrors().get(i));
+        }
+        if (result.getErrorCount() > shown) {
+            message.append("\n...");
+        }
+        showAlert("Import Employees", message.toString());
+    }
+
     @FXML
     private void onApplyFilter() {
+        applyFilters(0);
+    }
+
+    // Combines the rating or salary filter, the active status and the search text into one
+    // query, so each control narrows the others instead of replacing them
+    private void applyFilters(long delayMillis) {
         try {
-            List<Employee<UUID>> filteredList = new ArrayList<>(employeeDatabase.getAllEmployees());
-            if (filterBySalary.isSelected()){
+            EmployeeQuery.Builder query = EmployeeQuery.builder();
+            if (filterBySalary.isSelected()) {
                 String minSalaryText = minSalaryField.getText();
                 String maxSalaryText = maxSalaryField.getText();
                 if (!minSalaryText.isEmpty() && !maxSalaryText.isEmpty()) {
                     try {
-                        double minSalary = Double.parseDouble(minSalaryText);
-                        double maxSalary = Double.parseDouble(maxSalaryText);
-
-                        filteredList = filteredList.stream()
-                                .filter(employee -> employeeDatabase.searchBySalaryRange(minSalary, maxSalary).contains(employee))
-                                .collect(Collectors.toList());
+                        query.salaryBetween(Double.parseDouble(minSalaryText), Double.parseDouble(maxSalaryText));
                     } catch (NumberFormatException e) {
                         showAlert("Error", "Salary input ranges are Invalid. Please enter valid numbers.");
+                        return;
                     } catch (InvalidSalaryException e) {
                         showAlert("Error", e.getMessage());
+                        return;
                     }
                 }
-
-            }else{
-                double minRating = ratingFilterSlider.getValue();
-                if (minRating >= 0) {
-                    filteredList = employeeDatabase.searchByMinimumPerformanceRating(minRating);
-                }
-
+            } else if (ratingFilterSlider.getValue() > 0) {
+                query.minimumRating(ratingFilterSlider.getValue());
             }
 
+            String selectedFilter = filterActiveComboBox.getValue();
+            if ("Active Employees".equals(selectedFilter)) {
+                query.active(true);
+            } else if ("Inactive Employees".equals(selectedFilter)) {
+                query.active(false);
+            }
+            if (searchField.getText() != null) {
+                query.matching(searchField.getText());
+            }
 
-
-            employees.setAll(filteredList);
-            statusLabel.setText("Filters applied successfully.");
+            // The query runs in the background; only the newest one reaches the table
+            queryRunner.submit(query.build(), delayMillis, plan -> {
+                statusLabel.setText("Filters applied successfully.");
+                // Hovering the status shows which index the filters were served from
+                statusLabel.setTooltip(new Tooltip(plan.toString()));
+            }, ex -> showAlert("Error", "Failed to apply filters: " + ex.getMessage()));
         } catch (Exception ex) {
             showAlert("Error", "Failed to apply filters: " + ex.getMessage());
         }
@@ -353,6 +460,9 @@ public class EmployeeManagementController {
 
 
     private void confirmAndDeleteEmployee(Employee<UUID> employee) {
+        if (employee == null) {
+            return;
+        }
         Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
         confirm.setTitle("Confirm Delete");
         confirm.setHeaderText("Are you sure you want to delete " + employee.getName() + "?");
@@ -360,7 +470,6 @@ public class EmployeeManagementController {
         if (result.isPresent() && result.get() == ButtonType.OK) {
             try {
                 employeeDatabase.removeEmployee(employee.getEmployeeId());
-                employees.setAll(employeeDatabase.getAllEmployees());
                 statusLabel.setText("Employee deleted successfully.");
                 totalEmployeesLabel.setText(String.valueOf(employeeDatabase.getAllEmployees().size()));
                 visibleEmployeesLabel.setText(String.valueOf(employees.size()));
@@ -374,6 +483,9 @@ public class EmployeeManagementController {
     }
 
     private void showEmployeeDetails(Employee<UUID> employee) {
+        if (employee == null) {
+            return;
+        }
         Stage dialog = new Stage();
         dialog.setTitle("Employee Details");
 
@@ -382,9 +494,7 @@ public class EmployeeManagementController {
         card.setStyle("-fx-background-color: #f9f9f9; -fx-border-color: #ccc; -fx-border-radius: 10; -fx-background-radius: 10;");
 
         // Profile Picture
-        ImageView profilePicture = new ImageView(employee.getProfilePicture());
-        profilePicture.setFitWidth(100);
-        profilePicture.setFitHeight(100);
+        ImageView profilePicture = ProfilePictures.getInstance().view(employee.getProfilePicture(), 100);
         profilePicture.setStyle("-fx-border-radius: 100; -fx-background-radius: 50; -fx-effect: dropshadow(gaussian, gray, 5, 0.5, 0, 0);");
 
         // Employee Details
@@ -467,7 +577,6 @@ public class EmployeeManagementController {
                 employee.setYearsOfExperience(Integer.parseInt(experienceField.getText()));
                 employee.setPerformanceRating(ratingSlider.getValue());
                 employee.setActive(activeBox.isSelected());
-                employees.setAll(employeeDatabase.getAllEmployees());
                 statusLabel.setText("Employee updated successfully.");
                 dialog.close();
             }
@@ -495,25 +604,16 @@ public class EmployeeManagementController {
         dialog.show();
     }
 
+    // All three orders list the highest values first, like the comparators they replace
     private void sortEmployees() {
         String selected = sortOptions.getValue();
-        List<Employee<UUID>> sorted = new ArrayList<>(employees);
-
         if (selected.equals("Sort by Salary")) {
-            sorted.sort(new EmployeeSalaryComparator<>());
+            employees.setOrder(SortField.SALARY, SortDirection.DESCENDING);
         } else if (selected.equals("Sort by Performance Rating")) {
-            sorted.sort(new EmployeePerformanceComparator<>());
+            employees.setOrder(SortField.PERFORMANCE_RATING, SortDirection.DESCENDING);
         } else {
-            // Use the compareTo method from the Employee class
-            sorted.sort(Employee::compareTo);
+            employees.setOrder(SortField.YEARS_OF_EXPERIENCE, SortDirection.DESCENDING);
         }
-
-        employees.setAll(sorted);
-    }
-
-    private void filterEmployees(String keyword) {
-        keyword = keyword.toLowerCase();
-        employees.setAll(employeeDatabase.searchByTerm(keyword));
     }
 
     @FXML
@@ -522,11 +622,11 @@ public class EmployeeManagementController {
             double percentage = Double.parseDouble(raisePercentageField.getText());
             double minRating = Double.parseDouble(minRatingField.getText());
 
-            employeeDatabase.giveSalaryRaise(percentage, minRating);
-            employees.setAll(employeeDatabase.getAllEmployees());
+            RaiseSummary<UUID> summary = employeeDatabase.giveSalaryRaise(percentage, minRating);
 
 
-            showAlert("Success", "Salary raise applied successfully.");
+            showAlert("Success", String.format("Salary raise applied to %d employees. Payroll increased by $%.2f.",
+                    summary.getAffectedCount(), summary.getPayrollDelta()));
             raisePercentageField.setText("");
             minRatingField.setText("");
         } catch (NumberFormatException ex) {
@@ -554,7 +654,7 @@ public class EmployeeManagementController {
     private void onCalculateAverageSalary() {
         try {
             String department = departmentField.getValue();
-            if (department.isEmpty()) {
+            if (department == null || department.isEmpty()) {
                 showAlert("Error", "Please enter a department.");
                 return;
             }
@@ -572,37 +672,7 @@ public class EmployeeManagementController {
 
     @FXML
     private void onFilterActiveComboBox() {
-        try {
-            String selectedFilter = filterActiveComboBox.getValue();
-            List<Employee<UUID>> filteredEmployees;
-
-            if ("Active Employees".equals(selectedFilter)) {
-                filteredEmployees = new ArrayList<>();
-                Iterator<Employee<UUID>> iterator = employeeDatabase.getEmployeeIterator();
-                while (iterator.hasNext()) {
-                    Employee<UUID> employee = iterator.next();
-                    if (employee.isActive()) {
-                        filteredEmployees.add(employee);
-                    }
-                }
-            } else if ("Inactive Employees".equals(selectedFilter)) {
-                filteredEmployees = new ArrayList<>();
-                Iterator<Employee<UUID>> iterator = employeeDatabase.getEmployeeIterator();
-                while (iterator.hasNext()) {
-                    Employee<UUID> employee = iterator.next();
-                    if (!employee.isActive()) {
-                        filteredEmployees.add(employee);
-                    }
-                }
-            } else {
-                // Default to showing all employees
-                filteredEmployees = new ArrayList<>(employeeDatabase.getAllEmployees());
-            }
-
-            employees.setAll(filteredEmployees);
-        } catch (Exception ex) {
-            showAlert("Error", "Failed to apply filter: " + ex.getMessage());
-        }
+        applyFilters(0);
     }
 
     private void showAlert(String title, String content) {
@@ -0,0 +1,498 @@
+package lii.employeemanagementsystem.ui;
+
+import javafx.collections.ObservableListBase;
+import lii.employeemanagementsystem.database.EmployeeDatabase;
+import lii.employeemanagementsystem.database.EmployeePage;
+import lii.employeemanagementsystem.database.EmployeeQuery;
+import lii.employeemanagementsystem.database.SortDirection;
+import lii.employeemanagementsystem.database.SortField;
+import lii.employeemanagementsystem.model.Employee;
+import lii.employeemanagementsystem.model.EmployeeField;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// Read-only list behind the employee table that loads employees from the database a page at
+// a time. The table only asks for the rows it shows, so only those pages are loaded (plus the
+// next one, fetched ahead once the view is halfway down a page) and at most MAX_CACHED_PAGES
+// stay in memory. Only the match count is computed up front.
+//
+// Without filters a page is read straight at its offset. With filters, pages are found by
+// walking on from the last page whose start is known; the start of every page walked past is
+// kept, so jumping back is as cheap as reading the page.
+//
+// A new query can be counted off the FX thread with load() and put in place with show(); the
+// list itself is only touched on the FX thread. Once a QueryRunner is attached, the list never
+// reads the database on the FX thread: refreshes are counted by the runner and shown when done,
+// and a page not loaded yet reads as null rows (placeholders) until the runner has read it.
+// Without a runner, as in tests, counts and pages are read on the calling thread.
+//
+// Database changes come in through applyChanges (see EmployeeListUpdater) and are turned into
+// the smallest list changes that can be worked out, so an edit to one employee changes one row.
+class PagedEmployeeList<T> extends ObservableListBase<Employee<T>> {
+    static final int PAGE_SIZE = 100;
+    private static final int MAX_CACHED_PAGES = 16;
+    // Above this many employees added, removed or moved in one batch, recounting is cheaper
+    static final int MAX_PRECISE_CHANGES = 32;
+    private static final EmployeeQuery ALL_EMPLOYEES = EmployeeQuery.builder().build();
+
+    private final EmployeeDatabase<T> database;
+    private final Map<Integer, List<Employee<T>>> pages = new LinkedHashMap<>(32, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Employee<T>>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    // Walk position at which each page starts, for pages 0 to knownPages - 1 of a filtered query
+    private int[] pageStarts = new int[16];
+    private int knownPages = 1;
+
+    private EmployeeQuery query = ALL_EMPLOYEES;
+    private SortField orderBy = SortField.YEARS_OF_EXPERIENCE;
+    private SortDirection direction = SortDirection.DESCENDING;
+    private int size;
+    // Whether size holds the current query's count yet
+    private boolean counted;
+    // Set while database changes wait to be applied; a page read meanwhile may already show
+    // some of them, so the cached positions can no longer be trusted
+    private volatile boolean changesPending;
+    private boolean loadedWhilePending;
+    // Counts recorded database changes, so show() can tell whether a load is still current
+    private volatile long changeVersion;
+
+    private QueryRunner<T> runner;
+    // Bumped whenever the loaded pages are dropped, so pages read before that are not kept
+    private int generation;
+    // Pages being read by the runner for this generation
+    private final Set<Integer> requestedPages = new HashSet<>();
+    // Set while the runner counts the query again; no pages are read meanwhile
+    private boolean reloading;
+
+    // What one batch did to one employee
+    static final class Change<T> {
+        final Employee<T> employee;
+        // Whether the employee was stored before the batch and is stored after it
+        final boolean wasStored;
+        boolean stored;
+        final Set<EmployeeField<?>> fields = new HashSet<>();
+
+        Change(Employee<T> employee, boolean wasStored, boolean stored) {
+            this.employee = employee;
+            this.wasStored = wasStored;
+            this.stored = stored;
+        }
+    }
+
+    // A query's match count and first page, read by load()
+    static final class Loaded<T> {
+        final EmployeeQuery query;
+        final SortField orderBy;
+        final SortDirection direction;
+        final long changeVersion;
+        final int count;
+        final EmployeePage<T> firstPage;
+
+        Loaded(EmployeeQuery query, SortField orderBy, SortDirection direction, long changeVersion,
+               int count, EmployeePage<T> firstPage) {
+            this.query = query;
+            this.orderBy = orderBy;
+            this.direction = direction;
+            this.changeVersion = changeVersion;
+            this.count = count;
+            this.firstPage = firstPage;
+        }
+    }
+
+    // Pages firstPage to lastPage of a query, walked from the given start, for readPages()
+    static final class PageRequest<T> {
+        final int generation;
+        final EmployeeQuery query;
+        final SortField orderBy;
+        final SortDirection direction;
+        final int firstPage;
+        final int start;
+        final int lastPage;
+        final long changeVersion;
+
+        PageRequest(int generation, EmployeeQuery query, SortField orderBy, SortDirection direction,
+                    int firstPage, int start, int lastPage, long changeVersion) {
+            this.generation = generation;
+            this.query = query;
+            this.orderBy = orderBy;
+            this.direction = direction;
+            this.firstPage = firstPage;
+            this.start = start;
+            this.lastPage = lastPage;
+            this.changeVersion = changeVersion;
+        }
+    }
+
+    // The pages read for a request, in order; fewer than asked for if the last page came first
+    static final class LoadedPages<T> {
+        final PageRequest<T> request;
+        final List<EmployeePage<T>> pages;
+
+        LoadedPages(PageRequest<T> request, List<EmployeePage<T>> pages) {
+            this.request = request;
+            this.pages = pages;
+        }
+    }
+
+    PagedEmployeeList(EmployeeDatabase<T> database) {
+        this.database = database;
+    }
+
+    // Called by the runner once, when it is created
+    void attach(QueryRunner<T> runner) {
+        this.runner = runner;
+    }
+
+    public EmployeeQuery getQuery() {
+        return query;
+    }
+
+    public void setQuery(EmployeeQuery query) {
+        Objects.requireNonNull(query);
+        if (runner != null) {
+            runner.submit(query, 0, plan -> { },
+                    e -> System.err.println("Error loading employees: " + e.getMessage()));
+            return;
+        }
+        this.query = query;
+        refresh();
+    }
+
+    public void showAll() {
+        setQuery(ALL_EMPLOYEES);
+    }
+
+    public SortField getOrderBy() {
+        return orderBy;
+    }
+
+    public SortDirection getDirection() {
+        return direction;
+    }
+
+    // The order only decides which employees are on which page, so once the query is counted
+    // a new order just drops the loaded pages; the first page is then read straight off the
+    // index kept for that order
+    public void setOrder(SortField orderBy, SortDirection direction) {
+        this.orderBy = Objects.requireNonNull(orderBy);
+        this.direction = Objects.requireNonNull(direction);
+        if (!counted) {
+            refresh();
+            return;
+        }
+        dropPages();
+        replaceAll(size);
+    }
+
+    // Any thread. Counts the query and reads its first page in the given order, for show()
+    Loaded<T> load(EmployeeQuery query, SortField orderBy, SortDirection direction) {
+        long version = changeVersion;
+        int count = database.count(query);
+        EmployeePage<T> firstPage = database.getPage(query, orderBy, direction, 0, PAGE_SIZE);
+        return new Loaded<>(query, orderBy, direction, version, count, firstPage);
+    }
+
+    // Switches to a loaded query. If the database changed after the load started, the
+    // query is counted again instead.
+    void show(Loaded<T> loaded) {
+        query = loaded.query;
+        if (loaded.changeVersion != changeVersion) {
+            refresh();
+            return;
+        }
+        reloading = false;
+        dropPages();
+        if (loaded.orderBy == orderBy && loaded.direction == direction) {
+            pages.put(0, loaded.firstPage.getEmployees());
+            if (query.hasFilters()) {
+                addPageStart(loaded.firstPage.getNextPosition());
+            }
+        }
+        loadedWhilePending = changesPending;
+        replaceAll(loaded.count);
+    }
+
+    // Counts the matches again and drops every loaded page; the table then reloads what it shows.
+    // With a runner the count is taken in the background, and the rows loaded so far stay
+    // until show() puts the new count in place.
+    public void refresh() {
+        if (runner != null) {
+            reloading = true;
+            runner.reload();
+            return;
+        }
+        int count = database.count(query);
+        dropPages();
+        // Changes still queued are already counted, so they cannot be applied on top
+        loadedWhilePending = changesPending;
+        replaceAll(count);
+    }
+
+    private void replaceAll(int newSize) {
+        counted = true;
+        int oldSize = size;
+        size = newSize;
+        beginChange();
+        if (oldSize > 0) {
+            nextRemove(0, Collections.<Employee<T>>nCopies(oldSize, null));
+        }
+        if (size > 0) {
+            nextAdd(0, size);
+        }
+        endChange();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Null while the row's page is still loading, or if employees were removed since the last
+    // refresh
+    @Override
+    public Employee<T> get(int index) {
+        Objects.checkIndex(index, size);
+        int pageNumber = index / PAGE_SIZE;
+        int offset = index % PAGE_SIZE;
+        List<Employee<T>> page = page(pageNumber);
+        if (offset >= PAGE_SIZE / 2 && (pageNumber + 1) * PAGE_SIZE < size && !pages.containsKey(pageNumber + 1)) {
+            page(pageNumber + 1);
+        }
+        return page != null && offset < page.size() ? page.get(offset) : null;
+    }
+
+    // The page, or null if the runner has been asked to read it
+    private List<Employee<T>> page(int pageNumber) {
+        List<Employee<T>> page = pages.get(pageNumber);
+        if (page != null) {
+            return page;
+        }
+        if (runner != null) {
+            if (!reloading && requestedPages.add(pageNumber)) {
+                runner.loadPages(pageRequest(pageNumber));
+            }
+            return null;
+        }
+        if (changesPending) {
+            loadedWhilePending = true;
+        }
+        LoadedPages<T> loaded = readPages(pageRequest(pageNumber));
+        storePages(loaded);
+        int read = pageNumber - loaded.request.firstPage;
+        return read < loaded.pages.size() ? loaded.pages.get(read).getEmployees() : Collections.emptyList();
+    }
+
+    // Without filters a page is read straight at its offset; with filters the walk starts at
+    // the last page whose start is known
+    private PageRequest<T> pageRequest(int pageNumber) {
+        int firstPage = query.hasFilters() ? Math.min(pageNumber, knownPages - 1) : pageNumber;
+        int start = query.hasFilters() ? pageStarts[firstPage] : firstPage * PAGE_SIZE;
+        return new PageRequest<>(generation, query, orderBy, direction, firstPage, start, pageNumber, changeVersion);
+    }
+
+    // Any thread. Reads the requested pages, stopping early at the query's last page.
+    LoadedPages<T> readPages(PageRequest<T> request) {
+        List<EmployeePage<T>> read = new ArrayList<>();
+        int start = request.start;
+        for (int pageNumber = request.firstPage; pageNumber <= request.lastPage; pageNumber++) {
+            EmployeePage<T> page = database.getPage(request.query, request.orderBy, request.direction, start, PAGE_SIZE);
+            read.add(page);
+            if (page.isLast()) {
+                break;
+            }
+            start = page.getNextPosition();
+        }
+        return new LoadedPages<>(request, read);
+    }
+
+    // Keeps pages read by the runner, unless the list dropped its pages since they were asked
+    // for, and replaces the placeholders shown for the rows of the pages that were asked for
+    void showPages(LoadedPages<T> loaded) {
+        PageRequest<T> request = loaded.request;
+        if (request.generation != generation) {
+            return;
+        }
+        if (changesPending || request.changeVersion != changeVersion) {
+            loadedWhilePending = true;
+        }
+        storePages(loaded);
+        beginChange();
+        for (int i = 0; i < loaded.pages.size(); i++) {
+            int pageNumber = request.firstPage + i;
+            if (requestedPages.remove(pageNumber)) {
+                int end = Math.min(size, (pageNumber + 1) * PAGE_SIZE);
+                for (int index = pageNumber * PAGE_SIZE; index < end; index++) {
+                    nextSet(index, null);
+                }
+            }
+        }
+        requestedPages.remove(request.lastPage);
+        endChange();
+    }
+
+    // Lets the rows of a page the runner failed to read be asked for again
+    void pagesFailed(PageRequest<T> request) {
+        if (request.generation == generation) {
+            requestedPages.remove(request.lastPage);
+        }
+    }
+
+    private void storePages(LoadedPages<T> loaded) {
+        boolean filtered = loaded.request.query.hasFilters();
+        for (int i = 0; i < loaded.pages.size(); i++) {
+            int pageNumber = loaded.request.firstPage + i;
+            EmployeePage<T> page = loaded.pages.get(i);
+            pages.put(pageNumber, page.getEmployees());
+            if (filtered && pageNumber + 1 == knownPages) {
+                addPageStart(page.getNextPosition());
+            }
+        }
+    }
+
+    private void dropPages() {
+        pages.clear();
+        knownPages = 1;
+        generation++;
+        requestedPages.clear();
+    }
+
+    // Called from any thread, one caller at a time, for every change queued for applyChanges
+    void changeRecorded() {
+        changeVersion++;
+        changesPending = true;
+    }
+
+    // Called once the queued changes are taken to be applied
+    void changesTaken() {
+        changesPending = false;
+    }
+
+    // Applies one batch of database changes. Employees added, removed or moved are located
+    // through the loaded pages (old positions) and the database (new positions); when an old
+    // position cannot be known, or the batch is large, the whole list is refreshed instead.
+    // Edits that cannot move a row only report an update of that row.
+    void applyChanges(Collection<Change<T>> changes) {
+        // A count under way started after these changes were recorded, or show() sees that it
+        // did not and counts again
+        if (reloading) {
+            return;
+        }
+        List<Change<T>> moved = new ArrayList<>();
+        List<Change<T>> updated = new ArrayList<>();
+        for (Change<T> change : changes) {
+            if (!change.wasStored && !change.stored) {
+                continue;
+            }
+            boolean moves = !change.wasStored || !change.stored;
+            for (EmployeeField<?> field : change.fields) {
+                moves |= query.dependsOn(field) || field == orderField();
+            }
+            (moves ? moved : updated).add(change);
+        }
+        boolean removes = moved.stream().anyMatch(change -> change.wasStored);
+        // Removing a row moves another employee within its rating bucket
+        if (loadedWhilePending || moved.size() > MAX_PRECISE_CHANGES
+                || (removes && orderBy == SortField.PERFORMANCE_RATING)) {
+            refresh();
+            return;
+        }
+
+        Map<Employee<T>, Integer> loaded = loadedPositions();
+        List<Integer> removedPositions = new ArrayList<>();
+        List<Employee<T>> removed = new ArrayList<>();
+        for (Change<T> change : moved) {
+            Integer position = loaded.get(change.employee);
+            if (position != null) {
+                removedPositions.add(position);
+                removed.add(change.employee);
+            } else if (change.wasStored) {
+                // It may or may not have been in the list, somewhere outside the loaded pages
+                refresh();
+                return;
+            }
+        }
+        List<Integer> addedPositions = new ArrayList<>();
+        for (Change<T> change : moved) {
+            if (change.stored) {
+                int position = database.positionOf(query, orderBy, direction, change.employee);
+                if (position >= 0) {
+                    addedPositions.add(position);
+                }
+            }
+        }
+        List<Integer> updatedPositions = new ArrayList<>();
+        for (Change<T> change : updated) {
+            Integer position = loaded.get(change.employee);
+            if (position != null) {
+                updatedPositions.add(moved.isEmpty()
+                        ? position : database.positionOf(query, orderBy, direction, change.employee));
+            }
+        }
+
+        if (!moved.isEmpty()) {
+            dropPages();
+        }
+        size += addedPositions.size() - removedPositions.size();
+        beginChange();
+        // Remove from the bottom up so the remaining old positions stay valid, then add in
+        // ascending order of final position
+        Integer[] order = new Integer[removedPositions.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(removedPositions.get(b), removedPositions.get(a)));
+        for (int i : order) {
+            nextRemove(removedPositions.get(i), removed.get(i));
+        }
+        Collections.sort(addedPositions);
+        for (int position : addedPositions) {
+            nextAdd(position, position + 1);
+        }
+        for (int position : updatedPositions) {
+            if (position >= 0) {
+                nextUpdate(position);
+            }
+        }
+        loadedWhilePending = false;
+        endChange();
+    }
+
+    private EmployeeField<?> orderField() {
+        return switch (orderBy) {
+            case SALARY -> EmployeeField.SALARY;
+            case PERFORMANCE_RATING -> EmployeeField.PERFORMANCE_RATING;
+            case YEARS_OF_EXPERIENCE -> EmployeeField.YEARS_OF_EXPERIENCE;
+        };
+    }
+
+    // List index of every employee on a loaded page
+    private Map<Employee<T>, Integer> loadedPositions() {
+        Map<Employee<T>, Integer> positions = new IdentityHashMap<>();
+        pages.forEach((pageNumber, page) -> {
+            for (int i = 0; i < page.size(); i++) {
+                positions.put(page.get(i), pageNumber * PAGE_SIZE + i);
+            }
+        });
+        return positions;
+    }
+
+    private void addPageStart(int start) {
+        if (knownPages == pageStarts.length) {
+            pageStarts = Arrays.copyOf(pageStarts, knownPages * 2);
+        }
+        pageStarts[knownPages++] = start;
+    }
+}
@@ -0,0 +1,99 @@
+package lii.employeemanagementsystem.ui;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Profile pictures scaled to the size they are shown at. JavaFX decodes each picture on its
+// own background threads straight to that size, so a large photo never blocks the FX thread
+// or stays in memory at full resolution. Views show a grey placeholder until the picture has
+// loaded, and loaded thumbnails are kept in an LRU cache bounded by their pixel memory, so
+// opening the same employee again shows the picture at once. Only used on the FX thread.
+public final class ProfilePictures {
+    // About 400 thumbnails of 100x100
+    private static final long MAX_CACHED_BYTES = 16L << 20;
+    private static final Color PLACEHOLDER_COLOR = Color.web("#dddddd");
+    private static ProfilePictures instance;
+
+    private final ThumbnailCache<String, Image> thumbnails = new ThumbnailCache<>(MAX_CACHED_BYTES,
+            image -> 4L * (long) image.getRequestedWidth() * (long) image.getRequestedHeight());
+    private final Map<Integer, Image> placeholders = new HashMap<>();
+
+    private ProfilePictures() {
+    }
+
+    public static ProfilePictures getInstance() {
+        if (instance == null) {
+            instance = new ProfilePictures();
+        }
+        return instance;
+    }
+
+    // A size x size view of the picture at url, showing the placeholder while it loads or if
+    // it cannot be loaded
+    public ImageView view(String url, int size) {
+        ImageView view = new ImageView(placeholder(size));
+        view.setFitWidth(size);
+        view.setFitHeight(size);
+        Image thumbnail = thumbnail(url, size);
+        if (thumbnail == null) {
+            return view;
+        }
+        if (thumbnail.getProgress() >= 1 && !thumbnail.isError()) {
+            view.setImage(thumbnail);
+        } else {
+            thumbnail.progressProperty().addListener((observable, oldProgress, progress) -> {
+                if (progress.doubleValue() >= 1 && !thumbnail.isError()) {
+                    view.setImage(thumbnail);
+                }
+            });
+        }
+        return view;
+    }
+
+    // The cached thumbnail, which may still be loading, or a newly started load of it
+    private Image thumbnail(String url, int size) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        String key = size + " " + url;
+        Image thumbnail = thumbnails.get(key);
+        if (thumbnail != null) {
+            return thumbnail;
+        }
+        try {
+            thumbnail = new Image(url, size, size, false, true, true);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error loading profile picture: " + e.getMessage());
+            return null;
+        }
+        Image loading = thumbnail;
+        // A failed load is dropped so that the next view tries again
+        loading.errorProperty().addListener((observable, wasError, error) -> {
+            if (error) {
+                System.err.println("Error loading profile picture: " + url);
+                thumbnails.remove(key, loading);
+            }
+        });
+        thumbnails.put(key, loading);
+        return loading;
+    }
+
+    private Image placeholder(int size) {
+        return placeholders.computeIfAbsent(size, s -> {
+            WritableImage image = new WritableImage(s, s);
+            PixelWriter pixels = image.getPixelWriter();
+            for (int y = 0; y < s; y++) {
+                for (int x = 0; x < s; x++) {
+                    pixels.setColor(x, y, PLACEHOLDER_COLOR);
+                }
+            }
+            return image;
+        });
+    }
+}
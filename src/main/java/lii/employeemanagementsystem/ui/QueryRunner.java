@@ -0,0 +1,109 @@
+package lii.employeemanagementsystem.ui;
+
+import lii.employeemanagementsystem.database.EmployeeDatabase;
+import lii.employeemanagementsystem.database.EmployeeQuery;
+import lii.employeemanagementsystem.database.QueryPlan;
+import lii.employeemanagementsystem.database.SortDirection;
+import lii.employeemanagementsystem.database.SortField;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Runs the employee table's queries on a background thread, so typing into the search field
+// never waits for a scan. A query starts after the given quiet period; submitting another one
+// cancels it, whether still waiting or already running (the database stops its scan at the
+// next interrupt check), and only the newest query's result is ever shown. The list's own
+// recounts and page reads run here too, so the FX thread never waits for the database.
+class QueryRunner<T> {
+    // Quiet period for queries typed into the search field
+    static final long TYPING_DELAY_MILLIS = 150;
+
+    private final EmployeeDatabase<T> database;
+    private final PagedEmployeeList<T> employees;
+    private final Consumer<Runnable> fxThread;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "employee-query");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Only touched on the FX thread
+    private long latest;
+    private Future<?> current;
+    // The newest submitted query until it is shown, so a recount meanwhile loads it rather than
+    // the query still on screen
+    private EmployeeQuery pending;
+    private Consumer<QueryPlan> pendingShown;
+    private Consumer<RuntimeException> pendingFailed;
+
+    // fxThread runs a task on the FX thread, normally Platform::runLater
+    QueryRunner(EmployeeDatabase<T> database, PagedEmployeeList<T> employees, Consumer<Runnable> fxThread) {
+        this.database = database;
+        this.employees = employees;
+        this.fxThread = fxThread;
+        employees.attach(this);
+    }
+
+    // Called on the FX thread. Once the query has run, the list shows it and onShown gets its
+    // plan; any failure other than being cancelled goes to onFailed instead.
+    void submit(EmployeeQuery query, long delayMillis, Consumer<QueryPlan> onShown, Consumer<RuntimeException> onFailed) {
+        long id = ++latest;
+        if (current != null) {
+            current.cancel(true);
+        }
+        pending = query;
+        pendingShown = onShown;
+        pendingFailed = onFailed;
+        SortField orderBy = employees.getOrderBy();
+        SortDirection direction = employees.getDirection();
+        current = executor.schedule(() -> {
+            try {
+                PagedEmployeeList.Loaded<T> loaded = employees.load(query, orderBy, direction);
+                QueryPlan plan = database.explain(query);
+                fxThread.accept(() -> {
+                    if (id == latest) {
+                        pending = null;
+                        employees.show(loaded);
+                        onShown.accept(plan);
+                    }
+                });
+            } catch (CancellationException e) {
+                // A newer query took over
+            } catch (RuntimeException e) {
+                fxThread.accept(() -> {
+                    if (id == latest) {
+                        pending = null;
+                        onFailed.accept(e);
+                    }
+                });
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Called on the FX thread by the list when its query must be counted again
+    void reload() {
+        if (pending != null) {
+            submit(pending, 0, pendingShown, pendingFailed);
+        } else {
+            submit(employees.getQuery(), 0, plan -> { },
+                    e -> System.err.println("Error loading employees: " + e.getMessage()));
+        }
+    }
+
+    // Called on the FX thread by the list. The pages are read in the background and handed back
+    // on the FX thread; a newer query does not cancel them, the list just drops them.
+    void loadPages(PagedEmployeeList.PageRequest<T> request) {
+        executor.execute(() -> {
+            try {
+                PagedEmployeeList.LoadedPages<T> loaded = employees.readPages(request);
+                fxThread.accept(() -> employees.showPages(loaded));
+            } catch (RuntimeException e) {
+                System.err.println("Error loading employees: " + e.getMessage());
+                fxThread.accept(() -> employees.pagesFailed(request));
+            }
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package lii.employeemanagementsystem.ui;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+// Least-recently-used cache bounded by the total weight of its values rather than their
+// number, so a few large thumbnails take the room of many small ones. Not thread-safe.
+class ThumbnailCache<K, V> {
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final Map<K, V> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long weight;
+
+    ThumbnailCache(long maxWeight, ToLongFunction<V> weigher) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    // The cached value, which becomes the most recently used one, or null
+    V get(K key) {
+        return entries.get(key);
+    }
+
+    // Evicts least recently used values until the new one fits. A value heavier than the
+    // whole cache is not kept at all.
+    void put(K key, V value) {
+        remove(key);
+        long valueWeight = weigher.applyAsLong(value);
+        if (valueWeight > maxWeight) {
+            return;
+        }
+        Iterator<V> eldest = entries.values().iterator();
+        while (weight + valueWeight > maxWeight && eldest.hasNext()) {
+            weight -= weigher.applyAsLong(eldest.next());
+            eldest.remove();
+        }
+        entries.put(key, value);
+        weight += valueWeight;
+    }
+
+    // Removes the key only while it still maps to the given value
+    void remove(K key, V value) {
+        if (entries.get(key) == value) {
+            remove(key);
+        }
+    }
+
+    private void remove(K key) {
+        V old = entries.remove(key);
+        if (old != null) {
+            weight -= weigher.applyAsLong(old);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    long weight() {
+        return weight;
+    }
+}
@@ -2,6 +2,7 @@ module lii.employeemanagementsystem {
     requires javafx.controls;
     requires javafx.fxml;
     requires javafx.web;
+    requires java.management;
 
     requires org.controlsfx.controls;
     requires com.dlsc.formsfx;
@@ -13,4 +14,6 @@ module lii.employeemanagementsystem {
     exports lii.employeemanagementsystem;
     exports lii.employeemanagementsystem.ui;
     opens lii.employeemanagementsystem.ui to javafx.fxml;
+    // DatabaseStats is published as a platform MXBean
+    exports lii.employeemanagementsystem.database to java.management;
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseStatsTest {
+    @Test
+    void recordsOnlyWhileEnabledTest() {
+        EmployeeDatabase<Long> database = new EmployeeDatabase<>();
+        for (long i = 0; i < 100; i++) {
+            database.addEmployee(new Employee<>(i, "Employee " + i, "IT", 1000.0 * i, 3.0, 5, true, null));
+        }
+        DatabaseStats stats = database.getStats();
+        assertFalse(stats.isEnabled());
+        assertTrue(stats.getOperations().isEmpty());
+
+        stats.setEnabled(true);
+        database.searchBySalaryRange(10_000, 19_000);
+        database.searchBySalaryRange(0, 4_000);
+        database.getTop5HighestPaidEmployees();
+        stats.setEnabled(false);
+        database.searchBySalaryRange(0, 100_000);
+
+        OperationSummary search = stats.getSummary(DatabaseStats.Operation.SEARCH_BY_SALARY_RANGE);
+        assertEquals(2, search.getCount());
+        assertEquals(7.5, search.getMeanResultSize());
+        assertEquals(10, search.getMaxResultSize());
+        assertTrue(search.getP50Micros() <= search.getP99Micros());
+        assertTrue(search.getP99Micros() <= search.getMaxMicros());
+        assertEquals(1, stats.getSummary(DatabaseStats.Operation.GET_TOP_N).getCount());
+        assertEquals(2, stats.getOperations().size());
+
+        stats.reset();
+        assertTrue(stats.getOperations().isEmpty());
+    }
+
+    @Test
+    void histogramPercentilesStayWithinBucketPrecisionTest() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(3);
+        long[] values = new long[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 25);
+            histogram.record(values[i], 1);
+        }
+        Arrays.sort(values);
+
+        for (double fraction : new double[]{0.5, 0.9, 0.99}) {
+            long exact = values[(int) Math.ceil(fraction * values.length) - 1];
+            long reported = histogram.percentileNanos(fraction);
+            assertTrue(reported >= exact && reported <= exact + exact / 16 + 1, fraction + ": " + reported + " vs " + exact);
+        }
+        assertEquals(values[values.length - 1], histogram.maxNanos());
+        assertEquals(values[values.length - 1], histogram.percentileNanos(1.0));
+        assertEquals(values.length, histogram.count());
+    }
+
+    @Test
+    void publishedOverJmxTest() throws Exception {
+        EmployeeDatabase<Long> database = new EmployeeDatabase<>();
+        database.addEmployee(new Employee<>(1L, "Ama Mensah", "IT", 5000.0, 3.0, 5, true, null));
+        String objectName = "lii.employeemanagementsystem:type=EmployeeDatabase,name=statsTest";
+        database.getStats().register(objectName);
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(objectName);
+            server.setAttribute(name, new Attribute("Enabled", true));
+            database.searchByTerm("ama");
+
+            CompositeData[] operations = (CompositeData[]) server.getAttribute(name, "Operations");
+            assertEquals(1, operations.length);
+            assertEquals("SEARCH_BY_TERM", operations[0].get("name"));
+            assertEquals(1L, operations[0].get("count"));
+            assertTrue(database.getStats().isEnabled());
+        } finally {
+            database.getStats().unregister();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.customExceptions.InvalidDepartmentException;
+import lii.employeemanagementsystem.model.Employee;
+import lii.employeemanagementsystem.model.EmployeeChangeListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeDatabaseConcurrencyTest {
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int OPERATIONS_PER_WRITER = 5_000;
+    private static final String[] DEPARTMENTS = {"IT", "Finance", "HR", "Engineering", "Marketing"};
+
+    @Test
+    void concurrentReadersAndWritersStayConsistentTest() throws Exception {
+        EmployeeDatabase<UUID> employeeDatabase = new EmployeeDatabase<>();
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS + READERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writersDone = new AtomicBoolean();
+        List<Future<?>> writers = new ArrayList<>();
+        List<Future<?>> readers = new ArrayList<>();
+
+        try {
+            for (int w = 0; w < WRITERS; w++) {
+                int seed = w;
+                writers.add(pool.submit(() -> {
+                    start.await();
+                    write(employeeDatabase, new Random(seed));
+                    return null;
+                }));
+            }
+            for (int r = 0; r < READERS; r++) {
+                readers.add(pool.submit(() -> {
+                    start.await();
+                    while (!writersDone.get()) {
+                        read(employeeDatabase);
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+            writersDone.set(true);
+            for (Future<?> reader : readers) {
+                reader.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<Employee<UUID>> all = new ArrayList<>(employeeDatabase.getAllEmployees());
+        assertEquals(all.size(), employeeDatabase.searchBySalaryRange(0, Double.MAX_VALUE).size());
+        assertEquals(all.size(), employeeDatabase.searchByMinimumPerformanceRating(0).size());
+        assertEquals(all.size(), employeeDatabase.getTopN(Integer.MAX_VALUE, SortField.YEARS_OF_EXPERIENCE, SortDirection.DESCENDING).size());
+        assertEquals(all.stream().filter(Employee::isActive).count(), employeeDatabase.searchByActiveStatus(true).size());
+        assertTrue(employeeDatabase.searchByActiveStatus(false).stream().noneMatch(Employee::isActive));
+        assertEquals(all.stream().filter(e -> e.getName().contains("Employee 1")).count(),
+                employeeDatabase.searchByTerm("employee 1").stream().filter(e -> e.getName().contains("Employee 1")).count());
+        for (String department : employeeDatabase.getDepartments()) {
+            double expected = all.stream()
+                    .filter(e -> e.getDepartment().equals(department))
+                    .mapToDouble(Employee::getSalary)
+                    .average()
+                    .orElseThrow();
+            assertEquals(expected, employeeDatabase.calculateAverageSalaryByDepartment(department), 1e-6);
+        }
+    }
+
+    @Test
+    void removalBetweenSetterAndIndexUpdateLeavesNoEntriesTest() {
+        EmployeeDatabase<UUID> employeeDatabase = new EmployeeDatabase<>();
+        Employee<UUID> employee = new Employee<>(UUID.randomUUID(), "Ama Mensah", "IT", 50000.0, 4.0, 5, true, null);
+        // Runs after the field changed but before the database's own listener, as a removal on
+        // another thread could
+        employee.addChangeListener(new EmployeeChangeListener<>() {
+            @Override
+            public void salaryChanged(Employee<UUID> changed, double oldSalary, double newSalary) {
+                employeeDatabase.removeEmployee(changed.getEmployeeId());
+            }
+
+            @Override
+            public void departmentChanged(Employee<UUID> changed, String oldDepartment, String newDepartment) {
+                employeeDatabase.removeEmployee(changed.getEmployeeId());
+            }
+        });
+        employeeDatabase.addEmployee(employee);
+        employee.setSalary(60000.0);
+
+        assertTrue(employeeDatabase.searchBySalaryRange(0, 100_000).isEmpty());
+        assertTrue(employeeDatabase.getDepartments().isEmpty());
+        assertTrue(employeeDatabase.getTopN(10, SortField.YEARS_OF_EXPERIENCE, SortDirection.DESCENDING).isEmpty());
+
+        employeeDatabase.addEmployee(employee);
+        employee.setDepartment("HR");
+        assertTrue(employeeDatabase.getDepartments().isEmpty());
+        assertTrue(employeeDatabase.searchBySalaryRange(0, 100_000).isEmpty());
+    }
+
+    // Each writer only mutates the employees it created itself
+    private static void write(EmployeeDatabase<UUID> employeeDatabase, Random random) {
+        List<Employee<UUID>> owned = new ArrayList<>();
+        for (int i = 0; i < OPERATIONS_PER_WRITER; i++) {
+            int operation = owned.isEmpty() ? 0 : random.nextInt(6);
+            switch (operation) {
+                case 0, 1 -> {
+                    Employee<UUID> employee = new Employee<>(UUID.randomUUID(), "Employee " + random.nextInt(1000),
+                            DEPARTMENTS[random.nextInt(DEPARTMENTS.length)], random.nextInt(100_000), random.nextInt(51) / 10.0,
+                            random.nextInt(30), random.nextBoolean(), null);
+                    employeeDatabase.addEmployee(employee);
+                    owned.add(employee);
+                }
+                case 2 -> employeeDatabase.removeEmployee(owned.remove(random.nextInt(owned.size())).getEmployeeId());
+                case 3 -> owned.get(random.nextInt(owned.size())).setSalary(random.nextInt(100_000));
+                case 4 -> employeeDatabase.updateEmployeeDetails(owned.get(random.nextInt(owned.size())).getEmployeeId(),
+                        "department", DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]);
+                default -> {
+                    Employee<UUID> employee = owned.get(random.nextInt(owned.size()));
+                    employee.setName("Employee " + random.nextInt(1000));
+                    employee.setPerformanceRating(random.nextInt(51) / 10.0);
+                    employee.setYearsOfExperience(random.nextInt(30));
+                    employee.setActive(random.nextBoolean());
+                }
+            }
+        }
+    }
+
+    private static void read(EmployeeDatabase<UUID> employeeDatabase) {
+        Iterator<Employee<UUID>> iterator = employeeDatabase.getEmployeeIterator();
+        while (iterator.hasNext()) {
+            assertNotNull(iterator.next());
+        }
+        employeeDatabase.searchBySalaryRange(20_000, 60_000);
+        employeeDatabase.searchByMinimumPerformanceRating(4.0);
+        employeeDatabase.searchByTerm("yee 4");
+        employeeDatabase.searchByActiveStatus(false);
+        employeeDatabase.getTopN(10, SortField.SALARY, SortDirection.DESCENDING);
+        employeeDatabase.getTopN(10, SortField.PERFORMANCE_RATING, SortDirection.ASCENDING);
+        for (String department : employeeDatabase.getDepartments()) {
+            try {
+                employeeDatabase.calculateAverageSalaryByDepartment(department);
+            } catch (InvalidDepartmentException e) {
+                // The department emptied out between the two calls
+            }
+        }
+    }
+}
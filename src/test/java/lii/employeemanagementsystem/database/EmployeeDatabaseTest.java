@@ -2,11 +2,18 @@ package lii.employeemanagementsystem.database;
 
 import lii.employeemanagementsystem.customExceptions.*;
 import lii.employeemanagementsystem.model.Employee;
+import lii.employeemanagementsystem.model.EmployeeField;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -42,6 +49,68 @@ class EmployeeDatabaseTest {
         assertThrows(IllegalArgumentException.class, () -> employeeDatabase.addEmployee(employee1));
     }
 
+    @Test
+    void addEmployeesRejectsNullEmployeeAndIdTest() {
+        Employee<UUID> withoutId = new Employee<>(null, "Ben Johnson", "IT", 1000.0, 5.0, 4, true, null);
+        List<Integer> rejected = new ArrayList<>();
+        int added = employeeDatabase.addEmployees(Arrays.asList(employee1, null, withoutId, employee2),
+                (error, index) -> rejected.add(index));
+        assertEquals(2, added);
+        assertEquals(List.of(1, 2), rejected);
+        assertEquals(2, employeeDatabase.searchBySalaryRange(0, 100_000).size());
+    }
+
+    @Test
+    void addEmployeesIndexesStoredPrefixWhenRejectHandlerThrowsTest() {
+        List<Employee<UUID>> published = new ArrayList<>();
+        employeeDatabase.addDatabaseListener(new EmployeeDatabaseListener<>() {
+            @Override
+            public void employeeAdded(Employee<UUID> employee) {
+                published.add(employee);
+            }
+        });
+        Employee<UUID> invalidEmployee = new Employee<>(UUID.randomUUID(), "Ben Johnson", "IT", -1000.0, 5.0, 4, true, null);
+        assertThrows(InvalidSalaryException.class, () -> employeeDatabase.addEmployees(List.of(employee1, invalidEmployee, employee2),
+                (error, index) -> {
+                    throw error;
+                }));
+
+        assertEquals(List.of(employee1), published);
+        assertEquals(List.of(employee1), employeeDatabase.searchBySalaryRange(0, 100_000));
+        assertEquals(List.of("IT"), employeeDatabase.getDepartments());
+    }
+
+    @Test
+    void employeeCanBelongToTwoDatabasesTest() {
+        EmployeeDatabase<UUID> other = new EmployeeDatabase<>();
+        employeeDatabase.addEmployee(employee1);
+        employeeDatabase.addEmployee(employee2);
+        other.addEmployee(employee2);
+        other.addEmployee(employee1);
+
+        // Removing employee1 moves employee2 into its row in one database only
+        employeeDatabase.removeEmployee(employee1.getEmployeeId());
+        employee1.setSalary(70000.0);
+        employee2.setSalary(65000.0);
+        assertEquals(List.of(employee1), other.searchBySalaryRange(70000, 70000));
+        assertEquals(List.of(employee2), other.query(EmployeeQuery.builder().salaryBetween(65000, 65000).build()));
+        assertEquals(List.of(employee2), employeeDatabase.searchBySalaryRange(0, 100_000));
+        assertEquals(List.of(employee2), employeeDatabase.query(EmployeeQuery.builder().salaryBetween(65000, 65000).build()));
+    }
+
+    @Test
+    void addEmployeesSkipsRejectedEmployeesTest() {
+        employeeDatabase.addEmployee(employee1);
+        Employee<UUID> invalidEmployee = new Employee<>(UUID.randomUUID(), "Ben Johnson", "IT", -1000.0, 5.0, 4, true, null);
+        List<Integer> rejected = new ArrayList<>();
+        int added = employeeDatabase.addEmployees(List.of(employee2, employee1, invalidEmployee),
+                (error, index) -> rejected.add(index));
+        assertEquals(1, added);
+        assertEquals(List.of(1, 2), rejected);
+        assertEquals(2, employeeDatabase.getAllEmployees().size());
+        assertEquals(List.of(employee2), employeeDatabase.searchByTerm("owusu"));
+    }
+
     @Test
     void removeEmployeeValidEmployeeTest() {
         employeeDatabase.addEmployee(employee1);
@@ -67,6 +136,80 @@ class EmployeeDatabaseTest {
         assertThrows(IllegalArgumentException.class, () -> employeeDatabase.updateEmployeeDetails(employee1.getEmployeeId(), "Address", "Ayeduase"));
     }
 
+    @Test
+    void updateEmployeeDetailsWrongValueTypeTest() {
+        employeeDatabase.addEmployee(employee1);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> employeeDatabase.updateEmployeeDetails(employee1.getEmployeeId(), "salary", "a lot"));
+        assertTrue(e.getMessage().contains("salary"));
+        assertEquals(50000.0, employee1.getSalary());
+    }
+
+    @Test
+    void updateEmployeeDetailsTypedFieldTest() {
+        employeeDatabase.addEmployee(employee1);
+        employeeDatabase.updateEmployeeDetails(employee1.getEmployeeId(), "performanceRating", 3);
+        employeeDatabase.updateEmployeeDetails(employee1.getEmployeeId(), EmployeeField.SALARY, 70000.0);
+        employeeDatabase.updateEmployeeDetails(employee1.getEmployeeId(), "isActive", false);
+
+        assertEquals(3.0, employee1.getPerformanceRating());
+        assertEquals(List.of(employee1), employeeDatabase.searchBySalaryRange(70000, 70000));
+        assertEquals(List.of(employee1), employeeDatabase.searchByActiveStatus(false));
+    }
+
+    @Test
+    void updateManyUpdatesFieldAndIndexesTest() {
+        employeeDatabase.addEmployee(employee1);
+        employeeDatabase.addEmployee(employee2);
+        List<UUID> ids = List.of(employee1.getEmployeeId(), employee2.getEmployeeId());
+        List<String> events = new ArrayList<>();
+        employeeDatabase.addDatabaseListener(new EmployeeDatabaseListener<>() {
+            @Override
+            public void employeeUpdated(Employee<UUID> employee, EmployeeField<?> field) {
+                events.add("updated " + field);
+            }
+
+            @Override
+            public void employeesUpdated(List<Employee<UUID>> employees, EmployeeField<?> field) {
+                events.add(employees.size() + " updated " + field);
+            }
+        });
+
+        assertEquals(2, employeeDatabase.updateMany(ids, EmployeeField.DEPARTMENT, "Finance"));
+        assertEquals(2, employeeDatabase.updateMany(ids, EmployeeField.SALARY, 45000.0));
+        assertEquals(List.of("2 updated department", "2 updated salary"), events);
+
+        assertEquals(List.of("Finance"), employeeDatabase.getDepartments());
+        assertEquals(45000.0, employeeDatabase.calculateAverageSalaryByDepartment("Finance"));
+        assertEquals(2, employeeDatabase.searchBySalaryRange(45000, 45000).size());
+    }
+
+    @Test
+    void updateManyInvalidValueOrIdChangesNothingTest() {
+        employeeDatabase.addEmployee(employee1);
+        List<UUID> ids = List.of(employee1.getEmployeeId(), UUID.randomUUID());
+
+        assertThrows(InvalidSalaryException.class,
+                () -> employeeDatabase.updateMany(List.of(employee1.getEmployeeId()), EmployeeField.SALARY, -1.0));
+        assertThrows(EmployeeNotFoundException.class, () -> employeeDatabase.updateMany(ids, EmployeeField.YEARS_OF_EXPERIENCE, 9));
+        assertEquals(50000.0, employee1.getSalary());
+        assertEquals(4, employee1.getYearsOfExperience());
+    }
+
+    @Test
+    void negativeYearsOfExperienceRejectedOnEveryUpdatePathTest() {
+        employeeDatabase.addEmployee(employee1);
+        employeeDatabase.addEmployee(employee2);
+        List<UUID> ids = List.of(employee1.getEmployeeId(), employee2.getEmployeeId());
+
+        assertThrows(InvalidYearsOfExperienceException.class,
+                () -> employeeDatabase.updateMany(ids, EmployeeField.YEARS_OF_EXPERIENCE, -5));
+        assertThrows(InvalidYearsOfExperienceException.class,
+                () -> employeeDatabase.updateEmployeeDetails(employee1.getEmployeeId(), EmployeeField.YEARS_OF_EXPERIENCE, -1));
+        assertEquals(4, employee1.getYearsOfExperience());
+        assertEquals(4, employee2.getYearsOfExperience());
+    }
+
     @Test
     void giveSalaryRaiseValidRaiseTest() {
         employeeDatabase.addEmployee(employee1);
@@ -74,6 +217,54 @@ class EmployeeDatabaseTest {
         assertEquals(55000.0, employee1.getSalary());
     }
 
+    @Test
+    void giveSalaryRaiseSummaryAndSingleEventTest() {
+        Employee<UUID> lowRated = new Employee<>(UUID.randomUUID(), "Kofi Mensah", "IT", 40000.0, 3.5, 12, true, null);
+        employeeDatabase.addEmployee(employee1);
+        employeeDatabase.addEmployee(employee2);
+        employeeDatabase.addEmployee(lowRated);
+        List<RaiseSummary<UUID>> events = new ArrayList<>();
+        employeeDatabase.addDatabaseListener(new EmployeeDatabaseListener<>() {
+            @Override
+            public void salaryRaiseApplied(RaiseSummary<UUID> summary) {
+                events.add(summary);
+            }
+        });
+
+        RaiseSummary<UUID> summary = employeeDatabase.giveSalaryRaise(10, 4.0);
+        assertEquals(2, summary.getAffectedCount());
+        assertEquals(11000.0, summary.getPayrollDelta(), 1e-6);
+        assertEquals(List.of(summary), events);
+        assertEquals(40000.0, lowRated.getSalary());
+        assertEquals(List.of(employee2), employeeDatabase.searchBySalaryRange(66000.0, 66000.0));
+        assertEquals(47500.0, employeeDatabase.calculateAverageSalaryByDepartment("IT"), 1e-6);
+    }
+
+    @Test
+    void payrollTotalsStayExactInCentsTest() {
+        // A tenth of a cent per raise would drift in a double sum; whole cents do not
+        for (int i = 0; i < 1000; i++) {
+            employeeDatabase.addEmployee(new Employee<>(UUID.randomUUID(), "Employee " + i, "IT", 0.1, 4.0, 1, true, null));
+        }
+        RaiseSummary<UUID> summary = employeeDatabase.giveSalaryRaise(100, 4.0);
+        assertEquals(100.0, summary.getPayrollDelta());
+        assertEquals(0.2, employeeDatabase.calculateAverageSalaryByDepartment("IT"));
+        assertEquals(1000, employeeDatabase.searchBySalaryRange(0.2, 0.2).size());
+    }
+
+    @Test
+    void giveSalaryRaiseLargeBatchTest() {
+        for (int i = 0; i < 20_000; i++) {
+            employeeDatabase.addEmployee(new Employee<>(UUID.randomUUID(), "Employee " + i, i % 2 == 0 ? "IT" : "HR", 1000.0, i % 2 == 0 ? 4.0 : 2.0, 1, true, null));
+        }
+        RaiseSummary<UUID> summary = employeeDatabase.giveSalaryRaise(50, 3.0);
+        assertEquals(10_000, summary.getAffectedCount());
+        assertEquals(5_000_000.0, summary.getPayrollDelta(), 1e-6);
+        assertEquals(10_000, employeeDatabase.searchBySalaryRange(1500.0, 1500.0).size());
+        assertEquals(1500.0, employeeDatabase.calculateAverageSalaryByDepartment("IT"), 1e-6);
+        assertEquals(1000.0, employeeDatabase.calculateAverageSalaryByDepartment("HR"), 1e-6);
+    }
+
     @Test
     void giveSalaryRaiseInvalidPercentageTest() {
         assertThrows(IllegalArgumentException.class, () -> employeeDatabase.giveSalaryRaise(-10, 4.0));
@@ -88,6 +279,39 @@ class EmployeeDatabaseTest {
         assertEquals(employee2, top5.getFirst());
     }
 
+    @Test
+    void getTopNByFieldAndDirectionTest() {
+        Employee<UUID> employee3 = new Employee<>(UUID.randomUUID(), "Kofi Mensah", "IT", 40000.0, 3.5, 12, true, null);
+        employeeDatabase.addEmployee(employee1);
+        employeeDatabase.addEmployee(employee2);
+        employeeDatabase.addEmployee(employee3);
+
+        assertEquals(List.of(employee2, employee1), employeeDatabase.getTopN(2, SortField.SALARY, SortDirection.DESCENDING));
+        assertEquals(List.of(employee3), employeeDatabase.getTopN(1, SortField.SALARY, SortDirection.ASCENDING));
+        assertEquals(List.of(employee3, employee1), employeeDatabase.getTopN(2, SortField.PERFORMANCE_RATING, SortDirection.ASCENDING));
+        assertEquals(employee3, employeeDatabase.getTopN(3, SortField.YEARS_OF_EXPERIENCE, SortDirection.DESCENDING).getFirst());
+
+        employee1.setYearsOfExperience(20);
+        employee3.setSalary(90000.0);
+        assertEquals(List.of(employee1), employeeDatabase.getTopN(1, SortField.YEARS_OF_EXPERIENCE, SortDirection.DESCENDING));
+        assertEquals(List.of(employee3), employeeDatabase.getTopN(1, SortField.SALARY, SortDirection.DESCENDING));
+    }
+
+    @Test
+    void getTopNNegativeCountTest() {
+        assertThrows(IllegalArgumentException.class, () -> employeeDatabase.getTopN(-1, SortField.SALARY, SortDirection.DESCENDING));
+    }
+
+    @Test
+    void searchByMinimumPerformanceRatingTest() {
+        employeeDatabase.addEmployee(employee1);
+        employeeDatabase.addEmployee(new Employee<>(UUID.randomUUID(), "Kofi Mensah", "IT", 40000.0, 3.5, 12, true, null));
+        assertEquals(List.of(employee1), employeeDatabase.searchByMinimumPerformanceRating(3.6));
+        assertEquals(2, employeeDatabase.searchByMinimumPerformanceRating(3.5).size());
+        employee1.setPerformanceRating(2.0);
+        assertTrue(employeeDatabase.searchByMinimumPerformanceRating(3.6).isEmpty());
+    }
+
     @Test
     void calculateAverageSalaryByDepartmentValidDepartmentTest() {
         employeeDatabase.addEmployee(employee1);
@@ -96,6 +320,51 @@ class EmployeeDatabaseTest {
         assertEquals(50000.0, averageSalary);
     }
 
+    @Test
+    void calculateAverageSalaryByDepartmentTracksMutationsTest() {
+        employeeDatabase.addEmployee(employee1);
+        employeeDatabase.addEmployee(employee2);
+        employeeDatabase.addEmployee(new Employee<>(UUID.randomUUID(), "Ama Serwaa", "IT", 70000.0, 3.0, 2, true, null));
+        assertEquals(60000.0, employeeDatabase.calculateAverageSalaryByDepartment("IT"));
+
+        employeeDatabase.updateEmployeeDetails(employee2.getEmployeeId(), "department", "IT");
+        assertEquals(60000.0, employeeDatabase.calculateAverageSalaryByDepartment("IT"));
+        assertThrows(InvalidDepartmentException.class, () -> employeeDatabase.calculateAverageSalaryByDepartment("HR"));
+
+        employeeDatabase.giveSalaryRaise(10, 4.5);
+        employeeDatabase.removeEmployee(employee2.getEmployeeId());
+        assertEquals(62500.0, employeeDatabase.calculateAverageSalaryByDepartment("IT"));
+    }
+
+    @Test
+    void getDepartmentsTest() {
+        employeeDatabase.addEmployee(employee1);
+        employeeDatabase.addEmployee(employee2);
+        assertEquals(List.of("HR", "IT"), employeeDatabase.getDepartments());
+        employeeDatabase.removeEmployee(employee2.getEmployeeId());
+        assertEquals(List.of("IT"), employeeDatabase.getDepartments());
+    }
+
+    @Test
+    void departmentsChangedOnlyWhenDepartmentAppearsOrEmptiesTest() {
+        List<List<String>> published = new ArrayList<>();
+        employeeDatabase.addDatabaseListener(new EmployeeDatabaseListener<>() {
+            @Override
+            public void departmentsChanged(List<String> departments) {
+                published.add(departments);
+            }
+        });
+        employeeDatabase.addEmployee(employee1);
+        employeeDatabase.addEmployee(employee2);
+        employee1.setSalary(60000.0);
+        employee2.setDepartment("IT");
+        employee1.setDepartment("Finance");
+        employeeDatabase.removeEmployee(employee1.getEmployeeId());
+
+        assertEquals(List.of(List.of("IT"), List.of("HR", "IT"), List.of("IT"), List.of("Finance", "IT"), List.of("IT")),
+                published);
+    }
+
     @Test
     void calculateAverageSalaryByDepartmentInvalidDepartmentTest() {
         assertThrows(InvalidDepartmentException.class, () -> employeeDatabase.calculateAverageSalaryByDepartment("Admin"));
@@ -110,6 +379,40 @@ class EmployeeDatabaseTest {
         assertEquals(employee1, results.getFirst());
     }
 
+    @Test
+    void searchByTermMatchesNameAndDepartmentSubstringsTest() {
+        employeeDatabase.addEmployee(employee1);
+        employeeDatabase.addEmployee(employee2);
+        employeeDatabase.addEmployee(new Employee<>(UUID.randomUUID(), "Marian Kwarteng", "Finance", 45000.0, 3.0, 2, true, null));
+
+        assertEquals(2, employeeDatabase.searchByTerm("MAR").size());
+        assertEquals(1, employeeDatabase.searchByTerm("nnis").size());
+        assertEquals(1, employeeDatabase.searchByTerm("fin").size());
+        assertEquals(List.of(employee2), employeeDatabase.searchByTerm("h"));
+        assertTrue(employeeDatabase.searchByTerm("mark kw").isEmpty());
+        assertEquals(3, employeeDatabase.searchByTerm("").size());
+
+        employee1.setName("Daniel Osei");
+        assertEquals(1, employeeDatabase.searchByTerm("mar").size());
+        assertEquals(List.of(employee1), employeeDatabase.searchByTerm("osei"));
+        employeeDatabase.removeEmployee(employee1.getEmployeeId());
+        assertTrue(employeeDatabase.searchByTerm("osei").isEmpty());
+    }
+
+    @Test
+    void searchByActiveStatusTest() {
+        Employee<UUID> inactive = new Employee<>(UUID.randomUUID(), "Kofi Mensah", "IT", 40000.0, 3.5, 12, false, null);
+        employeeDatabase.addEmployee(employee1);
+        employeeDatabase.addEmployee(employee2);
+        employeeDatabase.addEmployee(inactive);
+        assertEquals(List.of(inactive), employeeDatabase.searchByActiveStatus(false));
+
+        employee1.setActive(false);
+        employeeDatabase.removeEmployee(inactive.getEmployeeId());
+        assertEquals(List.of(employee1), employeeDatabase.searchByActiveStatus(false));
+        assertEquals(List.of(employee2), employeeDatabase.searchByActiveStatus(true));
+    }
+
     @Test
     void searchByTermNullSearchTermTest() {
         assertThrows(IllegalArgumentException.class, () -> employeeDatabase.searchByTerm(null));
@@ -124,8 +427,255 @@ class EmployeeDatabaseTest {
         assertEquals(employee1, results.getFirst());
     }
 
+    @Test
+    void searchBySalaryRangeBoundsFallBetweenCentsTest() {
+        Employee<UUID> cents = new Employee<>(UUID.randomUUID(), "Ama Owusu", "IT", 45000.07, 3.0, 2, true, null);
+        employeeDatabase.addEmployee(cents);
+        employeeDatabase.addEmployee(employee1);
+
+        assertEquals(List.of(cents), employeeDatabase.searchBySalaryRange(45000.07, 45000.07));
+        assertEquals(List.of(cents), employeeDatabase.searchBySalaryRange(45000.061, 45000.079));
+        assertEquals(List.of(), employeeDatabase.searchBySalaryRange(45000.071, 45000.079));
+        assertEquals(List.of(), employeeDatabase.searchBySalaryRange(45000.061, 45000.069));
+        assertEquals(List.of(cents, employee1), employeeDatabase.searchBySalaryRange(0, Double.MAX_VALUE));
+        assertEquals(1, employeeDatabase.count(EmployeeQuery.builder().salaryBetween(45000.065, 45000.075).build()));
+    }
+
+    @Test
+    void searchBySalaryRangeTracksDirectSalaryChangesTest() {
+        employeeDatabase.addEmployee(employee1);
+        employeeDatabase.addEmployee(employee2);
+        employee2.setSalary(45000.0);
+        List<Employee<UUID>> results = employeeDatabase.searchBySalaryRange(40000.0, 55000.0);
+        assertEquals(List.of(employee2, employee1), results);
+    }
+
+    @Test
+    void searchBySalaryRangeTracksRaiseAndRemovalTest() {
+        employeeDatabase.addEmployee(employee1);
+        employeeDatabase.addEmployee(employee2);
+        employeeDatabase.giveSalaryRaise(20, 4.0);
+        assertEquals(List.of(employee1), employeeDatabase.searchBySalaryRange(60000.0, 60000.0));
+        employeeDatabase.removeEmployee(employee1.getEmployeeId());
+        assertTrue(employeeDatabase.searchBySalaryRange(0.0, 100000.0).contains(employee2));
+        assertFalse(employeeDatabase.searchBySalaryRange(0.0, 100000.0).contains(employee1));
+    }
+
+    @Test
+    void searchBySalaryRangeMatchesFullScanTest() {
+        Random random = new Random(42);
+        List<Employee<UUID>> all = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            Employee<UUID> employee = new Employee<>(UUID.randomUUID(), "Employee " + i, "IT", random.nextInt(200) * 500.0, 3.0, 2, true, null);
+            employeeDatabase.addEmployee(employee);
+            all.add(employee);
+        }
+        for (int i = 0; i < 1000; i++) {
+            all.get(random.nextInt(all.size())).setSalary(random.nextInt(200) * 500.0);
+        }
+        for (int i = 0; i < 500; i++) {
+            employeeDatabase.removeEmployee(all.remove(random.nextInt(all.size())).getEmployeeId());
+        }
+
+        List<Employee<UUID>> expected = all.stream()
+                .filter(e -> e.getSalary() >= 20000.0 && e.getSalary() <= 60000.0)
+                .toList();
+        List<Employee<UUID>> results = employeeDatabase.searchBySalaryRange(20000.0, 60000.0);
+        assertEquals(expected.size(), results.size());
+        assertTrue(results.containsAll(expected));
+    }
+
     @Test
     void searchBySalaryRangeInvalidRangeTest() {
         assertThrows(InvalidSalaryException.class, () -> employeeDatabase.searchBySalaryRange(60000.0, 50000.0));
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void restoreWithDuplicateIdLeavesDatabaseEmptyTest() {
+        Employee<UUID>[] employees = (Employee<UUID>[]) new Employee[1000];
+        for (int i = 0; i < employees.length; i++) {
+            employees[i] = new Employee<>(UUID.randomUUID(), "Employee " + i, "IT", 1000.0 * i, 3.0, 2, true, null);
+        }
+        employees[999] = new Employee<>(employees[500].getEmployeeId(), "Copy", "HR", 5.0, 3.0, 2, true, null);
+
+        assertThrows(IllegalArgumentException.class, () -> employeeDatabase.restore(employees));
+        assertTrue(employeeDatabase.getAllEmployees().isEmpty());
+
+        employeeDatabase.restore(new Employee[]{employee1, employee2});
+        assertEquals(List.of(employee1, employee2), employeeDatabase.searchBySalaryRange(0, 100_000));
+    }
+
+    @Test
+    void restoreSortsUnorderedSalariesKeepingTiesInOrderTest() {
+        Random random = new Random(5);
+        @SuppressWarnings("unchecked")
+        Employee<UUID>[] employees = (Employee<UUID>[]) new Employee[5000];
+        for (int i = 0; i < employees.length; i++) {
+            employees[i] = new Employee<>(UUID.randomUUID(), "Employee " + i, "IT", random.nextInt(300) * 100.0, 3.0, 2, true, null);
+        }
+        employeeDatabase.restore(employees);
+
+        List<Employee<UUID>> expected = new ArrayList<>(List.of(employees));
+        expected.sort(Comparator.comparingDouble(Employee::getSalary));
+        List<Employee<UUID>> bySalary = employeeDatabase.getPage(EmployeeQuery.builder().build(),
+                SortField.SALARY, SortDirection.ASCENDING, 0, employees.length).getEmployees();
+        assertEquals(expected, bySalary);
+        // Descending walks the same order backwards
+        assertEquals(expected.get(expected.size() - 1), employeeDatabase.getTop5HighestPaidEmployees().get(0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void changeAfterPartialIndexBuildReachesEveryIndexTest() {
+        Employee<UUID>[] employees = (Employee<UUID>[]) new Employee[]{
+                new Employee<>(UUID.randomUUID(), "Ama Serwaa", "IT", 1000.0, 3.0, 2, true, null),
+                new Employee<>(UUID.randomUUID(), "Kofi Mensah", "IT", 2000.0, 3.0, 5, true, null)};
+        employeeDatabase.restore(employees);
+
+        // Only needs the columns, so the other indexes are still unbuilt when the salary changes
+        assertEquals(2, employeeDatabase.searchByActiveStatus(true).size());
+        employees[0].setSalary(5000.0);
+        employees[0].setYearsOfExperience(9);
+        employeeDatabase.removeEmployee(employees[0].getEmployeeId());
+
+        assertEquals(List.of(), employeeDatabase.searchBySalaryRange(0, 10_000).stream()
+                .filter(e -> e == employees[0]).toList());
+        assertEquals(2000.0, employeeDatabase.calculateAverageSalaryByDepartment("IT"));
+        assertEquals(List.of(employees[1]), employeeDatabase.getTopN(5, SortField.YEARS_OF_EXPERIENCE, SortDirection.DESCENDING));
+        assertEquals(1, employeeDatabase.count(EmployeeQuery.builder().salaryBetween(0.0, 10_000.0).build()));
+    }
+
+    @Test
+    void queryOnInterruptedThreadIsCancelledTest() {
+        employeeDatabase.addEmployee(employee1);
+        employeeDatabase.addEmployee(employee2);
+        EmployeeQuery query = EmployeeQuery.builder().active(true).matching("o").build();
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> employeeDatabase.count(query));
+            assertThrows(CancellationException.class, () -> employeeDatabase.getPage(query, SortField.SALARY, SortDirection.DESCENDING, 0, 10));
+        } finally {
+            Thread.interrupted();
+        }
+        assertEquals(1, employeeDatabase.count(query));
+    }
+
+    @Test
+    void queryCombinesFiltersLikeFullScanTest() {
+        Random random = new Random(7);
+        String[] departments = {"IT", "HR", "Finance", "Sales"};
+        List<Employee<UUID>> all = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            Employee<UUID> employee = new Employee<>(UUID.randomUUID(), "Employee " + i, departments[random.nextInt(4)],
+                    random.nextInt(200) * 500.0, random.nextInt(51) / 10.0, random.nextInt(30), random.nextBoolean(), null);
+            employeeDatabase.addEmployee(employee);
+            all.add(employee);
+        }
+        for (int i = 0; i < 500; i++) {
+            all.get(random.nextInt(all.size())).setActive(random.nextBoolean());
+        }
+
+        List<EmployeeQuery> queries = List.of(
+                EmployeeQuery.builder().salaryBetween(20000.0, 21000.0).minimumRating(2.5).active(true).build(),
+                EmployeeQuery.builder().minimumRating(4.8).department("HR").build(),
+                EmployeeQuery.builder().active(false).matching("employee 12").build(),
+                EmployeeQuery.builder().matching("fin").minimumRating(1.0).build(),
+                EmployeeQuery.builder().department("Payroll").active(true).build(),
+                EmployeeQuery.builder().salaryBetween(20000.0, 21000.0).build(),
+                EmployeeQuery.builder().minimumRating(4.8).build(),
+                EmployeeQuery.builder().minimumRating(4.5).active(false).build(),
+                EmployeeQuery.builder().active(false).build(),
+                EmployeeQuery.builder().department("HR").build(),
+                EmployeeQuery.builder().build());
+        for (EmployeeQuery query : queries) {
+            List<Employee<UUID>> expected = all.stream()
+                    .filter(e -> !query.hasSalaryRange()
+                            || (e.getSalary() >= query.getMinSalary() && e.getSalary() <= query.getMaxSalary()))
+                    .filter(e -> !query.hasMinimumRating() || e.getPerformanceRating() >= query.getMinRating())
+                    .filter(e -> query.getActive() == null || e.isActive() == query.getActive())
+                    .filter(e -> query.getDepartment() == null || e.getDepartment().equals(query.getDepartment()))
+                    .filter(e -> query.getTerm() == null || e.getName().toLowerCase().contains(query.getTerm())
+                            || e.getDepartment().toLowerCase().contains(query.getTerm()))
+                    .toList();
+            List<Employee<UUID>> results = employeeDatabase.query(query);
+            assertEquals(expected.size(), results.size(), query.toString());
+            assertTrue(results.containsAll(expected), query.toString());
+            assertEquals(expected.size(), employeeDatabase.count(query), query.toString());
+        }
+    }
+
+    @Test
+    void explainChoosesMostSelectivePathTest() {
+        for (int i = 0; i < 100; i++) {
+            employeeDatabase.addEmployee(new Employee<>(UUID.randomUUID(), "Employee " + i, i < 10 ? "HR" : "IT",
+                    1000.0 * i, i % 2 == 0 ? 4.0 : 2.0, 3, i != 0, null));
+        }
+
+        QueryPlan plan = employeeDatabase.explain(EmployeeQuery.builder()
+                .salaryBetween(0.0, 50000.0).minimumRating(3.0).department("HR").build());
+        assertEquals(QueryPlan.Access.DEPARTMENT_INDEX, plan.getAccess());
+        assertEquals(51, plan.getEstimates().get(QueryPlan.Access.SALARY_INDEX));
+        assertEquals(50, plan.getEstimates().get(QueryPlan.Access.RATING_BITMAP));
+        assertEquals(10, plan.getEstimatedCandidates());
+        assertEquals(List.of("salary in [0.0, 50000.0]", "rating >= 3.0"), plan.getRemainingFilters());
+        assertTrue(plan.toString().contains("Plan: department index -> 10 candidates, then filter"));
+
+        assertEquals(QueryPlan.Access.ACTIVE_BITMAP,
+                employeeDatabase.explain(EmployeeQuery.builder().active(false).matching("employee").build()).getAccess());
+        assertEquals(QueryPlan.Access.FULL_SCAN,
+                employeeDatabase.explain(EmployeeQuery.builder().active(true).minimumRating(1.0).build()).getAccess());
+        assertEquals(QueryPlan.Access.FULL_SCAN, employeeDatabase.explain(EmployeeQuery.builder().build()).getAccess());
+
+        EmployeeQuery ratedAndActive = EmployeeQuery.builder().minimumRating(3.0).active(true).build();
+        QueryPlan bitmapPlan = employeeDatabase.explain(ratedAndActive);
+        assertEquals(QueryPlan.Access.RATING_AND_ACTIVE_BITMAPS, bitmapPlan.getAccess());
+        assertTrue(bitmapPlan.getRemainingFilters().isEmpty());
+        assertEquals(49, employeeDatabase.query(ratedAndActive).size());
+        assertEquals(49, employeeDatabase.count(ratedAndActive));
+        assertThrows(InvalidSalaryException.class, () -> EmployeeQuery.builder().salaryBetween(-1.0, 5.0));
+    }
+
+    @Test
+    void getPageWalksEveryOrderWithAndWithoutFiltersTest() {
+        Random random = new Random(3);
+        List<Employee<UUID>> all = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Employee<UUID> employee = new Employee<>(UUID.randomUUID(), "Employee " + i, "IT",
+                    random.nextInt(100) * 1000.0, random.nextInt(51) / 10.0, random.nextInt(30), random.nextBoolean(), null);
+            employeeDatabase.addEmployee(employee);
+            all.add(employee);
+        }
+        EmployeeQuery active = EmployeeQuery.builder().active(true).build();
+        EmployeeQuery everyone = EmployeeQuery.builder().build();
+        assertEquals(all.stream().filter(Employee::isActive).count(), employeeDatabase.count(active));
+        assertEquals(2000, employeeDatabase.count(everyone));
+
+        for (SortField field : SortField.values()) {
+            for (EmployeeQuery query : List.of(everyone, active)) {
+                List<Employee<UUID>> walked = new ArrayList<>();
+                EmployeePage<UUID> page = employeeDatabase.getPage(query, field, SortDirection.DESCENDING, 0, 64);
+                walked.addAll(page.getEmployees());
+                while (!page.isLast()) {
+                    page = employeeDatabase.getPage(query, field, SortDirection.DESCENDING, page.getNextPosition(), 64);
+                    walked.addAll(page.getEmployees());
+                }
+                assertEquals(employeeDatabase.count(query), walked.size());
+                assertEquals(walked.size(), new HashSet<>(walked).size());
+                for (int i = 1; i < walked.size(); i++) {
+                    double previous = switch (field) {
+                        case SALARY -> walked.get(i - 1).getSalary() - walked.get(i).getSalary();
+                        case PERFORMANCE_RATING -> walked.get(i - 1).getPerformanceRating() - walked.get(i).getPerformanceRating();
+                        case YEARS_OF_EXPERIENCE -> walked.get(i - 1).getYearsOfExperience() - walked.get(i).getYearsOfExperience();
+                    };
+                    assertTrue(previous >= 0, field + " out of order");
+                }
+            }
+        }
+        // Without filters the position is an offset
+        List<Employee<UUID>> ascending = employeeDatabase.getPage(everyone, SortField.SALARY, SortDirection.ASCENDING, 0, 2000).getEmployees();
+        assertEquals(ascending.subList(1500, 1510),
+                employeeDatabase.getPage(everyone, SortField.SALARY, SortDirection.ASCENDING, 1500, 10).getEmployees());
+    }
+}
@@ -0,0 +1,116 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.model.Employee;
+import lii.employeemanagementsystem.model.EmployeeField;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeJournalTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversAddsUpdatesRaisesAndRemovesTest() throws IOException {
+        EmployeeDatabase<UUID> employeeDatabase = new EmployeeDatabase<>();
+        EmployeeJournal<UUID> journal = new EmployeeJournal<>(directory, IdCodec.uuid());
+        journal.open(employeeDatabase);
+
+        Employee<UUID> dan = new Employee<>(UUID.randomUUID(), "Dan Mark", "IT", 50000.0, 4.5, 4, true, null);
+        Employee<UUID> ama = new Employee<>(UUID.randomUUID(), "Ama Serwaa", "HR", 40000.0, 3.0, 2, true, "file:ama.png");
+        Employee<UUID> kofi = new Employee<>(UUID.randomUUID(), "Kofi Mensah", "IT", 30000.0, 4.0, 9, false, null);
+        employeeDatabase.addEmployee(dan);
+        employeeDatabase.addEmployee(ama);
+        employeeDatabase.addEmployee(kofi);
+        employeeDatabase.updateEmployeeDetails(ama.getEmployeeId(), "department", "Finance");
+        ama.setYearsOfExperience(3);
+        employeeDatabase.updateMany(List.of(dan.getEmployeeId(), kofi.getEmployeeId()), EmployeeField.ACTIVE, true);
+        employeeDatabase.giveSalaryRaise(10, 4.0);
+        employeeDatabase.removeEmployee(kofi.getEmployeeId());
+        journal.close();
+
+        EmployeeDatabase<UUID> recovered = new EmployeeDatabase<>();
+        EmployeeJournal<UUID> reopened = new EmployeeJournal<>(directory, IdCodec.uuid());
+        reopened.open(recovered);
+        try {
+            assertEquals(2, recovered.getAllEmployees().size());
+            assertEquals(List.of("Finance", "IT"), recovered.getDepartments());
+            assertEquals(55000.0, recovered.calculateAverageSalaryByDepartment("IT"));
+            Employee<UUID> recoveredAma = recovered.searchByTerm("serwaa").get(0);
+            assertEquals(ama.getEmployeeId(), recoveredAma.getEmployeeId());
+            assertEquals(3, recoveredAma.getYearsOfExperience());
+            assertEquals("file:ama.png", recoveredAma.getProfilePicture());
+            assertEquals(2, recovered.searchByActiveStatus(true).size());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void snapshotReplacesOldSegmentsTest() throws IOException {
+        EmployeeDatabase<UUID> employeeDatabase = new EmployeeDatabase<>();
+        EmployeeJournal<UUID> journal = new EmployeeJournal<>(directory, IdCodec.uuid());
+        journal.open(employeeDatabase);
+        for (int i = 0; i < 100; i++) {
+            employeeDatabase.addEmployee(new Employee<>(UUID.randomUUID(), "Employee " + i, "IT", 1000.0 + i, 3.0, 1, true, null));
+        }
+        journal.snapshot();
+        Employee<UUID> late = new Employee<>(UUID.randomUUID(), "After Snapshot", "HR", 2000.0, 3.0, 1, true, null);
+        employeeDatabase.addEmployee(late);
+        journal.close();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of("snapshot-0000000000000001.dat", "wal-0000000000000001.log"),
+                    files.map(file -> file.getFileName().toString()).sorted().toList());
+        }
+
+        EmployeeDatabase<UUID> recovered = new EmployeeDatabase<>();
+        EmployeeJournal<UUID> reopened = new EmployeeJournal<>(directory, IdCodec.uuid());
+        reopened.open(recovered);
+        reopened.close();
+        assertEquals(101, recovered.getAllEmployees().size());
+        assertEquals(List.of("HR", "IT"), recovered.getDepartments());
+    }
+
+    @Test
+    void tornRecordAtEndOfLogIsDiscardedTest() throws IOException {
+        EmployeeDatabase<UUID> employeeDatabase = new EmployeeDatabase<>();
+        EmployeeJournal<UUID> journal = new EmployeeJournal<>(directory, IdCodec.uuid());
+        journal.open(employeeDatabase);
+        employeeDatabase.addEmployee(new Employee<>(UUID.randomUUID(), "Dan Mark", "IT", 50000.0, 4.5, 4, true, null));
+        journal.close();
+
+        // Simulate a crash halfway through writing the next record
+        Path segment = directory.resolve("wal-0000000000000000.log");
+        Files.write(segment, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        EmployeeDatabase<UUID> recovered = new EmployeeDatabase<>();
+        EmployeeJournal<UUID> reopened = new EmployeeJournal<>(directory, IdCodec.uuid());
+        reopened.open(recovered);
+        recovered.addEmployee(new Employee<>(UUID.randomUUID(), "Ama Serwaa", "HR", 40000.0, 3.0, 2, true, null));
+        reopened.close();
+
+        EmployeeDatabase<UUID> again = new EmployeeDatabase<>();
+        EmployeeJournal<UUID> third = new EmployeeJournal<>(directory, IdCodec.uuid());
+        third.open(again);
+        third.close();
+        assertEquals(2, again.getAllEmployees().size());
+    }
+
+    @Test
+    void openRequiresEmptyDatabaseTest() {
+        EmployeeDatabase<UUID> employeeDatabase = new EmployeeDatabase<>();
+        employeeDatabase.addEmployee(new Employee<>(UUID.randomUUID(), "Dan Mark", "IT", 50000.0, 4.5, 4, true, null));
+        EmployeeJournal<UUID> journal = new EmployeeJournal<>(directory, IdCodec.uuid());
+        assertThrows(IllegalStateException.class, () -> journal.open(employeeDatabase));
+    }
+}
@@ -0,0 +1,69 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeReportWriterTest {
+    private final UUID id = new UUID(1, 2);
+    private final Employee<UUID> dan = new Employee<>(id, "Dan Mark", "IT", 50000.05, 4.5, 4, true, null);
+    private final Employee<UUID> ama = new Employee<>(id, "Serwaa, \"Ama\"", "HR\nOps", 0.0, 3.0, 12, false, "file:ama.png");
+
+    @Test
+    void fixedWidthMatchesPrintfLayoutTest() throws IOException {
+        Employee<UUID> small = new Employee<>(id, "Al", "A", 1234.5, 1.0, 1, true, null);
+        StringWriter out = new StringWriter();
+        long rows = new EmployeeReportWriter(EmployeeReportWriter.Format.FIXED_WIDTH).write(List.of(dan, small), out);
+
+        String expected = String.format("ID: %-10s Name: %-15s Department: %-10s Salary: $%-10.2f\n",
+                id, "Dan Mark", "IT", dan.getSalary())
+                + String.format("ID: %-10s Name: %-15s Department: %-10s Salary: $%-10.2f\n",
+                id, "Al", "A", 1234.5);
+        assertEquals(2, rows);
+        assertEquals(expected, out.toString());
+    }
+
+    @Test
+    void csvQuotesAndEmptyValuesTest() throws IOException {
+        StringWriter out = new StringWriter();
+        new EmployeeReportWriter(EmployeeReportWriter.Format.CSV).write(List.of(dan, ama), out);
+        assertEquals("employeeId,name,department,salary,performanceRating,yearsOfExperience,active,profilePicture\n"
+                + id + ",Dan Mark,IT,50000.05,4.5,4,true,\n"
+                + id + ",\"Serwaa, \"\"Ama\"\"\",\"HR\nOps\",0.00,3.0,12,false,file:ama.png\n", out.toString());
+    }
+
+    @Test
+    void jsonThroughChannelKeepsMultiByteTextAcrossBuffersTest() throws IOException {
+        List<Employee<UUID>> employees = new ArrayList<>();
+        StringBuilder expected = new StringBuilder("[\n");
+        for (int i = 0; i < 2000; i++) {
+            String name = "Émile 😀 " + i;
+            employees.add(new Employee<>(id, name, "R&D\t", i, 2.0, i, i % 2 == 0, null));
+            expected.append(i == 0 ? "" : ",\n").append("{\"employeeId\":\"").append(id).append("\",\"name\":\"").append(name)
+                    .append("\",\"department\":\"R&D\\t\",\"salary\":").append(i).append(".00,\"performanceRating\":2.0,")
+                    .append("\"yearsOfExperience\":").append(i).append(",\"active\":").append(i % 2 == 0)
+                    .append(",\"profilePicture\":null}");
+        }
+        expected.append("\n]\n");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        EmployeeReportWriter writer = new EmployeeReportWriter(EmployeeReportWriter.Format.JSON);
+        assertEquals(2000, writer.write(employees, Channels.newChannel(bytes)));
+        assertEquals(expected.toString(), bytes.toString(StandardCharsets.UTF_8));
+
+        // The writer and its buffers are reusable
+        bytes.reset();
+        writer.write(List.of(), Channels.newChannel(bytes));
+        assertEquals("[\n]\n", bytes.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,107 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.model.Employee;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeSnapshotTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripPreservesEveryFieldTest() throws IOException {
+        EmployeeDatabase<UUID> employeeDatabase = new EmployeeDatabase<>();
+        Random random = new Random(11);
+        String[] departments = {"IT", "HR", "Finance", "Ingénierie"};
+        for (int i = 0; i < 5_000; i++) {
+            employeeDatabase.addEmployee(new Employee<>(UUID.randomUUID(), "Employee " + i + " Ọ̀ṣun",
+                    departments[random.nextInt(departments.length)], random.nextInt(200_000) / 10.0,
+                    random.nextInt(51) / 10.0, random.nextInt(40), random.nextBoolean(),
+                    i % 3 == 0 ? null : "file:images/" + i + ".png"));
+        }
+        // Edits made after adding must reach the copied rows too
+        int edited = 0;
+        for (Employee<UUID> employee : employeeDatabase.getAllEmployees()) {
+            if (edited++ % 7 == 0) {
+                employee.setProfilePicture(employee.getProfilePicture() == null ? "file:images/new.png" : null);
+                employee.setDepartment("Sales");
+                employee.setPerformanceRating(2.5);
+                employee.setActive(!employee.isActive());
+            }
+        }
+        Path file = directory.resolve("snapshot.dat");
+        EmployeeSnapshot<UUID> snapshot = employeeDatabase.underReadLock(() -> EmployeeSnapshot.capture(7, employeeDatabase));
+        snapshot.write(file, IdCodec.uuid());
+
+        Employee<UUID>[] loaded = EmployeeSnapshot.read(file, 7, IdCodec.uuid());
+        assertNotNull(loaded);
+        Map<UUID, Employee<UUID>> byId = Arrays.stream(loaded).collect(Collectors.toMap(Employee::getEmployeeId, Function.identity()));
+        assertEquals(5_000, byId.size());
+        for (Employee<UUID> original : employeeDatabase.getAllEmployees()) {
+            Employee<UUID> copy = byId.get(original.getEmployeeId());
+            assertEquals(original.getName(), copy.getName());
+            assertEquals(original.getDepartment(), copy.getDepartment());
+            assertEquals(original.getSalary(), copy.getSalary());
+            assertEquals(original.getPerformanceRating(), copy.getPerformanceRating());
+            assertEquals(original.getYearsOfExperience(), copy.getYearsOfExperience());
+            assertEquals(original.isActive(), copy.isActive());
+            assertEquals(original.getProfilePicture(), copy.getProfilePicture());
+        }
+
+        EmployeeDatabase<UUID> restored = new EmployeeDatabase<>();
+        restored.restore(loaded);
+        assertEquals(employeeDatabase.getDepartments(), restored.getDepartments());
+        assertEquals(employeeDatabase.searchBySalaryRange(5_000, 9_000).size(), restored.searchBySalaryRange(5_000, 9_000).size());
+        assertEquals(employeeDatabase.searchByTerm("employee 12").size(), restored.searchByTerm("employee 12").size());
+        assertEquals(employeeDatabase.searchByActiveStatus(true).size(), restored.searchByActiveStatus(true).size());
+        assertEquals(employeeDatabase.searchByMinimumPerformanceRating(4.2).size(), restored.searchByMinimumPerformanceRating(4.2).size());
+    }
+
+    @Test
+    void restoredDatabaseKeepsIndexesInSyncTest() throws IOException {
+        EmployeeDatabase<UUID> employeeDatabase = new EmployeeDatabase<>();
+        Employee<UUID> dan = new Employee<>(UUID.randomUUID(), "Dan Mark", "IT", 50000.0, 4.5, 4, true, null);
+        employeeDatabase.addEmployee(dan);
+        Path file = directory.resolve("snapshot.dat");
+        employeeDatabase.underReadLock(() -> EmployeeSnapshot.capture(1, employeeDatabase)).write(file, IdCodec.uuid());
+
+        EmployeeDatabase<UUID> restored = new EmployeeDatabase<>();
+        restored.restore(EmployeeSnapshot.read(file, 1, IdCodec.uuid()));
+        Employee<UUID> copy = restored.getAllEmployees().iterator().next();
+        // The first change lands while every index is still pending
+        copy.setSalary(61000.0);
+        copy.setName("Daniel Markatte");
+
+        assertEquals(List.of(copy), restored.searchByTerm("markatte"));
+        assertTrue(restored.searchByTerm("dan mark").isEmpty());
+        assertEquals(List.of(copy), restored.searchBySalaryRange(61000, 61000));
+        assertEquals(61000.0, restored.calculateAverageSalaryByDepartment("IT"));
+    }
+
+    @Test
+    void damagedOrForeignSnapshotIsRejectedTest() throws IOException {
+        EmployeeDatabase<UUID> employeeDatabase = new EmployeeDatabase<>();
+        employeeDatabase.addEmployee(new Employee<>(UUID.randomUUID(), "Dan Mark", "IT", 50000.0, 4.5, 4, true, null));
+        Path file = directory.resolve("snapshot.dat");
+        employeeDatabase.underReadLock(() -> EmployeeSnapshot.capture(3, employeeDatabase)).write(file, IdCodec.uuid());
+
+        assertNull(EmployeeSnapshot.read(file, 4, IdCodec.uuid()));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(file, bytes);
+        assertNull(EmployeeSnapshot.read(file, 3, IdCodec.uuid()));
+    }
+}
@@ -0,0 +1,100 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.customExceptions.EmployeeNotFoundException;
+import lii.employeemanagementsystem.model.Employee;
+import lii.employeemanagementsystem.model.EmployeeField;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongEmployeeDatabaseTest {
+    @TempDir
+    Path directory;
+
+    private final LongEmployeeDatabase employeeDatabase = new LongEmployeeDatabase();
+
+    private static Employee<Long> employee(long id, String name, double salary) {
+        return new Employee<>(id, name, "IT", salary, 4.0, 3, true, null);
+    }
+
+    @Test
+    void longKeyedAccessAndInheritedQueriesTest() {
+        employeeDatabase.addEmployee(employee(0, "Dan Mark", 50000.0));
+        employeeDatabase.addEmployee(employee(-7, "Ama Serwaa", 40000.0));
+        employeeDatabase.addEmployee(employee(Long.MAX_VALUE, "Kofi Mensah", 30000.0));
+        assertThrows(IllegalArgumentException.class, () -> employeeDatabase.addEmployee(employee(-7, "Copy", 1.0)));
+
+        assertEquals("Dan Mark", employeeDatabase.getEmployee(0).getName());
+        assertEquals("Kofi Mensah", employeeDatabase.getEmployee(Long.MAX_VALUE).getName());
+        assertNull(employeeDatabase.getEmployee(1));
+
+        employeeDatabase.getStats().setEnabled(true);
+        employeeDatabase.updateEmployeeDetails(-7, EmployeeField.SALARY, 45000.0);
+        employeeDatabase.updateEmployeeDetails(-7L, "name", "Ama Owusu");
+        assertEquals(2, employeeDatabase.getStats().getSummary(DatabaseStats.Operation.UPDATE_EMPLOYEE_DETAILS).getCount());
+        assertEquals(List.of(employeeDatabase.getEmployee(-7)), employeeDatabase.searchBySalaryRange(44000, 46000));
+        assertEquals("Ama Owusu", employeeDatabase.searchByTerm("owusu").get(0).getName());
+
+        employeeDatabase.removeEmployee(0);
+        assertFalse(employeeDatabase.containsEmployee(0));
+        assertEquals(2, employeeDatabase.getAllEmployees().size());
+        assertThrows(EmployeeNotFoundException.class, () -> employeeDatabase.removeEmployee(0));
+        assertThrows(EmployeeNotFoundException.class, () -> employeeDatabase.updateEmployeeDetails(0, EmployeeField.ACTIVE, false));
+    }
+
+    @Test
+    void storeMatchesHashMapThroughGrowthAndRemovalsTest() {
+        LongEmployeeStore store = new LongEmployeeStore();
+        Map<Long, Employee<Long>> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 200_000; i++) {
+            long id = random.nextInt(20_000) * 1_000_003L;
+            if (random.nextInt(3) == 0) {
+                assertSame(expected.remove(id), store.remove(id));
+            } else {
+                Employee<Long> employee = employee(id, "Employee " + id, 1.0);
+                assertSame(expected.putIfAbsent(id, employee), store.putIfAbsent(employee));
+            }
+        }
+        assertEquals(expected.size(), store.size());
+        for (long id = 0; id < 20_000; id++) {
+            assertSame(expected.get(id * 1_000_003L), store.get(id * 1_000_003L));
+        }
+        List<Employee<Long>> values = new ArrayList<>(store.values());
+        assertEquals(expected.size(), values.size());
+        assertEquals(new HashSet<>(expected.values()), new HashSet<>(values));
+    }
+
+    @Test
+    void journalRecoversLongIdsTest() throws IOException {
+        EmployeeJournal<Long> journal = new EmployeeJournal<>(directory, IdCodec.longs());
+        journal.open(employeeDatabase);
+        for (long id = 1; id <= 50; id++) {
+            employeeDatabase.addEmployee(employee(id, "Employee " + id, id * 100));
+        }
+        journal.snapshot();
+        employeeDatabase.removeEmployee(50);
+        journal.close();
+
+        LongEmployeeDatabase recovered = new LongEmployeeDatabase();
+        EmployeeJournal<Long> reopened = new EmployeeJournal<>(directory, IdCodec.longs());
+        reopened.open(recovered);
+        try {
+            assertEquals(49, recovered.getAllEmployees().size());
+            assertEquals(4900.0, recovered.getEmployee(49).getSalary());
+            assertNull(recovered.getEmployee(50));
+        } finally {
+            reopened.close();
+        }
+    }
+}
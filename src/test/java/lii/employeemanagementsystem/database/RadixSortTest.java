@@ -0,0 +1,39 @@
+package lii.employeemanagementsystem.database;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RadixSortTest {
+    @Test
+    void orderMatchesStableSortTest() {
+        Random random = new Random(11);
+        for (int n : new int[]{0, 1, 2, 100, 10_000}) {
+            long[] keys = new long[n];
+            for (int i = 0; i < n; i++) {
+                // Few distinct values, so ties are common; some negative, some huge
+                keys[i] = switch (random.nextInt(4)) {
+                    case 0 -> random.nextInt(50) * 100_000L;
+                    case 1 -> -random.nextInt(5) - 50L;
+                    case 2 -> random.nextLong();
+                    default -> 1250L;
+                };
+            }
+            int[] expected = IntStream.range(0, n).boxed()
+                    .sorted(Comparator.comparingLong(i -> keys[i]))
+                    .mapToInt(Integer::intValue).toArray();
+
+            assertArrayEquals(expected, RadixSort.order(keys), "n = " + n);
+        }
+    }
+
+    @Test
+    void extremeKeysSortBySignedValueTest() {
+        long[] keys = {0, Long.MIN_VALUE, -1, Long.MAX_VALUE, 1, 0};
+        assertArrayEquals(new int[]{1, 2, 0, 5, 4, 3}, RadixSort.order(keys));
+    }
+}
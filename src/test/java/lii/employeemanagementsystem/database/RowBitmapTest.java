@@ -0,0 +1,63 @@
+package lii.employeemanagementsystem.database;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowBitmapTest {
+    private static RowBitmap randomBitmap(Random random, BitSet expected, int rows, int count) {
+        RowBitmap bitmap = new RowBitmap();
+        for (int i = 0; i < count; i++) {
+            int row = random.nextInt(rows);
+            assertEquals(!expected.get(row), bitmap.add(row));
+            expected.set(row);
+        }
+        return bitmap;
+    }
+
+    private static void assertSameRows(BitSet expected, RowBitmap actual) {
+        assertEquals(expected.cardinality(), actual.cardinality());
+        List<Integer> rows = new ArrayList<>();
+        actual.forEach(rows::add);
+        assertEquals(expected.stream().boxed().toList(), rows);
+    }
+
+    @Test
+    void setOperationsMatchBitSetAcrossChunkLayoutsTest() {
+        Random random = new Random(11);
+        // Both sparse and dense chunks, spread over several 65536-row chunks
+        BitSet sparse = new BitSet();
+        BitSet dense = new BitSet();
+        RowBitmap sparseRows = randomBitmap(random, sparse, 300_000, 3_000);
+        RowBitmap denseRows = randomBitmap(random, dense, 200_000, 150_000);
+
+        BitSet and = (BitSet) sparse.clone();
+        and.and(dense);
+        BitSet or = (BitSet) sparse.clone();
+        or.or(dense);
+        BitSet andNot = (BitSet) dense.clone();
+        andNot.andNot(sparse);
+        assertSameRows(and, sparseRows.and(denseRows));
+        assertSameRows(and, denseRows.and(sparseRows));
+        assertSameRows(or, sparseRows.or(denseRows));
+        assertSameRows(andNot, denseRows.andNot(sparseRows));
+
+        for (int i = 0; i < 140_000; i++) {
+            int row = random.nextInt(200_000);
+            assertEquals(dense.get(row), denseRows.remove(row));
+            dense.clear(row);
+        }
+        assertSameRows(dense, denseRows);
+        assertTrue(denseRows.contains(dense.nextSetBit(0)));
+        assertSameRows(dense, denseRows.copy());
+
+        BitSet first = new BitSet();
+        first.set(0, 70_001);
+        assertSameRows(first, RowBitmap.firstRows(70_001));
+    }
+}
@@ -0,0 +1,41 @@
+package lii.employeemanagementsystem.database;
+
+import lii.employeemanagementsystem.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowTableTest {
+    @Test
+    void putRemoveAndGetMatchIdentityMapTest() {
+        Random random = new Random(5);
+        List<Employee<Integer>> employees = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            employees.add(new Employee<>(i, "E" + i, "IT", 1000, 1, 1, true, null));
+        }
+        RowTable table = new RowTable();
+        Map<Employee<Integer>, Integer> expected = new IdentityHashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            Employee<Integer> employee = employees.get(random.nextInt(employees.size()));
+            if (random.nextInt(3) == 0) {
+                table.remove(employee);
+                expected.remove(employee);
+            } else {
+                table.put(employee, i);
+                expected.put(employee, i);
+            }
+        }
+        for (Employee<Integer> employee : employees) {
+            assertEquals(expected.getOrDefault(employee, -1), table.get(employee));
+        }
+
+        table.clear();
+        assertEquals(-1, table.get(employees.get(0)));
+    }
+}
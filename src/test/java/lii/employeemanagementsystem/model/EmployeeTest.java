@@ -52,6 +52,71 @@ class EmployeeTest {
         assertThrows(InvalidPerformanceRatingException.class, () -> employee.setPerformanceRating(6.0));
     }
 
+    @Test
+    void lazyPropertiesStayInSyncWithFieldsTest() {
+        Employee<UUID> employee = new Employee<>(UUID.randomUUID(), "David Damptey", "IT", 50000.0, 4.5, 5, true, "profile.jpg");
+        employee.setSalary(52000.0);
+        assertEquals(52000.0, employee.salaryProperty().get());
+
+        employee.salaryProperty().set(53000.0);
+        assertEquals(53000.0, employee.getSalary());
+        employee.setSalary(54000.0);
+        assertEquals(54000.0, employee.salaryProperty().get());
+
+        employee.nameProperty().set("Dave Damptey");
+        assertEquals("Dave Damptey", employee.getName());
+    }
+
+    @Test
+    void changeListenerReceivesSetterAndPropertyChangesTest() {
+        Employee<UUID> employee = new Employee<>(UUID.randomUUID(), "David Damptey", "IT", 50000.0, 4.5, 5, true, "profile.jpg");
+        double[] lastChange = new double[2];
+        EmployeeChangeListener<UUID> listener = new EmployeeChangeListener<>() {
+            @Override
+            public void salaryChanged(Employee<UUID> changed, double oldSalary, double newSalary) {
+                lastChange[0] = oldSalary;
+                lastChange[1] = newSalary;
+            }
+        };
+        employee.addChangeListener(listener);
+
+        employee.setSalary(51000.0);
+        assertArrayEquals(new double[]{50000.0, 51000.0}, lastChange);
+        employee.salaryProperty().set(52000.0);
+        assertArrayEquals(new double[]{51000.0, 52000.0}, lastChange);
+
+        employee.removeChangeListener(listener);
+        employee.setSalary(60000.0);
+        assertArrayEquals(new double[]{51000.0, 52000.0}, lastChange);
+    }
+
+    @Test
+    void salaryAndRatingRoundHalfUpToFixedPointTest() {
+        // 2.675 and 0.35 are stored as doubles just below the half
+        assertEquals(268, Employee.toCents(2.675));
+        assertEquals(-268, Employee.toCents(-2.675));
+        assertEquals(4, Employee.toTenths(0.35));
+        assertEquals(2.7, Employee.roundToOneDecimalPlace(2.65));
+        assertEquals(1, Employee.toCents(0.005));
+        assertEquals(0, Employee.toCents(0.0049));
+
+        Employee<UUID> employee = new Employee<>(UUID.randomUUID(), "David Damptey", "IT", 1234.567, 4.45, 5, true, "profile.jpg");
+        assertEquals(123457, employee.getSalaryCents());
+        assertEquals(1234.57, employee.getSalary());
+        assertEquals(45, employee.getPerformanceRatingTenths());
+        assertEquals(4.5, employee.getPerformanceRating());
+
+        // Properties hold the stored values, whether set through the employee or directly
+        employee.setSalary(99.999);
+        assertEquals(100.0, employee.salaryProperty().get());
+        employee.salaryProperty().set(10.004);
+        assertEquals(10.0, employee.salaryProperty().get());
+        assertEquals(1000, employee.getSalaryCents());
+        employee.performanceRatingProperty().set(3.25);
+        assertEquals(3.3, employee.performanceRatingProperty().get());
+        assertEquals(33, employee.getPerformanceRatingTenths());
+    }
+
     @Test
     void compareToTest() {
         Employee<UUID> employee1 = new Employee<>(UUID.randomUUID(), "David Damptey", "IT", 50000.0, 4.5, 5, true, "profile.jpg");
@@ -0,0 +1,115 @@
+package lii.employeemanagementsystem.service;
+
+import lii.employeemanagementsystem.database.EmployeeDatabase;
+import lii.employeemanagementsystem.model.Employee;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeImporterTest {
+    @TempDir
+    Path directory;
+
+    private final EmployeeDatabase<UUID> employeeDatabase = new EmployeeDatabase<>();
+
+    private EmployeeImporter<UUID> importer(int chunkSize) {
+        return new EmployeeImporter<>(employeeDatabase, UUID::fromString, UUID::randomUUID, chunkSize, 4);
+    }
+
+    @Test
+    void importsCsvAndReportsBadRowsTest() throws IOException {
+        UUID id = UUID.randomUUID();
+        Path file = directory.resolve("employees.csv");
+        Files.writeString(file, "name,department,salary,performanceRating,yearsOfExperience,active,employeeId\r\n"
+                + "Dan Mark,IT,50000,4.5,4,true," + id + "\r\n"
+                + "\"Serwaa, Ama\",HR,40000,3,2,false,\r\n"
+                + "Kofi Mensah,IT,-5,4,9,true,\r\n"
+                + "Yaw Boateng,IT,lots,4,9,true,\r\n"
+                + "\r\n"
+                + "Duplicate,IT,1000,4,1,true," + id + "\r\n"
+                + "\"Esi \"\"Q\"\" Ofori\",Finance,45000,4.2,5,,");
+
+        ImportResult result = new EmployeeImporter<>(employeeDatabase, UUID::fromString, UUID::randomUUID).importFile(file);
+
+        assertEquals(3, result.getImportedCount());
+        assertEquals(3, result.getErrorCount());
+        assertEquals(3, result.getErrors().get(0).getRow());
+        assertEquals("Salary cannot be negative.", result.getErrors().get(0).getMessage());
+        assertEquals("Invalid salary: 'lots'", result.getErrors().get(1).getMessage());
+        assertEquals(6, result.getErrors().get(2).getRow());
+        assertEquals("Dan Mark", employeeDatabase.searchByTerm("dan").get(0).getName());
+        assertEquals(id, employeeDatabase.searchByTerm("dan").get(0).getEmployeeId());
+        Employee<UUID> ama = employeeDatabase.searchByTerm("serwaa").get(0);
+        assertEquals("Serwaa, Ama", ama.getName());
+        assertFalse(ama.isActive());
+        assertNotNull(ama.getEmployeeId());
+        assertEquals("Esi \"Q\" Ofori", employeeDatabase.searchByTerm("ofori").get(0).getName());
+    }
+
+    @Test
+    void importsJsonArrayAndLinesTest() throws IOException {
+        Path array = directory.resolve("employees.json");
+        Files.writeString(array, "[\n"
+                + "  {\"name\": \"Dan {Mark}\", \"department\": \"IT\", \"salary\": 50000, \"performanceRating\": 4.5,"
+                + " \"yearsOfExperience\": 4, \"active\": true, \"profilePicture\": null, \"notes\": \"ignored\"},\n"
+                + "  {\"name\": \"Ama \\\"A\\\" \\u00c9\", \"department\": \"HR\", \"salary\": 40000, \"performanceRating\": 3,"
+                + " \"yearsOfExperience\": 2, \"active\": false},\n"
+                + "  {\"name\": \"Kofi\", \"department\": \"IT\", \"salary\": 30000, \"performanceRating\": 4,"
+                + " \"yearsOfExperience\": {\"value\": 9}}\n"
+                + "]\n");
+        Path lines = directory.resolve("more.jsonl");
+        Files.writeString(lines, "{\"name\": \"Yaw\", \"department\": \"Finance\", \"salary\": 1000, \"performanceRating\": 2, \"yearsOfExperience\": 1}\n"
+                + "{\"name\": \"Esi\", \"department\": \"Finance\", \"salary\": 2000, \"performanceRating\": 2\n");
+
+        ImportResult arrayResult = importer(64).importFile(array);
+        ImportResult linesResult = importer(64).importFile(lines);
+
+        assertEquals(2, arrayResult.getImportedCount());
+        assertEquals(1, arrayResult.getErrorCount());
+        assertEquals(3, arrayResult.getErrors().get(0).getRow());
+        assertEquals("Ama \"A\" \u00c9", employeeDatabase.searchByTerm("ama").get(0).getName());
+        assertEquals("Dan {Mark}", employeeDatabase.searchByTerm("dan").get(0).getName());
+        assertEquals(1, linesResult.getImportedCount());
+        assertEquals(1, linesResult.getErrorCount());
+        assertEquals(2, linesResult.getErrors().get(0).getRow());
+    }
+
+    @Test
+    void largeFileIsSplitIntoManyChunksTest() throws IOException {
+        Path file = directory.resolve("large.csv");
+        int rows = 20_000;
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("employeeId,name,department,salary,performanceRating,yearsOfExperience\n");
+            for (int row = 1; row <= rows; row++) {
+                String name = row % 1000 == 0 ? "" : "Employee " + row;
+                writer.write(new UUID(0, row) + "," + name + ",Dept " + (row % 7) + "," + row + ",3.5," + (row % 30) + "\n");
+            }
+        }
+
+        ImportResult result = importer(4096).importFile(file);
+
+        assertEquals(rows - 20, result.getImportedCount());
+        assertEquals(20, result.getErrorCount());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(1000L * (i + 1), result.getErrors().get(i).getRow());
+        }
+        assertEquals(rows - 20, employeeDatabase.getAllEmployees().size());
+        assertEquals(12345.0, employeeDatabase.searchByTerm("Employee 12345").get(0).getSalary());
+    }
+
+    @Test
+    void missingColumnIsRejectedBeforeImportTest() throws IOException {
+        Path file = directory.resolve("employees.csv");
+        Files.writeString(file, "name,department,performanceRating,yearsOfExperience\nDan,IT,4,4\n");
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> importer(64).importFile(file));
+        assertEquals("Missing column: salary", error.getMessage());
+        assertTrue(employeeDatabase.getAllEmployees().isEmpty());
+    }
+}
@@ -0,0 +1,54 @@
+package lii.employeemanagementsystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UniqueIdGeneratorTest {
+    @Test
+    void idsAreVersion7AndSortInIssueOrderTest() {
+        long before = System.currentTimeMillis();
+        UUID previous = UniqueIdGenerator.generateUniqueId();
+        // Far more than 4096 per millisecond, so the counter carries into the timestamp
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = UniqueIdGenerator.generateUniqueId();
+            assertTrue(previous.compareTo(next) < 0);
+            previous = next;
+        }
+        assertEquals(7, previous.version());
+        assertEquals(2, previous.variant());
+        assertTrue(UniqueIdGenerator.timestampOf(previous) >= before);
+        assertTrue(UniqueIdGenerator.timestampOf(previous) < System.currentTimeMillis() + 1000);
+    }
+
+    @Test
+    void concurrentGenerationNeverRepeatsTest() throws Exception {
+        Set<UUID> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < 25_000; i++) {
+                        assertTrue(seen.add(UniqueIdGenerator.generateUniqueId()));
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(200_000, seen.size());
+    }
+}
@@ -0,0 +1,147 @@
+package lii.employeemanagementsystem.ui;
+
+import javafx.collections.ListChangeListener;
+import lii.employeemanagementsystem.database.EmployeeDatabase;
+import lii.employeemanagementsystem.database.EmployeeQuery;
+import lii.employeemanagementsystem.database.SortDirection;
+import lii.employeemanagementsystem.database.SortField;
+import lii.employeemanagementsystem.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeListUpdaterTest {
+    private final EmployeeDatabase<Long> database = new EmployeeDatabase<>();
+    private final PagedEmployeeList<Long> employees = new PagedEmployeeList<>(database);
+    private final List<Runnable> fxTasks = new ArrayList<>();
+    private final List<String> changes = new ArrayList<>();
+
+    private void setUp(SortField orderBy, EmployeeQuery query) {
+        for (long i = 0; i < 500; i++) {
+            database.addEmployee(new Employee<>(i, "Employee " + i, i % 2 == 0 ? "IT" : "HR", 1000.0 * i, 3.0, (int) (i % 40), true, null));
+        }
+        employees.setOrder(orderBy, SortDirection.DESCENDING);
+        employees.setQuery(query);
+        database.addDatabaseListener(new EmployeeListUpdater<>(employees, fxTasks::add));
+        employees.addListener((ListChangeListener<Employee<Long>>) change -> {
+            while (change.next()) {
+                if (change.wasUpdated()) {
+                    changes.add("update " + change.getFrom());
+                } else {
+                    if (change.wasRemoved()) {
+                        changes.add("remove " + change.getFrom() + " x" + change.getRemovedSize());
+                    }
+                    if (change.wasAdded()) {
+                        changes.add("add " + change.getFrom() + " x" + change.getAddedSize());
+                    }
+                }
+            }
+        });
+        // The table has shown the top of the list
+        employees.get(0);
+    }
+
+    private void runFxTasks() {
+        List<Runnable> tasks = new ArrayList<>(fxTasks);
+        fxTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private void assertListMatchesDatabase(SortField orderBy, EmployeeQuery query) {
+        List<Employee<Long>> expected = database.getPage(query, orderBy, SortDirection.DESCENDING, 0, Integer.MAX_VALUE).getEmployees();
+        assertEquals(expected.size(), employees.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), employees.get(i), "row " + i);
+        }
+    }
+
+    @Test
+    void editOfFieldOutsideOrderAndFiltersUpdatesOneRowTest() {
+        EmployeeQuery all = EmployeeQuery.builder().build();
+        setUp(SortField.SALARY, all);
+        Employee<Long> third = employees.get(2);
+
+        third.setName("Renamed");
+        third.setYearsOfExperience(3);
+        third.setActive(false);
+        assertEquals(1, fxTasks.size());
+        runFxTasks();
+
+        assertEquals(List.of("update 2"), changes);
+        assertListMatchesDatabase(SortField.SALARY, all);
+    }
+
+    @Test
+    void editOfOrderFieldMovesOneRowTest() {
+        EmployeeQuery all = EmployeeQuery.builder().build();
+        setUp(SortField.SALARY, all);
+        Employee<Long> first = employees.get(0);
+
+        first.setSalary(250_500.0);
+        runFxTasks();
+
+        // Removed at the top, added again below the 248 others earning 251000 or more
+        assertEquals(List.of("remove 0 x1", "add 248 x1"), changes);
+        assertListMatchesDatabase(SortField.SALARY, all);
+    }
+
+    @Test
+    void addAndRemoveTouchOneRowEachTest() {
+        EmployeeQuery itOnly = EmployeeQuery.builder().department("IT").build();
+        setUp(SortField.SALARY, itOnly);
+        Employee<Long> second = employees.get(1);
+
+        database.addEmployee(new Employee<>(1000L, "New", "IT", 300_500.0, 4.0, 2, true, null));
+        database.addEmployee(new Employee<>(1001L, "Elsewhere", "HR", 300_500.0, 4.0, 2, true, null));
+        database.removeEmployee(second.getEmployeeId());
+        runFxTasks();
+
+        // IT salaries are 498000, 496000, ...; 98 of those left earn more than 300500
+        assertEquals(List.of("remove 1 x1", "add 98 x1"), changes);
+        assertListMatchesDatabase(SortField.SALARY, itOnly);
+    }
+
+    @Test
+    void employeeAddedAndRemovedInOneBatchChangesNothingTest() {
+        EmployeeQuery all = EmployeeQuery.builder().build();
+        setUp(SortField.YEARS_OF_EXPERIENCE, all);
+
+        Employee<Long> temporary = new Employee<>(1000L, "Temporary", "IT", 5000.0, 4.0, 2, true, null);
+        database.addEmployee(temporary);
+        temporary.setSalary(6000.0);
+        database.removeEmployee(1000L);
+        runFxTasks();
+
+        assertEquals(List.of(), changes);
+        assertEquals(500, employees.size());
+    }
+
+    @Test
+    void changeOutsideLoadedPagesRefreshesTest() {
+        EmployeeQuery all = EmployeeQuery.builder().build();
+        setUp(SortField.SALARY, all);
+
+        // The lowest earner sits on a page the table never showed
+        database.removeEmployee(0L);
+        runFxTasks();
+
+        assertEquals(List.of("remove 0 x500", "add 0 x499"), changes);
+        assertListMatchesDatabase(SortField.SALARY, all);
+    }
+
+    @Test
+    void largeRaiseRefreshesOnceTest() {
+        EmployeeQuery all = EmployeeQuery.builder().build();
+        setUp(SortField.SALARY, all);
+
+        database.giveSalaryRaise(10, 0);
+        assertEquals(1, fxTasks.size());
+        runFxTasks();
+
+        assertEquals(List.of("remove 0 x500", "add 0 x500"), changes);
+        assertListMatchesDatabase(SortField.SALARY, all);
+    }
+}
@@ -0,0 +1,59 @@
+package lii.employeemanagementsystem.ui;
+
+import javafx.collections.ListChangeListener;
+import lii.employeemanagementsystem.database.DatabaseStats;
+import lii.employeemanagementsystem.database.EmployeeDatabase;
+import lii.employeemanagementsystem.database.EmployeeQuery;
+import lii.employeemanagementsystem.database.SortDirection;
+import lii.employeemanagementsystem.database.SortField;
+import lii.employeemanagementsystem.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PagedEmployeeListTest {
+    @Test
+    void loadsPagesOnDemandForFilteredAndUnfilteredQueriesTest() {
+        EmployeeDatabase<Long> database = new EmployeeDatabase<>();
+        for (long i = 0; i < 1000; i++) {
+            database.addEmployee(new Employee<>(i, "Employee " + i, "IT", 1000.0 * i, 3.0, 5, i % 3 == 0, null));
+        }
+        PagedEmployeeList<Long> employees = new PagedEmployeeList<>(database);
+        List<Integer> sizes = new ArrayList<>();
+        employees.addListener((ListChangeListener<Employee<Long>>) change -> sizes.add(employees.size()));
+
+        employees.setOrder(SortField.SALARY, SortDirection.DESCENDING);
+        assertEquals(1000, employees.size());
+        assertEquals(999_000.0, employees.get(0).getSalary());
+        assertEquals(1000.0, employees.get(998).getSalary());
+
+        employees.setQuery(EmployeeQuery.builder().active(true).build());
+        assertEquals(334, employees.size());
+        // Jumping to the end walks the filtered pages once; going back reads a remembered start
+        assertEquals(0.0, employees.get(333).getSalary());
+        assertEquals(999_000.0 - 3000.0 * 150, employees.get(150).getSalary());
+        assertEquals(List.of(1000, 334), sizes);
+    }
+
+    @Test
+    void changingOrderKeepsTheCountTest() {
+        EmployeeDatabase<Long> database = new EmployeeDatabase<>();
+        for (long i = 0; i < 1000; i++) {
+            database.addEmployee(new Employee<>(i, "Employee " + i, "IT", 1000.0 * i, (i % 50) / 10.0, (int) (i % 40), i % 3 == 0, null));
+        }
+        PagedEmployeeList<Long> employees = new PagedEmployeeList<>(database);
+        employees.setQuery(EmployeeQuery.builder().active(true).build());
+        database.getStats().setEnabled(true);
+
+        employees.setOrder(SortField.PERFORMANCE_RATING, SortDirection.DESCENDING);
+        assertEquals(4.9, employees.get(0).getPerformanceRating());
+        employees.setOrder(SortField.SALARY, SortDirection.ASCENDING);
+        assertEquals(0.0, employees.get(0).getSalary());
+
+        assertEquals(334, employees.size());
+        assertEquals(0, database.getStats().getSummary(DatabaseStats.Operation.COUNT).getCount());
+    }
+}
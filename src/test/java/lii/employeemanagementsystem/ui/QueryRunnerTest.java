@@ -0,0 +1,114 @@
+package lii.employeemanagementsystem.ui;
+
+import javafx.collections.ListChangeListener;
+import lii.employeemanagementsystem.database.EmployeeDatabase;
+import lii.employeemanagementsystem.database.EmployeeQuery;
+import lii.employeemanagementsystem.database.QueryPlan;
+import lii.employeemanagementsystem.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryRunnerTest {
+    private final EmployeeDatabase<Long> database = new EmployeeDatabase<>();
+    private final PagedEmployeeList<Long> employees = new PagedEmployeeList<>(database);
+    private final BlockingQueue<Runnable> fxTasks = new LinkedBlockingQueue<>();
+    private final QueryRunner<Long> runner = new QueryRunner<>(database, employees, fxTasks::add);
+
+    QueryRunnerTest() throws InterruptedException {
+        for (long i = 0; i < 2000; i++) {
+            database.addEmployee(new Employee<>(i, "Employee " + i, i % 4 == 0 ? "IT" : "HR", 1000.0 * i, 3.0, 5, true, null));
+        }
+        employees.showAll();
+        runNextFxTask();
+    }
+
+    private void runNextFxTask() throws InterruptedException {
+        Runnable task = fxTasks.poll(5, TimeUnit.SECONDS);
+        assertNotNull(task);
+        task.run();
+    }
+
+    @Test
+    void onlyTheLastOfQuicklyTypedQueriesIsShownTest() throws InterruptedException {
+        List<QueryPlan> shown = new ArrayList<>();
+        for (String term : List.of("e", "em", "emp", "employee 1")) {
+            runner.submit(EmployeeQuery.builder().matching(term).build(), 100, shown::add, e -> fail(e));
+        }
+
+        Runnable task = fxTasks.poll(5, TimeUnit.SECONDS);
+        assertNotNull(task);
+        task.run();
+        assertNull(fxTasks.poll(300, TimeUnit.MILLISECONDS));
+
+        assertEquals(1, shown.size());
+        assertEquals("employee 1", employees.getQuery().getTerm());
+        assertEquals(1111, employees.size());
+        // The last page is walked to in the background
+        assertNull(employees.get(1110));
+        runNextFxTask();
+        assertTrue(employees.get(1110).getName().startsWith("Employee 1"));
+    }
+
+    @Test
+    void resultOfReplacedQueryIsDroppedTest() throws InterruptedException {
+        List<QueryPlan> shown = new ArrayList<>();
+        runner.submit(EmployeeQuery.builder().department("IT").build(), 0, shown::add, e -> fail(e));
+        Runnable stale = fxTasks.poll(5, TimeUnit.SECONDS);
+        assertNotNull(stale);
+
+        // The first query finished, but a newer one was submitted before its result was shown
+        runner.submit(EmployeeQuery.builder().department("HR").build(), 0, shown::add, e -> fail(e));
+        stale.run();
+        assertTrue(shown.isEmpty());
+        fxTasks.poll(5, TimeUnit.SECONDS).run();
+
+        assertEquals(1, shown.size());
+        assertEquals("HR", employees.getQuery().getDepartment());
+        assertEquals(1500, employees.size());
+    }
+
+    @Test
+    void changeDuringLoadIsCountedAgainTest() throws InterruptedException {
+        EmployeeQuery itOnly = EmployeeQuery.builder().department("IT").build();
+        PagedEmployeeList.Loaded<Long> loaded = employees.load(itOnly, employees.getOrderBy(), employees.getDirection());
+        database.addDatabaseListener(new EmployeeListUpdater<>(employees, task -> { }));
+        database.addEmployee(new Employee<>(5000L, "Late", "IT", 1.0, 3.0, 5, true, null));
+
+        employees.show(loaded);
+        assertEquals(2000, employees.size());
+        runNextFxTask();
+
+        assertEquals(501, employees.size());
+    }
+
+    @Test
+    void listReadsPagesAndRecountsOnTheRunnerTest() throws InterruptedException {
+        List<String> changes = new ArrayList<>();
+        employees.addListener((ListChangeListener<Employee<Long>>) change -> {
+            while (change.next()) {
+                changes.add((change.wasReplaced() ? "set " : "other ") + change.getFrom() + "-" + change.getTo());
+            }
+        });
+
+        // The first page came with the count; the next one is read in the background
+        assertNotNull(employees.get(0));
+        assertNull(employees.get(100));
+        runNextFxTask();
+        assertEquals(List.of("set 100-200"), changes);
+        assertNotNull(employees.get(100));
+
+        database.addEmployee(new Employee<>(5000L, "Late", "IT", 1.0, 3.0, 5, true, null));
+        // The count is taken in the background; the table keeps its rows until it is done
+        employees.refresh();
+        assertEquals(2000, employees.size());
+        runNextFxTask();
+        assertEquals(2001, employees.size());
+    }
+}
@@ -0,0 +1,48 @@
+package lii.employeemanagementsystem.ui;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThumbnailCacheTest {
+    private final ThumbnailCache<String, String> cache = new ThumbnailCache<>(10, String::length);
+
+    @Test
+    void evictsLeastRecentlyUsedUntilNewValueFitsTest() {
+        cache.put("a", "aaaa");
+        cache.put("b", "bbb");
+        cache.put("c", "ccc");
+        assertEquals("aaaa", cache.get("a"));
+
+        // b is now the least recently used, and dropping it alone makes room
+        cache.put("d", "ddd");
+        assertNull(cache.get("b"));
+        assertEquals("aaaa", cache.get("a"));
+        assertEquals(10, cache.weight());
+
+        cache.put("e", "eeeeeeee");
+        assertEquals(1, cache.size());
+        assertEquals(8, cache.weight());
+    }
+
+    @Test
+    void valueHeavierThanCacheIsNotKeptTest() {
+        cache.put("a", "aaaa");
+        cache.put("big", "bbbbbbbbbbb");
+        assertNull(cache.get("big"));
+        assertEquals("aaaa", cache.get("a"));
+    }
+
+    @Test
+    void replacingAndRemovingKeepWeightTest() {
+        cache.put("a", "aaaa");
+        cache.put("a", "aa");
+        assertEquals(2, cache.weight());
+
+        cache.remove("a", "other");
+        assertEquals("aa", cache.get("a"));
+        cache.remove("a", cache.get("a"));
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.weight());
+    }
+}